@@ -3,16 +3,40 @@ package campuspaths;
 import campuspaths.utils.CORSFilter;
 import com.google.gson.Gson;
 import pathfinder.ModelConnector;
+import pathfinder.RouteCache;
+import pathfinder.RoutePopularity;
+import pathfinder.RouteQuery;
+import pathfinder.search.SearchLimitExceededException;
+import pathfinder.search.SearchLimits;
 import spark.Request;
 import spark.Response;
 import spark.Route;
 import spark.Spark;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
 public class SparkServer {
 
+  //most points one /path search may settle, about 2.4 times the 2,067 points of the campus map. /path is answered
+  //from the precomputed routes, which need no search, so only the deadline and cancellation apply to it; this
+  //limit only takes effect if the routes are no longer precomputed
+  private static final int PATH_MAX_SETTLED = 5_000;
+
+  //longest one /path query may take before it gives up, freeing its thread
+  private static final Duration PATH_TIMEOUT = Duration.ofMillis(500);
+
+  //most routes kept ready to send, which is more than the few dozen pairs most requests are for
+  private static final int ROUTE_CACHE_CAPACITY = 256;
+
+  //most popular routes tracked for /hot-routes, and the number reported when it is not given
+  private static final int HOT_ROUTES_TRACKED = 128;
+  private static final int HOT_ROUTES_REPORTED = 10;
+
   public static void main(String[] args) {
     CORSFilter corsFilter = new CORSFilter();
     corsFilter.apply();
@@ -22,7 +46,15 @@ public class SparkServer {
     // You should leave these two lines at the very beginning of main().
 
     Gson gson = new Gson();
-    ModelConnector model = new ModelConnector();
+    //counts the routes asked for, so that the cache keeps the popular ones rather than the latest ones
+    RoutePopularity popularity = new RoutePopularity(ROUTE_CACHE_CAPACITY * 16, HOT_ROUTES_TRACKED);
+    RouteCache cache = new RouteCache(ROUTE_CACHE_CAPACITY, RouteCache.Eviction.LEAST_RECENTLY_USED, popularity);
+    //nearly every request is between two buildings, so those routes are worked out once up front, and the
+    //popular ones are also kept built
+    ModelConnector model = new ModelConnector(new ModelConnector.Options().withPrecomputedRoutes()
+            .withRouteCache(cache));
+    System.out.printf("%.1f%% of the paths on the map can be walked back the same way%n",
+            100 * model.symmetricPathFraction());
 
     //gets a shortest path between two buildings with query params "origin" and "destination"
     Spark.get("/path",new Route(){
@@ -33,7 +65,69 @@ public class SparkServer {
         if(origin == null || dest == null){
           Spark.halt(400);
         }
-        return gson.toJson(model.findShortestPath(origin,dest));
+        if(model.shortNameExists(origin) && model.shortNameExists(dest)){
+          popularity.record(new RouteQuery(origin, dest));
+        }
+        SearchLimits limits = SearchLimits.NONE.withMaxSettled(PATH_MAX_SETTLED).withTimeout(PATH_TIMEOUT);
+        try {
+          return gson.toJson(model.findShortestPath(origin, dest, limits));
+        } catch(SearchLimitExceededException e) {
+          //a query that ran out of time is a gateway timeout, and one that ran out of work is turned away
+          Spark.halt(e.getReason() == SearchLimitExceededException.Reason.DEADLINE ? 504 : 503);
+          return null;
+        }
+      }
+    });
+
+    //gets the points, buildings and boundary paths reachable from the building in query param "origin" without
+    //walking further than the number of feet in query param "distance", for the map overlay
+    Spark.get("/isochrone",new Route(){
+      @Override
+      public Object handle(Request request, Response response) throws Exception {
+        String origin = request.queryParams("origin");
+        String distance = request.queryParams("distance");
+        if(origin == null || distance == null || !model.shortNameExists(origin)){
+          Spark.halt(400);
+        }
+        double budget = 0;
+        try {
+          budget = Double.parseDouble(distance);
+        } catch(NumberFormatException e) {
+          Spark.halt(400);
+        }
+        //json has no infinity, so the budget must be finite too
+        if(!Double.isFinite(budget) || budget < 0){
+          Spark.halt(400);
+        }
+        return gson.toJson(model.isochrone(origin, budget));
+      }
+    });
+
+    //gets the most popular recently asked-for routes, most popular first, up to the number in query param "count"
+    Spark.get("/hot-routes",new Route(){
+      @Override
+      public Object handle(Request request, Response response) throws Exception {
+        String countParam = request.queryParams("count");
+        int count = HOT_ROUTES_REPORTED;
+        try {
+          if(countParam != null){
+            count = Integer.parseInt(countParam);
+          }
+        } catch(NumberFormatException e) {
+          Spark.halt(400);
+        }
+        if(count < 0){
+          Spark.halt(400);
+        }
+        List<Map<String,Object>> report = new ArrayList<>();
+        for(RouteQuery route : popularity.hotRoutes(count)){
+          Map<String,Object> entry = new LinkedHashMap<>();
+          entry.put("origin", route.getStart());
+          entry.put("destination", route.getEnd());
+          entry.put("requests", popularity.frequency(route));
+          report.add(entry);
+        }
+        return gson.toJson(report);
       }
     });
 
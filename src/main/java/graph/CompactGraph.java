@@ -0,0 +1,407 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <b>CompactGraph</b> represents an immutable snapshot of a directed graph with nodes T and edges weighted by
+ * primitive doubles. Nodes are numbered 0..V-1 and the edges are stored in compressed sparse row form, so the out
+ * edges of node v are the edge ids offsets[v]..offsets[v+1]-1. Search algorithms should work on the int ids; the
+ * T-based methods are provided for callers that want the same view of the graph as {@link DirectedGraph}.
+ *
+ * @spec.specfield nodes : Sequence of T // The nodes of the graph, where the index of a node is its id.
+ * @spec.specfield edges : Sequence of (origin, destination, weight) // The edges of the graph grouped by origin,
+ *                      where the index of an edge is its id.
+ */
+public class CompactGraph<T> {
+
+    //node with id i is nodes.get(i)
+    private final List<T> nodes;
+    //maps a node to its id
+    private final Map<T, Integer> ids;
+    //out edges of node i are the edge ids offsets[i] until offsets[i+1]
+    private final int[] offsets;
+    //targets[e] is the id of the node that edge e points to
+    private final int[] targets;
+    //weights[e] is the weight of edge e
+    private final double[] weights;
+    //this with every edge reversed, built the first time it is asked for, which is this itself when every edge is
+    //matched by one going back with the same weight
+    private volatile CompactGraph<T> reverse;
+
+    //  Abstraction Function:
+    //      AF(this) = a directed graph with nodes this.nodes, where node v has an out edge
+    //          (v, targets[e], weights[e]) for each e with offsets[v] <= e < offsets[v+1]
+    //
+    //  Rep Invariant:
+    //      nodes, ids, offsets, targets, weights != null &&
+    //      ids.get(nodes.get(i)) == i for all 0 <= i < nodes.size() && ids.size() == nodes.size() &&
+    //      offsets.length == nodes.size() + 1 && offsets[0] == 0 && offsets is non-decreasing &&
+    //      offsets[nodes.size()] == targets.length == weights.length &&
+    //      0 <= targets[e] < nodes.size() for all e &&
+    //      reverse == null || (reverse has the same nodes and ids as this, and the edge (w, v, x) for
+    //          each edge (v, w, x) of this, counting repeated edges) && (reverse == this iff this is symmetric)
+
+    private CompactGraph(List<T> nodes, Map<T, Integer> ids, int[] offsets, int[] targets, double[] weights){
+        this.nodes = nodes;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        checkRep();
+    }
+
+    /**
+     * Creates a snapshot of a graph whose edges hold their weights as data
+     *
+     * @param graph the graph to take a snapshot of
+     * @param <T> node type
+     * @spec.requires graph != null
+     * @return a CompactGraph with the same nodes and edges as <var>graph</var>
+     */
+    public static <T> CompactGraph<T> copyOf(DirectedGraph<T, ? extends DataEdge<T, Double>> graph){
+        return graph.freeze(WeightedEdge::weightOf);
+    }
+
+    /**
+     * @return the number of nodes in this
+     */
+    public int nodeCount(){
+        return nodes.size();
+    }
+
+    /**
+     * @return the number of edges in this
+     */
+    public int edgeCount(){
+        return targets.length;
+    }
+
+    /**
+     * Returns the id of a node
+     *
+     * @param node the node to look up
+     * @return the id of <var>node</var>, or -1 if <var>node</var> is not in this
+     */
+    public int indexOf(T node){
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the node with an id
+     *
+     * @param id id of the node
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     * @return the node whose id is <var>id</var>
+     */
+    public T nodeAt(int id){
+        return nodes.get(id);
+    }
+
+    /**
+     * @param node id of a node
+     * @spec.requires 0 &lt;= node &lt; nodeCount()
+     * @return the id of the first out edge of <var>node</var>
+     */
+    public int edgeStart(int node){
+        return offsets[node];
+    }
+
+    /**
+     * @param node id of a node
+     * @spec.requires 0 &lt;= node &lt; nodeCount()
+     * @return one past the id of the last out edge of <var>node</var>
+     */
+    public int edgeEnd(int node){
+        return offsets[node + 1];
+    }
+
+    /**
+     * @param node id of a node
+     * @spec.requires 0 &lt;= node &lt; nodeCount()
+     * @return the number of edges that come out of <var>node</var>
+     */
+    public int outDegree(int node){
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * @param edge id of an edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     * @return the id of the node that <var>edge</var> points to
+     */
+    public int target(int edge){
+        return targets[edge];
+    }
+
+    /**
+     * Finds the node an edge comes out of, by binary search over the edge ranges of the nodes
+     *
+     * @param edge id of an edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     * @return the id of the node that <var>edge</var> comes out of
+     */
+    public int source(int edge){
+        //finds the last node whose edges start at or before edge, which skips nodes with no out edges
+        int low = 0;
+        int high = nodes.size() - 1;
+        while(low < high){
+            int mid = (low + high + 1) >>> 1;
+            if(offsets[mid] <= edge){
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param edge id of an edge
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     * @return the weight of <var>edge</var>
+     */
+    public double weight(int edge){
+        return weights[edge];
+    }
+
+    /**
+     * Returns the reverse of this, which has the same nodes with the same ids and an edge from w to v for each
+     * edge from v to w in this, so the out edges of a node in the reverse are its in edges in this. The reverse is
+     * built once and shared by later calls. When this is symmetric, every walkway being stored once each way, the
+     * reverse has the same edges as this, so this itself is returned rather than storing each edge a second time.
+     * This only saves the reverse: the out edges of this still hold each walkway once in each direction.
+     *
+     * @return the reverse of this, which is this iff {@link #isSymmetric()}
+     */
+    public CompactGraph<T> reverse(){
+        CompactGraph<T> result = reverse;
+        if(result == null){
+            CompactGraph<T> reversed = transpose(this);
+            //reversing twice gives the edges of this with each node's out edges in order of target
+            CompactGraph<T> sorted = transpose(reversed);
+            reversed.sortWeightsOfEachTarget();
+            sorted.sortWeightsOfEachTarget();
+            if(Arrays.equals(sorted.offsets, reversed.offsets) && Arrays.equals(sorted.targets, reversed.targets)
+                    && Arrays.equals(sorted.weights, reversed.weights)){
+                result = this;
+            } else {
+                result = reversed;
+                result.reverse = this;
+            }
+            reverse = result;
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether each edge of this is matched by an edge going back with the same weight, counting repeated
+     * edges, so that this is its own reverse and the distance from any node to another is the distance back.
+     *
+     * @return true iff this is symmetric
+     */
+    public boolean isSymmetric(){
+        return reverse() == this;
+    }
+
+    //the graph with the nodes of graph and an edge (w, v, x) for each edge (v, w, x) of it, where the out edges of
+    //each node are in order of target
+    private static <T> CompactGraph<T> transpose(CompactGraph<T> graph){
+        int nodeCount = graph.nodes.size();
+        int[] reverseOffsets = new int[nodeCount + 1];
+        for(int target : graph.targets){
+            reverseOffsets[target + 1]++;
+        }
+        for(int v = 0; v < nodeCount; v++){
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, nodeCount);
+        int[] reverseTargets = new int[graph.targets.length];
+        double[] reverseWeights = new double[graph.targets.length];
+        for(int v = 0; v < nodeCount; v++){
+            for(int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++){
+                int slot = next[graph.targets[e]]++;
+                reverseTargets[slot] = v;
+                reverseWeights[slot] = graph.weights[e];
+            }
+        }
+        return new CompactGraph<>(graph.nodes, graph.ids, reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    //sorts by weight each run of out edges of a node to the same target, so that out edges in order of target are
+    //in order of (target, weight), which two graphs with the same edges share
+    private void sortWeightsOfEachTarget(){
+        for(int v = 0; v < nodes.size(); v++){
+            int run = offsets[v];
+            for(int e = run + 1; e <= offsets[v + 1]; e++){
+                if(e == offsets[v + 1] || targets[e] != targets[run]){
+                    Arrays.sort(weights, run, e);
+                    run = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets all of the nodes in this
+     *
+     * @return an unmodifiable view of the nodes
+     */
+    public Set<T> getNodes(){
+        return Collections.unmodifiableSet(ids.keySet());
+    }
+
+    /**
+     * Gets a Set of all the edges that originate from the node specified
+     *
+     * @param node that is in nodes
+     * @spec.requires node != NULL
+     * @return a Set of edges that comes out of <var>node</var>, with weights as data.
+     *      If <var>node</var> doesn't exist in this graph, will return NULL.
+     *      If <var>node</var> is in this but does not have any out Edges, will return an empty Set
+     */
+    public Set<DataEdge<T, Double>> getOutEdges(T node){
+        int id = indexOf(node);
+        if(id < 0){
+            return null;
+        }
+        Set<DataEdge<T, Double>> results = new HashSet<>();
+        for(int e = offsets[id]; e < offsets[id + 1]; e++){
+            results.add(new DataEdge<>(nodes.get(targets[e]), weights[e]));
+        }
+        return results;
+    }
+
+    /**
+     * @return true iff this contains no Nodes
+     */
+    public boolean isEmpty(){
+        return nodes.isEmpty();
+    }
+
+    private void checkRep(){
+        assert nodes != null && ids != null && offsets != null && targets != null && weights != null;
+        assert offsets.length == nodes.size() + 1;
+        assert offsets[0] == 0 && offsets[nodes.size()] == targets.length;
+        assert targets.length == weights.length;
+    }
+
+    /**
+     * <b>Builder</b> collects the nodes and edges of a CompactGraph. Nodes are given ids in the order they are
+     * added, and the out edges of each node keep the order they were added in.
+     */
+    public static class Builder<T> {
+
+        private final List<T> nodes;
+        private final Map<T, Integer> ids;
+        private int[] sources;
+        private int[] targets;
+        private double[] weights;
+        private int edgeCount;
+
+        /**@spec.effects Constructs a new Builder with no nodes or edges*/
+        public Builder(){
+            this(16, 16);
+        }
+
+        /**
+         * @spec.effects Constructs a new Builder with no nodes or edges, sized to hold the given number of
+         *      nodes and edges without growing
+         * @param expectedNodes number of nodes expected to be added
+         * @param expectedEdges number of edges expected to be added
+         */
+        public Builder(int expectedNodes, int expectedEdges){
+            nodes = new ArrayList<>(expectedNodes);
+            ids = new HashMap<>(Math.max(16, (int) (expectedNodes / 0.75f) + 1));
+            sources = new int[Math.max(1, expectedEdges)];
+            targets = new int[sources.length];
+            weights = new double[sources.length];
+        }
+
+        /**
+         * Adds a node to the graph being built if it has not been added already
+         *
+         * @param node the node to be added
+         * @spec.requires node != NULL AND node to be immutable or never to be modified
+         * @spec.modifies this
+         * @return the id of <var>node</var>
+         */
+        public int addNode(T node){
+            Integer id = ids.get(node);
+            if(id == null){
+                id = nodes.size();
+                nodes.add(node);
+                ids.put(node, id);
+            }
+            return id;
+        }
+
+        /**
+         * Adds an edge to the graph being built, adding its end points if they have not been added already
+         *
+         * @param origin node the edge comes from
+         * @param destination node the edge points to
+         * @param weight weight of the edge
+         * @spec.requires origin, destination != NULL
+         * @spec.modifies this
+         */
+        public void addEdge(T origin, T destination, double weight){
+            addEdge(addNode(origin), addNode(destination), weight);
+        }
+
+        /**
+         * Adds an edge between two nodes that have already been added
+         *
+         * @param origin id of the node the edge comes from
+         * @param destination id of the node the edge points to
+         * @param weight weight of the edge
+         * @spec.requires origin and destination are ids returned by addNode
+         * @spec.modifies this
+         */
+        public void addEdge(int origin, int destination, double weight){
+            assert origin < nodes.size() && destination < nodes.size();
+            if(edgeCount == sources.length){
+                int newLength = sources.length * 2;
+                sources = Arrays.copyOf(sources, newLength);
+                targets = Arrays.copyOf(targets, newLength);
+                weights = Arrays.copyOf(weights, newLength);
+            }
+            sources[edgeCount] = origin;
+            targets[edgeCount] = destination;
+            weights[edgeCount] = weight;
+            edgeCount++;
+        }
+
+        /**
+         * @return a CompactGraph with all of the nodes and edges added to this
+         */
+        public CompactGraph<T> build(){
+            int nodeCount = nodes.size();
+            int[] offsets = new int[nodeCount + 1];
+            for(int e = 0; e < edgeCount; e++){
+                offsets[sources[e] + 1]++;
+            }
+            for(int v = 0; v < nodeCount; v++){
+                offsets[v + 1] += offsets[v];
+            }
+            //counting sort of the edges by origin, which keeps the order edges were added in for each node
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            int[] sortedTargets = new int[edgeCount];
+            double[] sortedWeights = new double[edgeCount];
+            for(int e = 0; e < edgeCount; e++){
+                int slot = next[sources[e]]++;
+                sortedTargets[slot] = targets[e];
+                sortedWeights[slot] = weights[e];
+            }
+            return new CompactGraph<>(Collections.unmodifiableList(new ArrayList<>(nodes)),
+                    Collections.unmodifiableMap(new HashMap<>(ids)), offsets, sortedTargets, sortedWeights);
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class DataEdge<T,E> {
     //
     //  Rep Invariant:
     //      data != null && destination != null
+    //      (subclasses that store their data in another form keep data == null and override getData())
 
     /**
      * @spec.effects creates a data edge with data <var>data</var> and points to node,<var>destination</var>
@@ -34,6 +35,18 @@ public class DataEdge<T,E> {
         checkRep();
     }
 
+    /**
+     * @spec.effects creates a data edge that points to node <var>destination</var>, for subclasses that store the
+     *      data of the edge themselves and override getData()
+     * @param destination node that the edge points to
+     * @spec.requires destination to be immutable or never to be modified
+     */
+    protected DataEdge(T destination){
+        this.data = null;
+        this.destination = destination;
+        assert destination != null;
+    }
+
     /**
      * Returns the data of this edge
      *
@@ -64,7 +77,7 @@ public class DataEdge<T,E> {
             return false;
         }
         DataEdge other = (DataEdge) o;
-        return other.getDestination().equals(destination) && other.getData().equals(data);
+        return other.getDestination().equals(destination) && other.getData().equals(getData());
     }
 
     /**
@@ -74,7 +87,7 @@ public class DataEdge<T,E> {
      */
     @Override
     public int hashCode(){
-        return 31*destination.hashCode() ^ data.hashCode();
+        return 31*destination.hashCode() ^ getData().hashCode();
     }
 
     private void checkRep(){
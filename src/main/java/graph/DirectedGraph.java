@@ -1,10 +1,14 @@
 package graph;
 
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
 
 /**
  * <b>DirectedGraph</b> represents a mutable Directed Graph with nodes T, and edges, E, that extends DataEdge, which
@@ -49,6 +53,17 @@ public class DirectedGraph<T,E extends DataEdge> {
         checkRep();
     }
 
+    /**
+     * @spec.effects Constructs a new empty DirectedGraph sized to hold <var>expectedNodes</var> nodes without
+     *      rehashing, for loading large graphs in bulk
+     * @param expectedNodes number of nodes expected to be added
+     * @spec.requires expectedNodes &gt;= 0
+     */
+    public DirectedGraph(int expectedNodes){
+        nodeMap = new HashMap<>(Math.max(16, (int) (expectedNodes / 0.75f) + 1));
+        checkRep();
+    }
+
     /**
      * Gets all of the nodes in this
      *
@@ -77,6 +92,78 @@ public class DirectedGraph<T,E extends DataEdge> {
         return new HashSet<>(results);
     }
 
+    /**
+     * Gets a read-only view of the nodes in this, without copying them. The view reflects later changes to this.
+     *
+     * @return an unmodifiable view of nodes
+     */
+    public Set<T> nodesView(){
+        checkRep();
+        return Collections.unmodifiableSet(nodeMap.keySet());
+    }
+
+    /**
+     * Gets a read-only view of the edges that originate from the node specified, without copying them. The view
+     * reflects later changes to this.
+     *
+     * @param node that is in nodes
+     * @spec.requires node != NULL
+     * @return an unmodifiable view of the edges that come out of <var>node</var>.
+     *      If <var>node</var> doesn't exist in this graph, will return NULL.
+     */
+    public Set<E> outEdgesView(T node){
+        checkRep();
+        Set<E> results = nodeMap.get(node);
+        if(results == null){
+            return null;
+        }
+        return Collections.unmodifiableSet(results);
+    }
+
+    /**
+     * Visits every edge that originates from the node specified, without copying them.
+     *
+     * @param node that is in nodes
+     * @param visitor called once with each edge that comes out of <var>node</var>
+     * @spec.requires node, visitor != NULL AND visitor does not modify this
+     * @return false iff <var>node</var> doesn't exist in this graph
+     */
+    public boolean forEachOutEdge(T node, Consumer<? super E> visitor){
+        Set<E> edges = nodeMap.get(node);
+        if(edges == null){
+            return false;
+        }
+        for(E edge : edges){
+            visitor.accept(edge);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of edges that originate from the node specified
+     *
+     * @param node that is in nodes
+     * @spec.requires node != NULL
+     * @return number of out edges of <var>node</var>, or -1 if <var>node</var> doesn't exist in this graph
+     */
+    public int outDegree(T node){
+        Set<E> edges = nodeMap.get(node);
+        return edges == null ? -1 : edges.size();
+    }
+
+    /**
+     * Returns true iff an edge comes out of the node specified
+     *
+     * @param origin node the edge comes from
+     * @param edge the edge to look for
+     * @spec.requires origin, edge != NULL
+     * @return true iff <var>origin</var> is in this and has <var>edge</var> as one of its out edges
+     */
+    public boolean containsEdge(T origin, E edge){
+        Set<E> edges = nodeMap.get(origin);
+        return edges != null && edges.contains(edge);
+    }
+
     /**
      * Adds a node to this
      *
@@ -92,6 +179,34 @@ public class DirectedGraph<T,E extends DataEdge> {
         checkRep();
     }
 
+    /**
+     * Returns true iff a node is in this, without copying the nodes
+     *
+     * @param node the node to look for
+     * @return true iff this contains <var>node</var>
+     */
+    public boolean containsNode(T node){
+        return nodeMap.containsKey(node);
+    }
+
+    /**
+     * Adds a node to this if it is not already in this
+     *
+     * @param node the node to be added
+     * @spec.requires <var>node</var> != NULL AND node to be immutable or never to be modified
+     * @spec.modifies this
+     * @spec.effects adds <var>node</var> into this with no in edges or out edges if this did not contain it
+     * @return true iff <var>node</var> was added
+     */
+    public boolean addNodeIfAbsent(T node){
+        if(nodeMap.containsKey(node)){
+            return false;
+        }
+        nodeMap.put(node,new HashSet<>());
+        checkRep();
+        return true;
+    }
+
     /**
      * Adds a <var>edge</var> that comes out of origin <var>origin</var>
      *
@@ -110,6 +225,23 @@ public class DirectedGraph<T,E extends DataEdge> {
         checkRep();
     }
 
+    /**
+     * Adds a batch of edges that all come out of origin <var>origin</var>
+     *
+     * @param origin the node that the new edges come from.
+     * @param edges the new edges
+     * @spec.requires <var>origin</var>,<var>edges</var> != NULL AND <var>edges</var> does not contain NULL AND
+     *      no edge in <var>edges</var> is already an out edge of <var>origin</var> AND
+     *      this should contain <var>origin</var> and the destination of every edge in <var>edges</var>
+     * @spec.modifies this
+     * @spec.effects Adds a Edge from <var>origin</var> for each edge in <var>edges</var>
+     */
+    public void addEdges(T origin, Collection<? extends E> edges){
+        checkRep();
+        nodeMap.get(origin).addAll(edges);
+        checkRep();
+    }
+
     /**
      * @return true iff this contains no Nodes
      */
@@ -118,6 +250,34 @@ public class DirectedGraph<T,E extends DataEdge> {
         return nodeMap.isEmpty();
     }
 
+    /**
+     * Takes an immutable snapshot of this with each edge weighted by <var>weigher</var>. Later changes to this
+     * are not reflected in the snapshot.
+     *
+     * @param weigher gives the weight of an edge
+     * @spec.requires weigher != null
+     * @return a CompactGraph with the same nodes and edges as this
+     */
+    @SuppressWarnings("unchecked")
+    public CompactGraph<T> freeze(ToDoubleFunction<? super E> weigher){
+        checkRep();
+        int edgeCount = 0;
+        for(Set<E> edges : nodeMap.values()){
+            edgeCount += edges.size();
+        }
+        CompactGraph.Builder<T> builder = new CompactGraph.Builder<>(nodeMap.size(), edgeCount);
+        for(T node : nodeMap.keySet()){
+            builder.addNode(node);
+        }
+        for(Map.Entry<T, Set<E>> entry : nodeMap.entrySet()){
+            int origin = builder.addNode(entry.getKey());
+            for(E edge : entry.getValue()){
+                builder.addEdge(origin, builder.addNode((T) edge.getDestination()), weigher.applyAsDouble(edge));
+            }
+        }
+        return builder.build();
+    }
+
     private void checkRep() {
         assert nodeMap != null;
         if(DEBUG){
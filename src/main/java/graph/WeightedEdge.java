@@ -0,0 +1,83 @@
+package graph;
+
+/**
+ * <b>WeightedEdge</b> represents an outgoing edge whose data is a weight, stored as a primitive double rather than
+ * a boxed Double. It is equal to any DataEdge with the same destination and a Double data of the same value, so it
+ * can be used anywhere a DataEdge&lt;T, Double&gt; is expected. This class is Immutable.
+ *  @spec.specfield destination : T  // node that this edge points to
+ *  @spec.specfield weight : double // The weight of the edge.
+ */
+public class WeightedEdge<T> extends DataEdge<T, Double> {
+    //weight of this edge
+    private final double weight;
+
+    // Abstraction Function:
+    //  AF(this) = a edge that
+    //      does not have any specific origin but
+    //      points to the destination of this.getDestination() and
+    //      has a weight of this.weight
+    //
+    //  Rep Invariant:
+    //      getDestination() != null && !Double.isNaN(weight)
+
+    /**
+     * @spec.effects creates a weighted edge with weight <var>weight</var> and points to node,<var>destination</var>
+     * @param destination node that the edge points to
+     * @param weight weight of new edge
+     * @spec.requires destination to be immutable or never to be modified AND weight is not NaN
+     */
+    public WeightedEdge(T destination, double weight){
+        super(destination);
+        this.weight = weight;
+        checkRep();
+    }
+
+    /**
+     * Returns the weight of this edge
+     *
+     * @return weight of this
+     */
+    public double getWeight(){
+        return weight;
+    }
+
+    /**
+     * Returns the weight of this edge, boxed
+     *
+     * @return weight of this
+     */
+    @Override
+    public Double getData(){
+        return weight;
+    }
+
+    /**
+     * Returns the weight of any edge whose data is its weight, without unboxing when <var>edge</var> is a
+     * WeightedEdge
+     *
+     * @param edge edge to get the weight of
+     * @spec.requires edge != null
+     * @return weight of <var>edge</var>
+     */
+    public static double weightOf(DataEdge<?, Double> edge){
+        if(edge instanceof WeightedEdge){
+            return ((WeightedEdge<?>) edge).weight;
+        }
+        return edge.getData();
+    }
+
+    /**
+     * Returns hash code of this edge, which is the same as the hash code of the equivalent DataEdge
+     *
+     * @return hash code of this edge
+     */
+    @Override
+    public int hashCode(){
+        return 31*getDestination().hashCode() ^ Double.hashCode(weight);
+    }
+
+    private void checkRep(){
+        assert getDestination() != null;
+        assert !Double.isNaN(weight);
+    }
+}
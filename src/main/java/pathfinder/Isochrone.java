@@ -0,0 +1,202 @@
+package pathfinder;
+
+import pathfinder.datastructures.Point;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an immutable description of everything on a campus map that can be reached from a building without
+ * walking further than a distance budget: the points of the map and buildings within the budget, and the edges on
+ * its boundary, which lead from a point within the budget to one beyond it.
+ */
+public class Isochrone {
+
+  // AF(this) =
+  //      the building the distances are measured from -> origin
+  //      the greatest distance walked -> budget
+  //      the reachable buildings -> the keys of buildings, each reached in its value
+  //      the reachable points -> points, in order of distance from origin
+  //      the boundary -> boundary
+
+  // Rep Invariant:
+  //      origin, buildings, points, boundary != null && budget >= 0 &&
+  //      every value of buildings is at most budget
+
+  /**
+   * The short name of the building distances are measured from.
+   */
+  private final String origin;
+
+  /**
+   * The greatest distance from the origin that counts as reachable.
+   */
+  private final double budget;
+
+  /**
+   * The short name of each reachable building, mapped to its distance from the origin.
+   */
+  private final Map<String, Double> buildings;
+
+  /**
+   * The reachable points of the map, in order of distance from the origin.
+   */
+  private final List<Point> points;
+
+  /**
+   * The edges that leave the reachable points.
+   */
+  private final List<BoundaryEdge> boundary;
+
+  /**
+   * Creates a new isochrone with the given contents.
+   *
+   * @param origin    the short name of the building distances are measured from
+   * @param budget    the greatest distance from the origin that counts as reachable
+   * @param buildings the reachable buildings, mapped to their distance from the origin
+   * @param points    the reachable points, in order of distance from the origin
+   * @param boundary  the edges that leave the reachable points
+   * @spec.requires no argument is null AND budget &gt;= 0 AND no distance in buildings is greater than budget AND
+   *     none of the collections are modified afterwards
+   */
+  Isochrone(String origin, double budget, Map<String, Double> buildings, List<Point> points,
+            List<BoundaryEdge> boundary) {
+    this.origin = origin;
+    this.budget = budget;
+    this.buildings = buildings;
+    this.points = points;
+    this.boundary = boundary;
+    checkRep();
+  }
+
+  /**
+   * @return The short name of the building distances are measured from.
+   */
+  public String getOrigin() {
+    return origin;
+  }
+
+  /**
+   * @return The greatest distance from the origin that counts as reachable.
+   */
+  public double getBudget() {
+    return budget;
+  }
+
+  /**
+   * @return The short name of each building within the budget, mapped to its distance from the origin.
+   */
+  public Map<String, Double> getBuildings() {
+    return Collections.unmodifiableMap(buildings);
+  }
+
+  /**
+   * @return The points of the map within the budget, in order of distance from the origin.
+   */
+  public List<Point> getPoints() {
+    return Collections.unmodifiableList(points);
+  }
+
+  /**
+   * @return The edges that lead from a point within the budget to a point beyond it.
+   */
+  public List<BoundaryEdge> getBoundary() {
+    return Collections.unmodifiableList(boundary);
+  }
+
+  /**
+   * Ensures that the representation invariant has not been violated. Returns normally if
+   * there is no violation.
+   */
+  private void checkRep() {
+    assert origin != null && buildings != null && points != null && boundary != null;
+    assert budget >= 0;
+  }
+
+  /**
+   * Represents an immutable edge of the map that starts within the budget of an isochrone and ends beyond it,
+   * together with how far along it the budget runs out.
+   */
+  public static class BoundaryEdge {
+
+    // AF(this) = the edge from start to end with length length, of which the first reached is within the budget
+
+    // Rep Invariant:
+    //      start, end != null && 0 <= reached < length
+
+    /**
+     * The point within the budget the edge starts at.
+     */
+    private final Point start;
+
+    /**
+     * The point beyond the budget the edge ends at.
+     */
+    private final Point end;
+
+    /**
+     * The length of the edge.
+     */
+    private final double length;
+
+    /**
+     * How far along the edge can be walked within the budget.
+     */
+    private final double reached;
+
+    /**
+     * Creates a new boundary edge.
+     *
+     * @param start   the point within the budget the edge starts at
+     * @param end     the point beyond the budget the edge ends at
+     * @param length  the length of the edge
+     * @param reached how far along the edge can be walked within the budget
+     * @spec.requires start, end != null AND 0 &lt;= reached &lt; length
+     */
+    BoundaryEdge(Point start, Point end, double length, double reached) {
+      this.start = start;
+      this.end = end;
+      this.length = length;
+      this.reached = reached;
+      checkRep();
+    }
+
+    /**
+     * @return The point within the budget the edge starts at.
+     */
+    public Point getStart() {
+      return start;
+    }
+
+    /**
+     * @return The point beyond the budget the edge ends at.
+     */
+    public Point getEnd() {
+      return end;
+    }
+
+    /**
+     * @return The length of the edge.
+     */
+    public double getLength() {
+      return length;
+    }
+
+    /**
+     * @return How far along the edge, from its start, can be walked within the budget.
+     */
+    public double getReached() {
+      return reached;
+    }
+
+    /**
+     * Ensures that the representation invariant has not been violated. Returns normally if
+     * there is no violation.
+     */
+    private void checkRep() {
+      assert start != null && end != null;
+      assert 0 <= reached && reached < length;
+    }
+  }
+}
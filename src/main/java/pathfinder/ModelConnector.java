@@ -1,17 +1,38 @@
 package pathfinder;
 
-import graph.DataEdge;
+import graph.CompactGraph;
 import graph.DirectedGraph;
+import graph.WeightedEdge;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import pathfinder.parser.CampusBuilding;
 import pathfinder.parser.CampusPath;
 import pathfinder.parser.CampusPathsParser;
+import pathfinder.search.ContractionHierarchy;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.EuclideanHeuristic;
+import pathfinder.search.Heuristic;
+import pathfinder.search.LandmarkHeuristic;
+import pathfinder.search.RouteTable;
+import pathfinder.search.SearchLimitExceededException;
+import pathfinder.search.SearchLimits;
+import pathfinder.search.SearchWorkspace;
+import pathfinder.search.StronglyConnectedComponents;
+import pathfinder.search.SymmetricEdges;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /*
 In the pathfinder homework, the text user interface calls these methods to talk
@@ -26,7 +47,10 @@ different ways, without requiring a lot of work to change things over.
 
 /**
  * This class represents the connection between the view and controller and the model
- * for the pathfinder and campus paths applications.  This class is immutable
+ * for the pathfinder and campus paths applications.  The campus map of this never changes once it is
+ * constructed, so one ModelConnector can answer queries from many threads at once. The only state that changes is
+ * the route cache it may be given (see {@link Options#withRouteCache(RouteCache)}), which is thread-safe and only
+ * ever holds shortest paths of this map, so using it does not change the answer to any query.
  *
  * @spec.specfield buildings : Set of CampusBuilding // Buildings in this and the information for each of them
  * @spec.specfield paths : Set of CampusPath // Paths and their locations that are in this
@@ -35,25 +59,61 @@ public class ModelConnector {
 
   //true if we want to perform expensive checkreps
   private final boolean DEBUG = false;
+  //number of queries of a batch each task routes, so that tasks are few enough to be cheap to hand out but many
+  //enough to keep every thread busy
+  private static final int BATCH_CHUNK = 64;
   //Graph representation of the campus map with its nodes being Points that represent ends of paths and edges having
   //data about how the distance between those two points.
-  private final DirectedGraph<Point, DataEdge<Point,Double>> mapGraph;
+  private final CompactGraph<Point> mapGraph;
   //Maps shortName of a building to its longName
   private final Map<String, String> buildingName;
   //Maps shortName of a building to the Point that represents its location
   private final Map<String, Point> buildingPosition;
+  //maps the name of each building group to the short names of its entrances, in order
+  private final Map<String, List<String>> buildingGroups;
+  //Strongly connected components of mapGraph, which tell whether one point can reach another without a search
+  private final StronglyConnectedComponents components;
+  //the reverse of each path of the map that has one of the same length
+  private final SymmetricEdges<Point> symmetry;
+  //Estimates that are 0 for points that can reach the target and infinite for points that cannot, so searches
+  //skip the points that cannot, or Heuristic.NONE if every point can reach every other
+  private final Heuristic pruning;
+  //Straight-line distance estimates between points of mapGraph, scaled to stay below the path distances, combined
+  //with pruning
+  private final Heuristic heuristic;
+  //Estimates from landmark distances combined with heuristic, or just heuristic if no landmarks were computed
+  private final Heuristic landmarkHeuristic;
+  //Contraction hierarchy of mapGraph, or null if none was built
+  private final ContractionHierarchy<Point> hierarchy;
+  //Shortest paths between every pair of building positions, or null if they were not precomputed
+  private final RouteTable<Point> routes;
+  //Most nodes the searches for one alternative routes query may settle
+  private final int alternativeRouteLimit;
+  //Runs the tasks of batches of route queries
+  private final Executor batchExecutor;
+  //whether each task of a batch searches in a workspace of its own rather than in its thread's, so that the
+  //threads of a shared pool do not each keep a workspace the size of the map once the batch is done
+  private final boolean batchTaskWorkspaces;
+  //routes already found by findShortestPath, or null to not cache them
+  private final RouteCache routeCache;
 
   //  Abstraction Function:
   //      AF(this) = A model of a campus map that has buildingName mapping buildings'
   //          short names to their long names, buildingPositions that maps buildings' short names to their position
-  //          represented as a Point, and paths on the map represented by a DirectedGraph with nodes representing
+  //          represented as a Point, buildingGroups that maps each building to the short names of its entrances,
+  //          and paths on the map represented by a CompactGraph with nodes representing
   //          the ends of paths as Points, and Edges representing the actual path between points with their data being
   //          the distance between two Points (or Nodes)
   //
   //  Rep Invariant:
-  //      mapGraph,buildingName,buildingPosition != null &&
-  //      buildingName.keySet().equals(buildingPosition.keySet) &&
-  //      for any Point p in buildingPosition.values(), mapGraph.getNodes().contains(p);
+  //      mapGraph,buildingName,buildingPosition,components,symmetry,pruning,heuristic,landmarkHeuristic != null &&
+  //      buildingName.keySet().equals(buildingPosition.keySet) && buildingGroups != null &&
+  //      the lists of buildingGroups.values() partition buildingName.keySet() &&
+  //      for any Point p in buildingPosition.values(), mapGraph.getNodes().contains(p) &&
+  //      (hierarchy == null || hierarchy.getGraph() == mapGraph) &&
+  //      (routes == null || every Point in buildingPosition.values() is an endpoint of routes) &&
+  //      alternativeRouteLimit > 0 && batchExecutor != null &&
+  //      (routeCache == null || every route in routeCache is the shortest path between its buildings);
 
 
   /**
@@ -64,52 +124,158 @@ public class ModelConnector {
    * @spec.effects creates a populated ModelConnector
    */
   public ModelConnector() {
+    this(new Options());
+  }
+
+  /**
+   * Creates a new {@link ModelConnector} containing the campus dataset, prepared as described by
+   * {@code options}.
+   * @param options the optional preprocessing to do
+   * @spec.requires options != null
+   * @spec.effects creates a populated ModelConnector
+   */
+  public ModelConnector(Options options) {
+    this(CampusPathsParser.parseCampusBuildings(), CampusPathsParser.parseCampusPaths(), options);
+  }
+
+  /**
+   * Creates a new {@link ModelConnector} that contains the given buildings and paths, such as a map
+   * other than the default campus dataset.
+   * @param buildings the buildings of the map
+   * @param paths the paths of the map
+   * @spec.requires buildings, paths != null AND the location of every building is an end of some path
+   * @spec.effects creates a populated ModelConnector
+   */
+  public ModelConnector(List<CampusBuilding> buildings, List<CampusPath> paths) {
+    this(buildings, paths, new Options());
+  }
+
+  /**
+   * Creates a new {@link ModelConnector} that contains the given buildings and paths, prepared as described by
+   * {@code options}.
+   * @param buildings the buildings of the map
+   * @param paths the paths of the map
+   * @param options the optional preprocessing to do
+   * @spec.requires buildings, paths, options != null AND the location of every building is an end of some path
+   * @spec.effects creates a populated ModelConnector
+   */
+  public ModelConnector(List<CampusBuilding> buildings, List<CampusPath> paths, Options options) {
     buildingName = new HashMap<>();
     buildingPosition = new HashMap<>();
-    populateBuildings();
+    buildingGroups = new TreeMap<>();
+    populateBuildings(buildings);
 
-    mapGraph = new DirectedGraph<>();
-    populatePaths();
+    mapGraph = populatePaths(paths);
+    components = StronglyConnectedComponents.of(mapGraph);
+    symmetry = SymmetricEdges.of(mapGraph);
+    pruning = components.componentCount() > 1 ? components.pruning() : Heuristic.NONE;
+    EuclideanHeuristic euclidean = EuclideanHeuristic.forGraph(mapGraph);
+    heuristic = pruning == Heuristic.NONE ? euclidean : Heuristic.max(euclidean, pruning);
+    //builds the in edge index now so the first bidirectional query does not pay for it
+    mapGraph.reverse();
+    if(options.landmarks > 0){
+      landmarkHeuristic = Heuristic.max(heuristic, prepareLandmarks(mapGraph, options));
+    } else {
+      landmarkHeuristic = heuristic;
+    }
+    hierarchy = options.contractionHierarchy ? ContractionHierarchy.build(mapGraph) : null;
+    routes = options.precomputedRoutes ? RouteTable.compute(mapGraph, buildingPosition.values()) : null;
+    alternativeRouteLimit = options.alternativeRouteLimit;
+    batchTaskWorkspaces = options.batchExecutor == null;
+    batchExecutor = batchTaskWorkspaces ? ForkJoinPool.commonPool() : options.batchExecutor;
+    routeCache = options.routeCache;
+    if(routeCache != null) {
+      //the cache may hold routes of the dataset this replaces
+      routeCache.invalidateAll();
+    }
 
     checkRep();
   }
 
   /**
    * Populates information for the buildings in this with data given by CampusPathsParser.parseCampusBuilding
-   * Since this is immutable should only be called as part of the constructor. Also because of this reason,
-   * the Rep of this might not be correct after executing this method.
+   * Since the campus map of this never changes once constructed, should only be called as part of the constructor.
+   * Also because of this reason, the Rep of this might not be correct after executing this method.
+   * @param buildings the buildings to add to this
    * @spec.modifies this
    * @spec.effects this.buildings
    */
-  private void populateBuildings(){
-    List<CampusBuilding> buildings = CampusPathsParser.parseCampusBuildings();
+  private void populateBuildings(List<CampusBuilding> buildings){
     //adds all the buildings into a buildingInfo
     for(CampusBuilding building : buildings){
       buildingName.put(building.getShortName(),building.getLongName());
       buildingPosition.put(building.getShortName(),new Point(building.getX(),building.getY()));
+      buildingGroups.computeIfAbsent(groupNameOf(building.getShortName()), group -> new ArrayList<>())
+              .add(building.getShortName());
+    }
+    for(List<String> entrances : buildingGroups.values()){
+      Collections.sort(entrances);
     }
 
   }
   /**
-   * Populates information for the paths in this with data given by CampusPathsParser.parseCampusPaths
-   * Since this is immutable should only be called as part of the constructor. Also because of this reason,
-   * the Rep of this might not be correct after executing this method.
-   * @spec.modifies this
-   * @spec.effects this.buildings
+   * @param shortName the short name of a building
+   * @return the name of the group of entrances {@code shortName} belongs to, which is the short name without the
+   * parenthesized entrance, so "BAG (NE)" is in group "BAG"
    */
-  private void populatePaths(){
-    List<CampusPath> paths = CampusPathsParser.parseCampusPaths();
+  private static String groupNameOf(String shortName) {
+    int entrance = shortName.indexOf(" (");
+    return entrance > 0 && shortName.endsWith(")") ? shortName.substring(0, entrance) : shortName;
+  }
+
+  /**
+   * Builds the graph of the paths in this with data given by CampusPathsParser.parseCampusPaths
+   * Since the campus map of this never changes once constructed, should only be called as part of the constructor.
+   * @param paths the paths to build the graph from
+   * @return an immutable snapshot of the paths, with the distance of each path as the weight of its edge
+   */
+  private static CompactGraph<Point> populatePaths(List<CampusPath> paths){
+    //every path has at most two new ends, and most ends are shared by several paths
+    DirectedGraph<Point, WeightedEdge<Point>> mapGraph = new DirectedGraph<>(paths.size());
+    //the paths out of each end are gathered first, so each end's edges are added to the graph at once
+    Map<Point, List<WeightedEdge<Point>>> pathsFrom = new HashMap<>();
     for(CampusPath path : paths){
       Point currStart = new Point(path.getX1(),path.getY1());
       Point currEnd = new Point(path.getX2(),path.getY2());
-      if(!mapGraph.getNodes().contains(currStart)){
-        mapGraph.addNode(currStart);
+      mapGraph.addNodeIfAbsent(currStart);
+      mapGraph.addNodeIfAbsent(currEnd);
+      pathsFrom.computeIfAbsent(currStart, start -> new ArrayList<>())
+              .add(new WeightedEdge<>(currEnd,path.getDistance()));
+    }
+    for(Map.Entry<Point, List<WeightedEdge<Point>>> entry : pathsFrom.entrySet()){
+      mapGraph.addEdges(entry.getKey(), entry.getValue());
+    }
+    return mapGraph.freeze(WeightedEdge::getWeight);
+  }
+
+  /**
+   * Loads the landmark heuristic for the paths in this from the file named in {@code options}, or computes it and
+   * saves it there if the file is missing or was saved for a different map. The file is only a cache, so this
+   * falls back to computing the heuristic if it cannot be read, and does not fail if it cannot be written.
+   * @param graph the paths in this
+   * @param options the landmark count and file
+   * @return the landmark heuristic for {@code graph}
+   */
+  private static LandmarkHeuristic prepareLandmarks(CompactGraph<Point> graph, Options options){
+    if(options.landmarkFile != null && Files.exists(options.landmarkFile)){
+      try {
+        LandmarkHeuristic saved = LandmarkHeuristic.load(options.landmarkFile, graph);
+        if(saved != null && saved.getLandmarks().length == Math.min(options.landmarks, graph.nodeCount())){
+          return saved;
+        }
+      } catch(IOException e) {
+        // the saved copy is unusable, so it is recomputed and overwritten below
       }
-      if(!mapGraph.getNodes().contains(currEnd)){
-        mapGraph.addNode(currEnd);
+    }
+    LandmarkHeuristic computed = LandmarkHeuristic.farthest(graph, options.landmarks);
+    if(options.landmarkFile != null){
+      try {
+        computed.save(options.landmarkFile);
+      } catch(IOException e) {
+        // the next start will compute it again
       }
-      mapGraph.addEdge(currStart, new DataEdge<>(currEnd,path.getDistance()));
     }
+    return computed;
   }
 
   /**
@@ -140,7 +306,102 @@ public class ModelConnector {
   }
 
   /**
-   * Finds the shortest path, by distance, between the two provided buildings.
+   * Groups the buildings of this campus map that are entrances of the same building, such as "BAG" and
+   * "BAG (NE)". A group is named by the short name of its buildings without the parenthesized entrance, and a
+   * building with a single entrance is a group of its own.
+   *
+   * @return The mapping from the name of each group to the short names of its buildings, in order.
+   */
+  public Map<String, List<String>> buildingGroups() {
+    Map<String, List<String>> groups = new TreeMap<>();
+    for(Map.Entry<String, List<String>> group : buildingGroups.entrySet()) {
+      groups.put(group.getKey(), new ArrayList<>(group.getValue()));
+    }
+    return groups;
+  }
+
+  /**
+   * Finds the shortest path, by distance, from any entrance of one building group to any entrance of another
+   * (see {@link #buildingGroups()}), with one search seeded at every entrance of the start group that stops at
+   * the first entrance of the end group it reaches, rather than a search for every pair of entrances. The
+   * precomputed routes are read instead if there are any (see {@link Options#withPrecomputedRoutes()}).
+   *
+   * @param startGroup The name of the building group at the beginning of this path.
+   * @param endGroup   The name of the building group at the end of this path.
+   * @return The shortest of the paths from an entrance of {@code startGroup} to an entrance of {@code endGroup},
+   * or {@literal null} if none exists.
+   * @throws IllegalArgumentException if {@code startGroup} or {@code endGroup} are {@literal null}, or not the
+   *                                  names of building groups in this campus map.
+   */
+  public Path<Point> findShortestPathBetweenGroups(String startGroup, String endGroup) {
+    List<Point> starts = positionsOf(entrancesOf(startGroup));
+    List<Point> ends = positionsOf(entrancesOf(endGroup));
+    if(routes != null) {
+      //a group has only a few entrances, so every pair is compared
+      Point bestStart = null;
+      Point bestEnd = null;
+      double best = Double.POSITIVE_INFINITY;
+      for(Point start : starts) {
+        for(Point end : ends) {
+          double distance = routes.distance(start, end);
+          if(distance < best) {
+            best = distance;
+            bestStart = start;
+            bestEnd = end;
+          }
+        }
+      }
+      return bestStart == null ? null : routes.path(bestStart, bestEnd);
+    }
+    //starts that cannot reach any end would only slow the search down
+    List<Point> reachableStarts = new ArrayList<>(starts.size());
+    for(Point start : starts) {
+      if(!reachableEnds(start, ends).isEmpty()) {
+        reachableStarts.add(start);
+      }
+    }
+    if(reachableStarts.isEmpty()) {
+      return null;
+    }
+    return WeightedPathfinder.dijkstraBetweenAny(mapGraph, reachableStarts, ends);
+  }
+
+  /**
+   * @param group the name of a building group
+   * @return the short names of the buildings in {@code group}
+   * @throws IllegalArgumentException if {@code group} is {@literal null} or not the name of a building group in
+   *                                  this campus map.
+   */
+  private List<String> entrancesOf(String group) {
+    if(group == null || !buildingGroups.containsKey(group)) {
+      throw new IllegalArgumentException();
+    }
+    return buildingGroups.get(group);
+  }
+
+  /**
+   * Tells whether there is any path between the two provided buildings, from the strongly connected components
+   * of the map computed at construction rather than by searching.
+   *
+   * @param startShortName The short name of the building at the beginning of the path.
+   * @param endShortName   The short name of the building at the end of the path.
+   * @return {@literal true} iff a path between {@code startBuilding} and {@code endBuilding} exists.
+   * @throws IllegalArgumentException if {@code startBuilding} or {@code endBuilding} are
+   *                                  {@literal null}, or not valid short names of buildings in
+   *                                  this campus map.
+   */
+  public boolean routeExists(String startShortName, String endShortName) {
+    if(!canReach(positionOf(startShortName), positionOf(endShortName))) {
+      return false;
+    }
+    //maps with too many components only have their order stored, which can rule out paths but not confirm them
+    return components.isExact() || shortestDistance(startShortName, endShortName) != Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Finds the shortest path, by distance, between the two provided buildings. The path is read from the
+   * precomputed routes if there are any (see {@link Options#withPrecomputedRoutes()}), and found with Dijkstra's
+   * algorithm otherwise. A pair of buildings with no path between them is answered without searching.
    *
    * @param startShortName The short name of the building at the beginning of this path.
    * @param endShortName   The short name of the building at the end of this path.
@@ -151,16 +412,493 @@ public class ModelConnector {
    *                                  this campus map.
    */
   public Path<Point> findShortestPath(String startShortName, String endShortName) {
-    if(startShortName == null || endShortName == null || !buildingPosition.containsKey(startShortName) || !buildingPosition.containsKey(endShortName)){
+    return cachedShortestPath(startShortName, endShortName, SearchLimits.NONE);
+  }
+
+  /**
+   * Finds the shortest path, by distance, between the two provided buildings, as
+   * {@link #findShortestPath(String, String)} would, but gives up once the search reaches one of {@code limits}.
+   * Precomputed routes need no search, so only the deadline and cancellation of {@code limits} apply to them.
+   *
+   * @param startShortName The short name of the building at the beginning of this path.
+   * @param endShortName   The short name of the building at the end of this path.
+   * @param limits         The most work the query may do.
+   * @return A path between {@code startBuilding} and {@code endBuilding}, or {@literal null}
+   * if none exists.
+   * @throws IllegalArgumentException     if {@code startBuilding} or {@code endBuilding} are
+   *                                      {@literal null}, or not valid short names of buildings in
+   *                                      this campus map, or {@code limits} is {@literal null}.
+   * @throws SearchLimitExceededException if the query reaches one of {@code limits} before finding the path.
+   */
+  public Path<Point> findShortestPath(String startShortName, String endShortName, SearchLimits limits) {
+    if(limits == null) {
       throw new IllegalArgumentException();
     }
-    return WeightedPathfinder.dijkstra(mapGraph,buildingPosition.get(startShortName),buildingPosition.get(endShortName));
+    return cachedShortestPath(startShortName, endShortName, limits);
+  }
+
+  /**
+   * @param startShortName the short name of a building
+   * @param endShortName the short name of a building
+   * @param limits the most work the query may do if it is not cached
+   * @return the shortest path between the buildings, from the route cache if there is one (see
+   * {@link Options#withRouteCache(RouteCache)}), or {@literal null} if there is none
+   * @throws IllegalArgumentException if either name is not the short name of a building in this campus map
+   * @throws SearchLimitExceededException if the query reaches one of {@code limits}, including while waiting for
+   * another query for the same buildings to find the route. A query waiting for another that reaches its own
+   * limits searches again under {@code limits} instead.
+   */
+  private Path<Point> cachedShortestPath(String startShortName, String endShortName, SearchLimits limits) {
+    //names are checked first, so a bad query is never cached
+    Point start = positionOf(startShortName);
+    Point end = positionOf(endShortName);
+    if(routeCache == null) {
+      return shortestPath(start, end, limits);
+    }
+    return routeCache.get(new RouteQuery(startShortName, endShortName), query -> {
+      //on a symmetric map, the route the other way is this route walked backwards
+      Path<Point> back = null;
+      if(mapGraph.isSymmetric()) {
+        back = routeCache.peek(new RouteQuery(endShortName, startShortName));
+      }
+      Path<Point> reversed = back == null ? null : symmetry.reverse(back);
+      return reversed != null ? reversed : shortestPath(start, end, limits);
+    }, limits);
+  }
+
+  /**
+   * Tells how much of this campus map can be walked both ways: the fraction of its paths that have a path of the
+   * same length going the opposite way. When every path is matched by its own path back, so that the map is
+   * symmetric (see {@link CompactGraph#isSymmetric()}), a route already found between two buildings is reused
+   * backwards for the route between them the other way.
+   *
+   * @return The fraction of the paths of this campus map that have a reverse of the same length, or 1 if there
+   * are no paths.
+   */
+  public double symmetricPathFraction() {
+    return symmetry.symmetricFraction();
+  }
+
+  /**
+   * Finds the shortest path, by distance, for each of a batch of queries, as
+   * {@link #findShortestPath(String, String)} would. The queries are split into tasks run on the executor set by
+   * {@link Options#withBatchExecutor(Executor)}, each searching in a workspace of its own or of its thread, so a
+   * batch is routed on as many threads as the executor has. When every path of the map can be walked both ways, a query
+   * whose reverse comes earlier in the batch is answered by walking that route backwards.
+   *
+   * @param queries The pairs of buildings to find paths between.
+   * @return The path for each query, or {@literal null} where there is none, in the order of {@code queries},
+   * together with how long the batch took.
+   * @throws IllegalArgumentException if {@code queries} or any of its elements are {@literal null}, or name a
+   *                                  building that is not in this campus map.
+   */
+  public RouteBatch findShortestPaths(List<RouteQuery> queries) {
+    long startTime = System.nanoTime();
+    if(queries == null) {
+      throw new IllegalArgumentException();
+    }
+    //every name is checked before any task starts, so a bad query fails the whole batch up front
+    Point[] starts = new Point[queries.size()];
+    Point[] ends = new Point[queries.size()];
+    for(int i = 0; i < starts.length; i++) {
+      RouteQuery query = queries.get(i);
+      if(query == null) {
+        throw new IllegalArgumentException();
+      }
+      starts[i] = positionOf(query.getStart());
+      ends[i] = positionOf(query.getEnd());
+    }
+    //on a symmetric map, a query whose reverse comes earlier in the batch is answered from it, so a pair of
+    //buildings asked for both ways is only routed once
+    int[] mirrorOf = new int[starts.length];
+    Arrays.fill(mirrorOf, -1);
+    if(mapGraph.isSymmetric()) {
+      Map<RouteQuery, Integer> firstIndex = new HashMap<>();
+      for(int i = 0; i < starts.length; i++) {
+        RouteQuery query = queries.get(i);
+        Integer mirror = firstIndex.get(new RouteQuery(query.getEnd(), query.getStart()));
+        if(mirror != null && !starts[i].equals(ends[i])) {
+          mirrorOf[i] = mirror;
+        } else {
+          firstIndex.putIfAbsent(query, i);
+        }
+      }
+    }
+    List<Path<Point>> paths = new ArrayList<>(Collections.nCopies(starts.length, null));
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for(int from = 0; from < starts.length; from += BATCH_CHUNK) {
+      int first = from;
+      int last = Math.min(from + BATCH_CHUNK, starts.length);
+      tasks.add(CompletableFuture.runAsync(() -> {
+        SearchWorkspace workspace = batchTaskWorkspaces ? new SearchWorkspace(mapGraph.nodeCount())
+            : SearchWorkspace.forThread(mapGraph.nodeCount());
+        for(int i = first; i < last; i++) {
+          if(mirrorOf[i] == -1) {
+            paths.set(i, shortestPath(starts[i], ends[i], SearchLimits.NONE, workspace));
+          }
+        }
+      }, batchExecutor));
+    }
+    //each task sets different elements, and joining makes all of them visible here
+    CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+    for(int i = 0; i < starts.length; i++) {
+      Path<Point> mirrored = mirrorOf[i] == -1 ? null : paths.get(mirrorOf[i]);
+      if(mirrored != null) {
+        paths.set(i, symmetry.reverse(mirrored));
+      }
+    }
+    return new RouteBatch(paths, System.nanoTime() - startTime);
+  }
+
+  /**
+   * @param start the position of a building
+   * @param end the position of a building
+   * @param limits the most work the query may do
+   * @return the shortest path from {@code start} to {@code end}, from the precomputed routes if there are any, or
+   * {@literal null} if there is none
+   * @throws SearchLimitExceededException if the query reaches one of {@code limits}
+   */
+  private Path<Point> shortestPath(Point start, Point end, SearchLimits limits) {
+    return shortestPath(start, end, limits, SearchWorkspace.forThread(mapGraph.nodeCount()));
+  }
+
+  /**
+   * @param start the position of a building
+   * @param end the position of a building
+   * @param limits the most work the query may do
+   * @param workspace the workspace to search in, which no other search uses until this returns
+   * @return the shortest path from {@code start} to {@code end}, from the precomputed routes if there are any, or
+   * {@literal null} if there is none
+   * @throws SearchLimitExceededException if the query reaches one of {@code limits}
+   */
+  private Path<Point> shortestPath(Point start, Point end, SearchLimits limits, SearchWorkspace workspace) {
+    if(!canReach(start, end)) {
+      return null;
+    }
+    if(routes != null) {
+      limits.checkNow();
+      return routes.path(start, end);
+    }
+    return dijkstra(start, end, limits, workspace);
+  }
+
+  /**
+   * @param start a point of the map
+   * @param end a point of the map
+   * @param limits the most work the search may do
+   * @param workspace the workspace to search in, which no other search uses until this returns
+   * @return the shortest path from {@code start} to {@code end} found with Dijkstra's algorithm, or
+   * {@literal null} if there is none
+   * @throws SearchLimitExceededException if the search reaches one of {@code limits}
+   */
+  private Path<Point> dijkstra(Point start, Point end, SearchLimits limits, SearchWorkspace workspace) {
+    //orders the frontier exactly as Dijkstra's would, but never reaches points that cannot reach end
+    DijkstraSearch<Point> search = new DijkstraSearch<>(mapGraph, pruning, workspace, limits);
+    int endId = mapGraph.indexOf(end);
+    return search.run(mapGraph.indexOf(start), endId) ? search.pathTo(endId) : null;
+  }
+
+  /**
+   * Finds the length of the shortest path between the two provided buildings, without building the path.
+   *
+   * @param startShortName The short name of the building at the beginning of the path.
+   * @param endShortName   The short name of the building at the end of the path.
+   * @return The length of the shortest path between {@code startBuilding} and {@code endBuilding}, or
+   * {@link Double#POSITIVE_INFINITY} if none exists.
+   * @throws IllegalArgumentException if {@code startBuilding} or {@code endBuilding} are
+   *                                  {@literal null}, or not valid short names of buildings in
+   *                                  this campus map.
+   */
+  public double shortestDistance(String startShortName, String endShortName) {
+    Point start = positionOf(startShortName);
+    Point end = positionOf(endShortName);
+    if(!canReach(start, end)) {
+      return Double.POSITIVE_INFINITY;
+    }
+    if(routes != null) {
+      return routes.distance(start, end);
+    }
+    return WeightedPathfinder.shortestDistance(mapGraph, start, end, heuristic);
+  }
+
+  /**
+   * Finds the length of the shortest path between the two provided buildings, without building the path, as
+   * {@link #shortestDistance(String, String)} does.
+   *
+   * @param startShortName The short name of the building at the beginning of the path.
+   * @param endShortName   The short name of the building at the end of the path.
+   * @return The length of the shortest path between {@code startBuilding} and {@code endBuilding}, or
+   * {@link Double#POSITIVE_INFINITY} if none exists.
+   * @throws IllegalArgumentException if {@code startBuilding} or {@code endBuilding} are
+   *                                  {@literal null}, or not valid short names of buildings in
+   *                                  this campus map.
+   */
+  public double distance(String startShortName, String endShortName) {
+    return shortestDistance(startShortName, endShortName);
+  }
+
+  /**
+   * Finds the length of the shortest path from one building to each of several others, with a single search
+   * that builds no paths (or from the precomputed routes if there are any).
+   *
+   * @param startShortName The short name of the building at the beginning of the paths.
+   * @param endShortNames  The short names of the buildings at the ends of the paths.
+   * @return An array whose i-th element is the length of the shortest path between {@code startShortName} and
+   * the i-th element of {@code endShortNames}, or {@link Double#POSITIVE_INFINITY} if none exists.
+   * @throws IllegalArgumentException if {@code startShortName}, {@code endShortNames} or any of its elements are
+   *                                  {@literal null}, or not valid short names of buildings in this campus map.
+   */
+  public double[] shortestDistances(String startShortName, List<String> endShortNames) {
+    Point start = positionOf(startShortName);
+    List<Point> ends = positionsOf(endShortNames);
+    if(routes != null) {
+      double[] distances = new double[ends.size()];
+      for(int i = 0; i < distances.length; i++) {
+        distances[i] = routes.distance(start, ends.get(i));
+      }
+      return distances;
+    }
+    //a search towards an unreachable end would only stop once everything reachable is settled
+    List<Point> reachable = reachableEnds(start, ends);
+    double[] found = WeightedPathfinder.shortestDistances(mapGraph, start, reachable);
+    double[] distances = new double[ends.size()];
+    for(int i = 0, j = 0; i < distances.length; i++) {
+      distances[i] = canReach(start, ends.get(i)) ? found[j++] : Double.POSITIVE_INFINITY;
+    }
+    return distances;
+  }
+
+  /**
+   * Finds the shortest path, by distance, from one building to each of several others, with a single search
+   * that stops once every destination is reached (or from the precomputed routes if there are any).
+   *
+   * @param startShortName The short name of the building at the beginning of the paths.
+   * @param endShortNames  The short names of the buildings at the ends of the paths.
+   * @return A list whose i-th element is a path between {@code startShortName} and the i-th element of
+   * {@code endShortNames}, or {@literal null} if none exists.
+   * @throws IllegalArgumentException if {@code startShortName}, {@code endShortNames} or any of its elements are
+   *                                  {@literal null}, or not valid short names of buildings in this campus map.
+   */
+  public List<Path<Point>> findShortestPaths(String startShortName, List<String> endShortNames) {
+    Point start = positionOf(startShortName);
+    List<Point> ends = positionsOf(endShortNames);
+    if(routes != null) {
+      List<Path<Point>> paths = new ArrayList<>(ends.size());
+      for(Point end : ends) {
+        paths.add(routes.path(start, end));
+      }
+      return paths;
+    }
+    List<Path<Point>> found = WeightedPathfinder.dijkstraToAll(mapGraph, start, reachableEnds(start, ends));
+    List<Path<Point>> paths = new ArrayList<>(ends.size());
+    for(int i = 0, j = 0; i < ends.size(); i++) {
+      paths.add(canReach(start, ends.get(i)) ? found.get(j++) : null);
+    }
+    return paths;
+  }
+
+  /**
+   * Finds the length of the shortest path from each of several buildings to each of several others, with one
+   * search per start building (or from the precomputed routes if there are any).
+   *
+   * @param startShortNames The short names of the buildings at the beginning of the paths.
+   * @param endShortNames   The short names of the buildings at the ends of the paths.
+   * @return A table whose [i][j] entry is the length of the shortest path between the i-th element of
+   * {@code startShortNames} and the j-th element of {@code endShortNames}, or {@link Double#POSITIVE_INFINITY}
+   * if none exists.
+   * @throws IllegalArgumentException if either list or any of their elements are {@literal null}, or not valid
+   *                                  short names of buildings in this campus map.
+   */
+  public double[][] distanceTable(List<String> startShortNames, List<String> endShortNames) {
+    List<Point> starts = positionsOf(startShortNames);
+    List<Point> ends = positionsOf(endShortNames);
+    if(routes != null) {
+      double[][] table = new double[starts.size()][ends.size()];
+      for(int i = 0; i < table.length; i++) {
+        for(int j = 0; j < table[i].length; j++) {
+          table[i][j] = routes.distance(starts.get(i), ends.get(j));
+        }
+      }
+      return table;
+    }
+    return WeightedPathfinder.distanceTable(mapGraph, starts, ends);
+  }
+
+  /**
+   * Finds up to {@code count} different routes between the two provided buildings, none of which visits a point
+   * twice, from the shortest up. The searches for them settle at most the number of points set by
+   * {@link Options#withAlternativeRouteLimit(int)}, and if that is reached, only the shortest routes found before
+   * it are returned.
+   *
+   * @param startShortName The short name of the building at the beginning of the routes.
+   * @param endShortName   The short name of the building at the end of the routes.
+   * @param count          The most routes to return.
+   * @return The shortest routes between {@code startBuilding} and {@code endBuilding} in order of distance, of
+   * which there are fewer than {@code count} if there are no more or the limit was reached. Empty if there is no
+   * route.
+   * @throws IllegalArgumentException if {@code startBuilding} or {@code endBuilding} are {@literal null}, or not
+   *                                  valid short names of buildings in this campus map, or {@code count} is not
+   *                                  positive.
+   */
+  public List<Path<Point>> findAlternativeRoutes(String startShortName, String endShortName, int count) {
+    Point start = positionOf(startShortName);
+    Point end = positionOf(endShortName);
+    if(count <= 0){
+      throw new IllegalArgumentException("Route count must be positive.");
+    }
+    if(!canReach(start, end)){
+      return new ArrayList<>();
+    }
+    return WeightedPathfinder.alternativeRoutes(mapGraph, start, end, count, alternativeRouteLimit);
+  }
+
+  /**
+   * Finds everything that can be reached from the provided building without walking further than {@code budget},
+   * with a search that stops at the first point beyond it.
+   *
+   * @param shortName The short name of the building to start from.
+   * @param budget    The greatest distance to walk.
+   * @return The points and buildings within {@code budget} of {@code shortName}, and the paths that leave them.
+   * @throws IllegalArgumentException if {@code shortName} is {@literal null} or not a valid short name of a
+   *                                  building in this campus map, or {@code budget} is negative or NaN.
+   */
+  public Isochrone isochrone(String shortName, double budget) {
+    Point origin = positionOf(shortName);
+    if(!(budget >= 0)){
+      throw new IllegalArgumentException("Budget must be a non-negative number.");
+    }
+    DijkstraSearch<Point> search =
+        new DijkstraSearch<>(mapGraph, Heuristic.NONE, SearchWorkspace.forThread(mapGraph.nodeCount()));
+    List<Point> points = new ArrayList<>();
+    search.runWithin(mapGraph.indexOf(origin), budget, node -> points.add(mapGraph.nodeAt(node)));
+    //every point within the budget is settled, so an edge leaves the reachable points iff it reaches one that is not
+    List<Isochrone.BoundaryEdge> boundary = new ArrayList<>();
+    for(Point point : points){
+      int node = mapGraph.indexOf(point);
+      double left = budget - search.distance(node);
+      for(int e = mapGraph.edgeStart(node); e < mapGraph.edgeEnd(node); e++){
+        int next = mapGraph.target(e);
+        if(!search.isSettled(next)){
+          boundary.add(new Isochrone.BoundaryEdge(point, mapGraph.nodeAt(next), mapGraph.weight(e), left));
+        }
+      }
+    }
+    Map<String, Double> buildings = new TreeMap<>();
+    for(Map.Entry<String, Point> building : buildingPosition.entrySet()){
+      int node = mapGraph.indexOf(building.getValue());
+      if(search.isSettled(node)){
+        buildings.put(building.getKey(), search.distance(node));
+      }
+    }
+    return new Isochrone(shortName, budget, buildings, points, boundary);
+  }
+
+  /**
+   * Finds the shortest path, by distance, between the two provided buildings using the given algorithm.
+   *
+   * @param startShortName The short name of the building at the beginning of this path.
+   * @param endShortName   The short name of the building at the end of this path.
+   * @param strategy       The algorithm to search with.
+   * @return A path between {@code startBuilding} and {@code endBuilding}, or {@literal null}
+   * if none exists.
+   * @throws IllegalArgumentException if {@code startBuilding}, {@code endBuilding} or {@code strategy} are
+   *                                  {@literal null}, or the names are not valid short names of buildings in
+   *                                  this campus map.
+   */
+  public Path<Point> findShortestPath(String startShortName, String endShortName, SearchStrategy strategy) {
+    Point start = positionOf(startShortName);
+    Point end = positionOf(endShortName);
+    if(strategy == null){
+      throw new IllegalArgumentException();
+    }
+    if(!canReach(start, end)){
+      return null;
+    }
+    switch(strategy) {
+      case A_STAR:
+        return WeightedPathfinder.aStar(mapGraph, start, end, heuristic);
+      case BIDIRECTIONAL:
+        return WeightedPathfinder.bidirectionalDijkstra(mapGraph, start, end);
+      case ALT:
+        return WeightedPathfinder.aStar(mapGraph, start, end, landmarkHeuristic);
+      case CONTRACTION_HIERARCHY:
+        if(hierarchy == null){
+          return WeightedPathfinder.bidirectionalDijkstra(mapGraph, start, end);
+        }
+        return WeightedPathfinder.contractionHierarchy(hierarchy, start, end);
+      default:
+        return dijkstra(start, end, SearchLimits.NONE, SearchWorkspace.forThread(mapGraph.nodeCount()));
+    }
+  }
+
+  /**
+   * @param shortName the short name of a building
+   * @return the position of the building named {@code shortName}
+   * @throws IllegalArgumentException if {@code shortName} is {@literal null} or not the short name of a building
+   *                                  in this campus map.
+   */
+  private Point positionOf(String shortName) {
+    if(shortName == null || !buildingPosition.containsKey(shortName)){
+      throw new IllegalArgumentException();
+    }
+    return buildingPosition.get(shortName);
+  }
+
+  /**
+   * @param start a point of the map
+   * @param end a point of the map
+   * @return {@literal false} if there is no path from {@code start} to {@code end}, and {@literal true} iff
+   * there is one unless the map has too many components for that to be known without searching
+   */
+  private boolean canReach(Point start, Point end) {
+    return components.mayReach(mapGraph.indexOf(start), mapGraph.indexOf(end));
+  }
+
+  /**
+   * @param start a point of the map
+   * @param ends points of the map
+   * @return the elements of {@code ends} there is a path to from {@code start}, in the same order
+   */
+  private List<Point> reachableEnds(Point start, List<Point> ends) {
+    List<Point> reachable = new ArrayList<>(ends.size());
+    for(Point end : ends) {
+      if(canReach(start, end)) {
+        reachable.add(end);
+      }
+    }
+    return reachable;
+  }
+
+  /**
+   * @param shortNames the short names of buildings
+   * @return the positions of the buildings named in {@code shortNames}, in the same order
+   * @throws IllegalArgumentException if {@code shortNames} or any of its elements are {@literal null}, or not the
+   *                                  short name of a building in this campus map.
+   */
+  private List<Point> positionsOf(List<String> shortNames) {
+    if(shortNames == null){
+      throw new IllegalArgumentException();
+    }
+    List<Point> positions = new ArrayList<>(shortNames.size());
+    for(String shortName : shortNames) {
+      positions.add(positionOf(shortName));
+    }
+    return positions;
   }
 
   private void checkRep() {
     assert mapGraph != null;
     assert buildingName != null;
     assert buildingPosition != null;
+    assert buildingGroups != null;
+    assert components != null;
+    assert symmetry != null;
+    assert pruning != null;
+    assert heuristic != null;
+    assert landmarkHeuristic != null;
+    assert hierarchy == null || hierarchy.getGraph() == mapGraph;
+    assert alternativeRouteLimit > 0;
+    assert batchExecutor != null;
     assert buildingName.keySet().equals(buildingPosition.keySet());
     Set<Point> campusPoints = mapGraph.getNodes();
     if (DEBUG) {
@@ -169,4 +907,146 @@ public class ModelConnector {
       }
     }
   }
+
+  /**
+   * Optional preprocessing for a {@link ModelConnector}, which makes construction slower in exchange for faster
+   * queries. By default, none is done.
+   */
+  public static class Options {
+
+    /**
+     * The number of landmarks to compute for {@link SearchStrategy#ALT}.
+     */
+    private int landmarks;
+
+    /**
+     * The file the landmark distances are saved to and loaded from, or null to always compute them.
+     */
+    private java.nio.file.Path landmarkFile;
+
+    /**
+     * Whether to build a contraction hierarchy for {@link SearchStrategy#CONTRACTION_HIERARCHY}.
+     */
+    private boolean contractionHierarchy;
+
+    /**
+     * Whether to precompute the shortest paths between every pair of buildings.
+     */
+    private boolean precomputedRoutes;
+
+    /**
+     * The most nodes the searches for one {@link #findAlternativeRoutes} query may settle.
+     */
+    private int alternativeRouteLimit = 100_000;
+
+    /**
+     * The executor the tasks of {@link #findShortestPaths(List)} run on, or null to run them on the common
+     * {@link ForkJoinPool}, each in a workspace of its own.
+     */
+    private Executor batchExecutor;
+
+    /**
+     * The cache of routes found by {@link #findShortestPath(String, String)}, or null to not cache them.
+     */
+    private RouteCache routeCache;
+
+    /**
+     * Computes distances to and from {@code count} landmarks at construction, for {@link SearchStrategy#ALT}.
+     *
+     * @param count the number of landmarks, or 0 for none
+     * @return this
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public Options withLandmarks(int count) {
+      if(count < 0) {
+        throw new IllegalArgumentException("Landmark count cannot be negative.");
+      }
+      this.landmarks = count;
+      return this;
+    }
+
+    /**
+     * Saves the landmark distances to {@code file}, and loads them from it at later constructions for the same
+     * map instead of computing them again.
+     *
+     * @param file the file to save to, or null to not save
+     * @return this
+     */
+    public Options withLandmarkFile(java.nio.file.Path file) {
+      this.landmarkFile = file;
+      return this;
+    }
+
+    /**
+     * Builds a contraction hierarchy of the map at construction, for
+     * {@link SearchStrategy#CONTRACTION_HIERARCHY}.
+     *
+     * @return this
+     */
+    public Options withContractionHierarchy() {
+      this.contractionHierarchy = true;
+      return this;
+    }
+
+    /**
+     * Precomputes the shortest paths between every pair of buildings at construction, so that
+     * {@link #findShortestPath(String, String)} and {@link #shortestDistance(String, String)} answer from memory.
+     *
+     * @return this
+     */
+    public Options withPrecomputedRoutes() {
+      this.precomputedRoutes = true;
+      return this;
+    }
+
+    /**
+     * Limits the work of each {@link #findAlternativeRoutes} query to settling {@code maxSettled} points, counted
+     * over all of its searches, so that one query cannot occupy a thread for long. By default, the limit is
+     * 100,000.
+     *
+     * @param maxSettled the most points a query may settle
+     * @return this
+     * @throws IllegalArgumentException if {@code maxSettled} is not positive
+     */
+    public Options withAlternativeRouteLimit(int maxSettled) {
+      if(maxSettled <= 0) {
+        throw new IllegalArgumentException("Alternative route limit must be positive.");
+      }
+      this.alternativeRouteLimit = maxSettled;
+      return this;
+    }
+
+    /**
+     * Runs the tasks of {@link #findShortestPaths(List)} on {@code executor}, whose threads are the ones a batch
+     * is routed on. Each of its threads searches in a workspace of its own, which it keeps for as long as it lives,
+     * so {@code executor} should have a bounded number of threads that the caller shuts down when done with it. By
+     * default, tasks run on the common {@link ForkJoinPool} and each allocates its own workspace, so that the
+     * pool's threads, which live as long as the program, keep none.
+     *
+     * @param executor the executor to route batches on
+     * @return this
+     * @throws IllegalArgumentException if {@code executor} is {@literal null}
+     */
+    public Options withBatchExecutor(Executor executor) {
+      if(executor == null) {
+        throw new IllegalArgumentException("Batch executor cannot be null.");
+      }
+      this.batchExecutor = executor;
+      return this;
+    }
+
+    /**
+     * Keeps the routes found by {@link #findShortestPath(String, String)} in {@code cache}, so that asking for the
+     * same pair of buildings again does not search again. The cache is emptied when the {@link ModelConnector} is
+     * constructed, so one cache can be given to the model of each reload of the dataset. By default, routes are
+     * not cached.
+     *
+     * @param cache the cache to keep routes in, or null to not cache them
+     * @return this
+     */
+    public Options withRouteCache(RouteCache cache) {
+      this.routeCache = cache;
+      return this;
+    }
+  }
 }
@@ -0,0 +1,72 @@
+package pathfinder;
+
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the immutable result of routing a batch of {@link RouteQuery}s: the route for each query, in the
+ * order the queries were given, and how long the batch took.
+ */
+public class RouteBatch {
+
+  // AF(this) = the routes paths.get(i) for the i-th query of a batch that took elapsedNanos nanoseconds
+
+  // Rep Invariant:
+  //      paths != null && elapsedNanos >= 0
+
+  /**
+   * The route for each query, or null where there is none, in the order of the queries.
+   */
+  private final List<Path<Point>> paths;
+
+  /**
+   * The wall clock time the batch took, in nanoseconds.
+   */
+  private final long elapsedNanos;
+
+  /**
+   * Creates a new batch result.
+   *
+   * @param paths        the route for each query, or null where there is none, in the order of the queries
+   * @param elapsedNanos the wall clock time the batch took, in nanoseconds
+   * @spec.requires paths != null AND elapsedNanos &gt;= 0 AND paths is not modified afterwards
+   */
+  RouteBatch(List<Path<Point>> paths, long elapsedNanos) {
+    this.paths = paths;
+    this.elapsedNanos = elapsedNanos;
+    checkRep();
+  }
+
+  /**
+   * @return The shortest route for each query, or {@literal null} where there is none, in the order the queries
+   * were given.
+   */
+  public List<Path<Point>> getPaths() {
+    return Collections.unmodifiableList(paths);
+  }
+
+  /**
+   * @return The wall clock time the batch took, in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * @return The number of routes found per second of wall clock time, or 0 if the batch was empty.
+   */
+  public double getRoutesPerSecond() {
+    return paths.isEmpty() ? 0 : paths.size() / (Math.max(elapsedNanos, 1) / 1e9);
+  }
+
+  /**
+   * Ensures that the representation invariant has not been violated. Returns normally if
+   * there is no violation.
+   */
+  private void checkRep() {
+    assert paths != null && elapsedNanos >= 0;
+  }
+}
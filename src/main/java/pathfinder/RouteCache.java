@@ -0,0 +1,356 @@
+package pathfinder;
+
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.SearchLimitExceededException;
+import pathfinder.search.SearchLimits;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Represents a bounded, thread-safe cache of the shortest routes between pairs of buildings, keyed by
+ * {@link RouteQuery}. Once full, adding a route evicts the least recently used one, or the oldest one for
+ * {@link Eviction#FIRST_IN_FIRST_OUT}. A route is computed only once however many threads miss on it at the same
+ * time: the first computes it, and the others wait for its result. Counts of hits, misses and evictions are kept
+ * to tell how well the cache is working.
+ * <p>
+ * A cache can also be given a {@link RoutePopularity} to decide admission, like TinyLFU: once full, a route is
+ * only cached if it has been asked for more often than the route it would evict, so that a burst of routes asked
+ * for once cannot push out the routes asked for all the time. Routes not admitted are still computed and returned.
+ * <p>
+ * A cache belongs to one dataset, so it must be emptied with {@link #invalidateAll()} when the dataset is
+ * reloaded. A {@link ModelConnector} empties the cache it is given when it is constructed.
+ */
+public class RouteCache {
+
+  /**
+   * Which route is evicted when one is added to a full cache.
+   */
+  public enum Eviction {
+    /**
+     * The route that was looked up longest ago.
+     */
+    LEAST_RECENTLY_USED,
+    /**
+     * The route that was added longest ago.
+     */
+    FIRST_IN_FIRST_OUT
+  }
+
+  /**
+   * The longest a thread waits for another thread's computation before checking its own limits again, in
+   * nanoseconds, which bounds how late a cancellation is noticed.
+   */
+  private static final long WAIT_SLICE = TimeUnit.MILLISECONDS.toNanos(10);
+
+  // AF(this) = a cache holding at most capacity routes, the route for query q being the result of
+  //      entries.get(q) once it completes, that has answered hits lookups from memory, computed misses routes,
+  //      evicted evictions routes, and declined to cache rejections routes that admission judged less popular
+
+  // Rep Invariant:
+  //      entries != null && capacity > 0 && entries.size() <= capacity &&
+  //      hits, misses, evictions, rejections >= 0
+
+  /**
+   * The most routes the cache holds.
+   */
+  private final int capacity;
+
+  /**
+   * Which route is evicted when one is added to a full cache.
+   */
+  private final Eviction eviction;
+
+  /**
+   * How often each route is asked for, which decides whether a route is cached once full, or null to cache every
+   * route.
+   */
+  private final RoutePopularity admission;
+
+  /**
+   * The route for each query, or the computation of it if it is not done, in eviction order: a route is moved to
+   * the end when it is looked up if the least recently used route is evicted. Guarded by this.
+   */
+  private final LinkedHashMap<RouteQuery, CompletableFuture<Path<Point>>> entries;
+
+  /**
+   * The number of lookups answered from the cache, including those that waited for another thread's computation.
+   * Guarded by this.
+   */
+  private long hits;
+
+  /**
+   * The number of lookups that computed their route. Guarded by this.
+   */
+  private long misses;
+
+  /**
+   * The number of routes evicted to make room for others. Guarded by this.
+   */
+  private long evictions;
+
+  /**
+   * The number of computed routes that were not cached because admission judged them less popular than the route
+   * they would evict. Guarded by this.
+   */
+  private long rejections;
+
+  /**
+   * Creates a new, empty cache that evicts the least recently used route once full.
+   *
+   * @param capacity the most routes the cache holds
+   * @throws IllegalArgumentException if {@code capacity} is not positive
+   */
+  public RouteCache(int capacity) {
+    this(capacity, Eviction.LEAST_RECENTLY_USED);
+  }
+
+  /**
+   * Creates a new, empty cache.
+   *
+   * @param capacity the most routes the cache holds
+   * @param eviction which route to evict when one is added to a full cache
+   * @throws IllegalArgumentException if {@code capacity} is not positive or {@code eviction} is {@literal null}
+   */
+  public RouteCache(int capacity, Eviction eviction) {
+    this(capacity, eviction, null);
+  }
+
+  /**
+   * Creates a new, empty cache that, once full, only caches a route if {@code admission} estimates it has been
+   * asked for more often than the route it would evict.
+   *
+   * @param capacity  the most routes the cache holds
+   * @param eviction  which route to evict when one is added to a full cache
+   * @param admission how often each route is asked for, or null to cache every route
+   * @throws IllegalArgumentException if {@code capacity} is not positive or {@code eviction} is {@literal null}
+   */
+  public RouteCache(int capacity, Eviction eviction, RoutePopularity admission) {
+    if(capacity <= 0) {
+      throw new IllegalArgumentException("Cache capacity must be positive.");
+    }
+    if(eviction == null) {
+      throw new IllegalArgumentException("Eviction cannot be null.");
+    }
+    this.capacity = capacity;
+    this.eviction = eviction;
+    this.admission = admission;
+    //kept in insertion order, so that only lookups by get, not peeks, count as a use
+    this.entries = new LinkedHashMap<RouteQuery, CompletableFuture<Path<Point>>>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<RouteQuery, CompletableFuture<Path<Point>>> eldest) {
+        if(size() > RouteCache.this.capacity) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+    checkRep();
+  }
+
+  /**
+   * Looks up the route for {@code query}, computing it with {@code loader} if it is not cached, as
+   * {@link #get(RouteQuery, Function, SearchLimits)} does for a thread that may wait as long as it takes.
+   *
+   * @param query  the pair of buildings to look up the route between
+   * @param loader computes the route for a query, or {@literal null} if there is none
+   * @return the route for {@code query}, or {@literal null} if there is none
+   * @spec.requires query, loader != null
+   */
+  public Path<Point> get(RouteQuery query, Function<RouteQuery, Path<Point>> loader) {
+    return get(query, loader, SearchLimits.NONE);
+  }
+
+  /**
+   * Looks up the route for {@code query}, computing it with {@code loader} if it is not cached. If another
+   * thread is already computing it, waits for that instead, but only until the deadline or cancellation of
+   * {@code limits}. A computation that throws caches nothing, and the exception is thrown only to the thread that
+   * ran it: since loaders may differ between threads, such as in how much work they may do, a thread that was
+   * waiting for it looks the route up again, computing it with its own loader if no other thread is by then. Each
+   * of these lookups is counted as a hit or miss. A route that admission turns away is computed without being
+   * cached, so other threads asking for it at the same time compute it too.
+   *
+   * @param query  the pair of buildings to look up the route between
+   * @param loader computes the route for a query, or {@literal null} if there is none, within {@code limits}
+   * @param limits how long this thread may wait for another thread's computation
+   * @return the route for {@code query}, or {@literal null} if there is none
+   * @throws SearchLimitExceededException if the deadline of {@code limits} passes or its token is cancelled while
+   *                                      waiting for another thread's computation, or the thread is interrupted
+   * @spec.requires query, loader, limits != null
+   */
+  public Path<Point> get(RouteQuery query, Function<RouteQuery, Path<Point>> loader, SearchLimits limits) {
+    while(true) {
+      CompletableFuture<Path<Point>> route;
+      boolean computes = false;
+      synchronized(this) {
+        route = entries.get(query);
+        if(route == null) {
+          misses++;
+          route = new CompletableFuture<>();
+          if(admits(query)) {
+            entries.put(query, route);
+          } else {
+            rejections++;
+          }
+          computes = true;
+        } else {
+          hits++;
+          if(eviction == Eviction.LEAST_RECENTLY_USED) {
+            entries.remove(query);
+            entries.put(query, route);
+          }
+        }
+        checkRep();
+      }
+      if(computes) {
+        try {
+          Path<Point> path = loader.apply(query);
+          route.complete(path);
+          return path;
+        } catch(RuntimeException | Error e) {
+          synchronized(this) {
+            entries.remove(query, route);
+          }
+          route.completeExceptionally(e);
+          throw e;
+        }
+      }
+      try {
+        return await(route, limits);
+      } catch(ExecutionException e) {
+        // the failed computation is no longer cached, so the next lookup finds another or runs loader
+      }
+    }
+  }
+
+  /**
+   * Waits for another thread's computation of a route, checking {@code limits} at least every
+   * {@link #WAIT_SLICE} nanoseconds.
+   *
+   * @param route  the computation to wait for
+   * @param limits how long the waiting thread may wait
+   * @return the route computed
+   * @throws ExecutionException           if the computation threw
+   * @throws SearchLimitExceededException if the deadline of {@code limits} passes or its token is cancelled first,
+   *                                      or the thread is interrupted
+   */
+  private static Path<Point> await(CompletableFuture<Path<Point>> route, SearchLimits limits)
+          throws ExecutionException {
+    while(true) {
+      limits.checkNow();
+      try {
+        return route.get(limits.nanosToWait(WAIT_SLICE), TimeUnit.NANOSECONDS);
+      } catch(TimeoutException e) {
+        // checks the limits again
+      } catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SearchLimitExceededException(SearchLimitExceededException.Reason.CANCELLED);
+      }
+    }
+  }
+
+  /**
+   * Looks up the route for {@code query} only if it is cached and done being computed, without computing it,
+   * counting a hit or miss, or counting as a use of the route for which route is evicted next.
+   *
+   * @param query the pair of buildings to look up the route between
+   * @return the cached route for {@code query}, or {@literal null} if it is not cached, is still being computed,
+   * failed, or there is no route
+   * @spec.requires query != null
+   */
+  public synchronized Path<Point> peek(RouteQuery query) {
+    CompletableFuture<Path<Point>> route = entries.get(query);
+    if(route == null || !route.isDone() || route.isCompletedExceptionally()) {
+      return null;
+    }
+    return route.join();
+  }
+
+  /**
+   * @param query a route that is not cached
+   * @return whether to cache the route for {@code query}, which is when there is room for it, or when it is asked
+   * for more often than the route it would evict
+   */
+  private boolean admits(RouteQuery query) {
+    if(admission == null || entries.size() < capacity) {
+      return true;
+    }
+    RouteQuery victim = entries.keySet().iterator().next();
+    return admission.frequency(query) > admission.frequency(victim);
+  }
+
+  /**
+   * Empties the cache, such as when the dataset it was filled from is reloaded. Routes being computed are still
+   * returned to the threads waiting for them, but are not cached. The counts are kept.
+   */
+  public synchronized void invalidateAll() {
+    entries.clear();
+  }
+
+  /**
+   * @return The most routes the cache holds.
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return The number of routes the cache holds, including those being computed.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return The number of lookups answered without computing their route.
+   */
+  public synchronized long hits() {
+    return hits;
+  }
+
+  /**
+   * @return The number of lookups that computed their route.
+   */
+  public synchronized long misses() {
+    return misses;
+  }
+
+  /**
+   * @return The number of routes evicted to make room for others.
+   */
+  public synchronized long evictions() {
+    return evictions;
+  }
+
+  /**
+   * @return The number of computed routes that were not cached because they were asked for less often than the
+   * route they would have evicted.
+   */
+  public synchronized long rejections() {
+    return rejections;
+  }
+
+  /**
+   * @return The fraction of lookups answered without computing their route, or 0 if there have been none.
+   */
+  public synchronized double hitRate() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  /**
+   * Ensures that the representation invariant has not been violated. Returns normally if
+   * there is no violation.
+   */
+  private void checkRep() {
+    assert entries != null && capacity > 0 && entries.size() <= capacity;
+    assert hits >= 0 && misses >= 0 && evictions >= 0 && rejections >= 0;
+  }
+}
@@ -0,0 +1,140 @@
+package pathfinder;
+
+import pathfinder.datastructures.FrequencySketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a thread-safe record of how often each route has been asked for recently, estimated with a
+ * {@link FrequencySketch} so that it takes the same memory however many pairs of buildings are asked for. It
+ * decides which routes a {@link RouteCache} admits, and reports the routes asked for most.
+ * <p>
+ * The sketch cannot list the routes it has counted, so the most popular ones are tracked separately: a route is
+ * tracked once it is estimated to be asked for more often than the least popular tracked route.
+ */
+public class RoutePopularity {
+
+  // AF(this) = the estimated recent number of requests for each route q => sketch.frequency(q), of which the
+  //      routes in tracked are the most popular
+
+  // Rep Invariant:
+  //      sketch, tracked != null && trackedLimit > 0 && tracked.size() <= trackedLimit
+
+  /**
+   * The estimated recent number of requests for each route. Guarded by this.
+   */
+  private final FrequencySketch<RouteQuery> sketch;
+
+  /**
+   * The routes estimated to be asked for most. Guarded by this.
+   */
+  private final Set<RouteQuery> tracked;
+
+  /**
+   * The most routes tracked.
+   */
+  private final int trackedLimit;
+
+  /**
+   * Creates a new record in which no route has been asked for.
+   *
+   * @param expectedRoutes the number of distinct routes expected to be asked for, such as the square of the number
+   *                       of buildings
+   * @param trackedLimit   the most popular routes to track for {@link #hotRoutes(int)}
+   * @throws IllegalArgumentException if {@code expectedRoutes} or {@code trackedLimit} are not positive
+   */
+  public RoutePopularity(int expectedRoutes, int trackedLimit) {
+    if(trackedLimit <= 0) {
+      throw new IllegalArgumentException("Tracked route limit must be positive.");
+    }
+    this.sketch = new FrequencySketch<>(expectedRoutes);
+    this.tracked = new HashSet<>();
+    this.trackedLimit = trackedLimit;
+    checkRep();
+  }
+
+  /**
+   * Records a request for a route.
+   *
+   * @param query the route asked for
+   * @throws IllegalArgumentException if {@code query} is {@literal null}
+   */
+  public synchronized void record(RouteQuery query) {
+    if(query == null) {
+      throw new IllegalArgumentException();
+    }
+    sketch.increment(query);
+    if(tracked.contains(query)) {
+      return;
+    }
+    if(tracked.size() < trackedLimit) {
+      tracked.add(query);
+    } else {
+      RouteQuery coldest = coldestTracked();
+      if(sketch.frequency(query) > sketch.frequency(coldest)) {
+        tracked.remove(coldest);
+        tracked.add(query);
+      }
+    }
+    checkRep();
+  }
+
+  /**
+   * @param query a route
+   * @return An estimate of how many times {@code query} has been asked for recently, which is never too low, but
+   * decays as other routes are asked for.
+   * @throws IllegalArgumentException if {@code query} is {@literal null}
+   */
+  public synchronized int frequency(RouteQuery query) {
+    if(query == null) {
+      throw new IllegalArgumentException();
+    }
+    return sketch.frequency(query);
+  }
+
+  /**
+   * @param count the most routes to report
+   * @return Up to {@code count} of the most popular recently asked-for routes, most popular first.
+   * @throws IllegalArgumentException if {@code count} is negative
+   */
+  public synchronized List<RouteQuery> hotRoutes(int count) {
+    if(count < 0) {
+      throw new IllegalArgumentException("Count cannot be negative.");
+    }
+    List<RouteQuery> hottest = new ArrayList<>(tracked);
+    //ties are broken by name so the report is the same for the same requests
+    hottest.sort(Comparator.comparingInt((RouteQuery query) -> -sketch.frequency(query))
+            .thenComparing(RouteQuery::getStart).thenComparing(RouteQuery::getEnd));
+    return hottest.subList(0, Math.min(count, hottest.size()));
+  }
+
+  /**
+   * @return the tracked route with the lowest estimate
+   * @spec.requires tracked is not empty
+   */
+  private RouteQuery coldestTracked() {
+    RouteQuery coldest = null;
+    int least = Integer.MAX_VALUE;
+    for(RouteQuery query : tracked) {
+      int frequency = sketch.frequency(query);
+      if(frequency < least) {
+        least = frequency;
+        coldest = query;
+      }
+    }
+    return coldest;
+  }
+
+  /**
+   * Ensures that the representation invariant has not been violated. Returns normally if
+   * there is no violation.
+   */
+  private void checkRep() {
+    assert sketch != null && tracked != null;
+    assert trackedLimit > 0 && tracked.size() <= trackedLimit;
+  }
+}
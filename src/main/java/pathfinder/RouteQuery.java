@@ -0,0 +1,77 @@
+package pathfinder;
+
+/**
+ * Represents an immutable request for a route from one building of a campus map to another, named by their
+ * short names.
+ */
+public class RouteQuery {
+
+  // AF(this) = a route from the building named start to the building named end
+
+  // Rep Invariant:
+  //      start != null && end != null
+
+  /**
+   * The short name of the building the route starts at.
+   */
+  private final String start;
+
+  /**
+   * The short name of the building the route ends at.
+   */
+  private final String end;
+
+  /**
+   * Creates a new request for a route between the two named buildings.
+   *
+   * @param start The short name of the building the route starts at.
+   * @param end   The short name of the building the route ends at.
+   * @throws IllegalArgumentException if {@code start} or {@code end} are {@literal null}.
+   */
+  public RouteQuery(String start, String end) {
+    if(start == null || end == null) {
+      throw new IllegalArgumentException("Building names cannot be null.");
+    }
+    this.start = start;
+    this.end = end;
+    // checkRep not necessary, the representation fields are final and immutable.
+  }
+
+  /**
+   * @return The short name of the building the route starts at.
+   */
+  public String getStart() {
+    return start;
+  }
+
+  /**
+   * @return The short name of the building the route ends at.
+   */
+  public String getEnd() {
+    return end;
+  }
+
+  /**
+   * @param obj An object to compare {@code this} to for equality.
+   * @return {@literal true} if and only if {@code obj} is a request for a route between the same two buildings
+   * in the same direction.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if(!(obj instanceof RouteQuery)) {
+      return false;
+    }
+    RouteQuery other = (RouteQuery) obj;
+    return start.equals(other.start) && end.equals(other.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return (31 * start.hashCode()) + end.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return start + " -> " + end;
+  }
+}
@@ -0,0 +1,38 @@
+package pathfinder;
+
+/**
+ * The algorithms {@link ModelConnector} can use to find a shortest path. Every strategy finds a path of the same,
+ * shortest, cost; they differ in how much of the map they explore to find it.
+ */
+public enum SearchStrategy {
+
+  /**
+   * Dijkstra's algorithm, which explores outward from the start in every direction.
+   */
+  DIJKSTRA,
+
+  /**
+   * A* search, which uses the straight-line distance to the destination to explore towards it first.
+   */
+  A_STAR,
+
+  /**
+   * Bidirectional Dijkstra's algorithm, which explores outward from both the start and the destination until the
+   * two searches meet.
+   */
+  BIDIRECTIONAL,
+
+  /**
+   * A* search using lower bounds from precomputed distances to and from landmarks as well as the straight-line
+   * distance. Without landmarks (see {@link ModelConnector.Options#withLandmarks(int)}) this is the same as
+   * {@link #A_STAR}.
+   */
+  ALT,
+
+  /**
+   * Bidirectional search over a contraction hierarchy, where both searches only climb towards more important
+   * points of the map. Without a hierarchy (see {@link ModelConnector.Options#withContractionHierarchy()}) this
+   * is the same as {@link #BIDIRECTIONAL}.
+   */
+  CONTRACTION_HIERARCHY
+}
@@ -1,16 +1,35 @@
 package pathfinder;
 
+import graph.CompactGraph;
 import graph.DataEdge;
 import graph.DirectedGraph;
+import graph.WeightedEdge;
 import pathfinder.datastructures.Path;
+import pathfinder.search.AlternativeRouteSearch;
+import pathfinder.search.BidirectionalSearch;
+import pathfinder.search.ContractionHierarchy;
+import pathfinder.search.ContractionHierarchySearch;
+import pathfinder.search.DeltaSteppingSearch;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.DistanceSearch;
+import pathfinder.search.Heuristic;
+import pathfinder.search.SearchLimitExceededException;
+import pathfinder.search.SearchLimits;
+import pathfinder.search.SearchWorkspace;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility to find a Path in a DirectedGraph with weighted edges that are represented by DataEdges with data
- * with type Double.  Does not represent an ADT
+ * with type Double, such as WeightedEdges.  Does not represent an ADT
  */
 public class WeightedPathfinder {
 
@@ -24,6 +43,7 @@ public class WeightedPathfinder {
      * @param start node to start from when performing dijkstra's
      * @param dest targeted destination node
      * @param <T> node type
+     * @param <E> edge type, whose data is its weight
      * @spec.requires graph,start,dest != null AND graph.getNodes().contains(start) AND graph.getNodes().contains(dest)
      * AND all edges of the graph are non-negative
      * @return Path with type T that is the shortest path, in respected to the weights of edges between nodes,
@@ -31,31 +51,365 @@ public class WeightedPathfinder {
      * Will return null if no path can be found
      * Will return an empty Path if start.equals(dest)
      */
-    public static <T> Path<T> dijkstra(DirectedGraph<T, DataEdge<T,Double>> graph, T start, T dest){
-        PriorityQueue<Path<T>> active = new PriorityQueue<>((t1, t2)-> Double.compare(t1.getCost(),t2.getCost()));
+    public static <T, E extends DataEdge<T,Double>> Path<T> dijkstra(DirectedGraph<T, E> graph, T start, T dest){
+        PriorityQueue<Entry<T>> active = new PriorityQueue<>((t1, t2)-> Double.compare(t1.cost,t2.cost));
+        //shortest known distance and the last step of the shortest known path to each reached node
+        Map<T, Double> dist = new HashMap<>();
+        Map<T, Entry<T>> parents = new HashMap<>();
 
         Set<T> known = new HashSet<>();
 
-        active.add(new Path<>(start));
+        dist.put(start, 0.0);
+        active.add(new Entry<>(start, 0.0));
 
         //active is empty when visited all possible nodes that can be reach from start
         while(!active.isEmpty()){
-            Path<T> currPath = active.remove();
-            if(currPath.getEnd().equals(dest)){
-                return currPath;
+            Entry<T> curr = active.remove();
+            if(curr.node.equals(dest)){
+                return buildPath(start, dest, parents);
             }
-            else if(!known.contains(currPath.getEnd())){
-                Set<DataEdge<T,Double>> newEdges = graph.getOutEdges(currPath.getEnd());
-                //adds all an path for each edge that comes from the current node being processed
-                for(DataEdge<T,Double> currEdge : newEdges){
-                    if(!known.contains(currEdge.getDestination())){
-                        active.add(currPath.extend(currEdge.getDestination(),currEdge.getData()));
+            //entries for nodes that were later reached more cheaply are skipped
+            else if(!known.contains(curr.node) && curr.cost == dist.get(curr.node)){
+                Set<E> newEdges = graph.outEdgesView(curr.node);
+                //updates the shortest known path for each edge that comes from the current node being processed
+                for(E currEdge : newEdges){
+                    T next = currEdge.getDestination();
+                    double nextCost = curr.cost + WeightedEdge.weightOf(currEdge);
+                    Double nextDist = dist.get(next);
+                    if(!known.contains(next) && (nextDist == null || nextCost < nextDist)){
+                        dist.put(next, nextCost);
+                        parents.put(next, new Entry<>(curr.node, WeightedEdge.weightOf(currEdge)));
+                        active.add(new Entry<>(next, nextCost));
                     }
                 }
-                known.add(currPath.getEnd());
+                known.add(curr.node);
             }
         }
         return null;
     }
 
+    /**
+     * Performs Dijkstra's Algorithm to find the shortest path in <var>graph</var> between <var>start</var> and
+     * <var>dest</var>, using the int ids of the snapshot for bookkeeping.
+     * @param graph a CompactGraph to perform dijkstra's on
+     * @param start node to start from when performing dijkstra's
+     * @param dest targeted destination node
+     * @param <T> node type
+     * @spec.requires graph,start,dest != null AND graph.getNodes().contains(start) AND graph.getNodes().contains(dest)
+     * AND all edges of the graph are non-negative
+     * @return Path with type T that is the shortest path, in respected to the weights of edges between nodes,
+     * between <var>start</var> and <var>dest</var>.
+     * Will return null if no path can be found
+     * Will return an empty Path if start.equals(dest)
+     */
+    public static <T> Path<T> dijkstra(CompactGraph<T> graph, T start, T dest){
+        DijkstraSearch<T> search = threadSearch(graph, Heuristic.NONE);
+        int destId = graph.indexOf(dest);
+        if(!search.run(graph.indexOf(start), destId)){
+            return null;
+        }
+        return search.pathTo(destId);
+    }
+
+    /**
+     * Performs one Dijkstra's from <var>start</var> to find the shortest path to each of <var>dests</var>,
+     * stopping once all of them are reached instead of searching again for each one.
+     * @param graph a CompactGraph to perform dijkstra's on
+     * @param start node to start from when performing dijkstra's
+     * @param dests targeted destination nodes
+     * @param <T> node type
+     * @spec.requires graph,start,dests != null AND graph.getNodes().contains(start) AND
+     * graph.getNodes().containsAll(dests) AND all edges of the graph are non-negative
+     * @return a List whose i-th element is the shortest path between <var>start</var> and the i-th element of
+     * <var>dests</var>, or null if no path to it can be found
+     */
+    public static <T> List<Path<T>> dijkstraToAll(CompactGraph<T> graph, T start, List<T> dests){
+        DijkstraSearch<T> search = threadSearch(graph, Heuristic.NONE);
+        int[] destIds = idsOf(graph, dests);
+        search.runToAll(graph.indexOf(start), destIds);
+        List<Path<T>> paths = new ArrayList<>(destIds.length);
+        for(int destId : destIds){
+            paths.add(search.pathTo(destId));
+        }
+        return paths;
+    }
+
+    /**
+     * Performs one Dijkstra's from all of <var>starts</var> at once to find the shortest path from any of them to
+     * any of <var>dests</var>, stopping at the first destination reached instead of searching from each start to
+     * each destination.
+     * @param graph a CompactGraph to perform dijkstra's on
+     * @param starts nodes to start from when performing dijkstra's
+     * @param dests targeted destination nodes
+     * @param <T> node type
+     * @spec.requires graph,starts,dests != null AND starts is not empty AND graph.getNodes().containsAll(starts)
+     * AND graph.getNodes().containsAll(dests) AND all edges of the graph are non-negative
+     * @return Path with type T that is the shortest of the paths from any of <var>starts</var> to any of
+     * <var>dests</var>, which starts at one of <var>starts</var> and ends at one of <var>dests</var>.
+     * Will return null if no path can be found
+     * Will return an empty Path if <var>starts</var> and <var>dests</var> share a node
+     */
+    public static <T> Path<T> dijkstraBetweenAny(CompactGraph<T> graph, List<T> starts, List<T> dests){
+        DijkstraSearch<T> search = threadSearch(graph, Heuristic.NONE);
+        int closest = search.runToAny(idsOf(graph, starts), idsOf(graph, dests));
+        return closest == -1 ? null : search.pathTo(closest);
+    }
+
+    /**
+     * Finds the length of the shortest path from each of <var>starts</var> to each of <var>dests</var>, with one
+     * Dijkstra's from each start that stops once all of the destinations are reached.
+     * @param graph a CompactGraph to perform dijkstra's on
+     * @param starts nodes to start from
+     * @param dests targeted destination nodes
+     * @param <T> node type
+     * @spec.requires graph,starts,dests != null AND graph.getNodes().containsAll(starts) AND
+     * graph.getNodes().containsAll(dests) AND all edges of the graph are non-negative
+     * @return a table whose [i][j] entry is the length of the shortest path between the i-th element of
+     * <var>starts</var> and the j-th element of <var>dests</var>, or infinity if no path can be found
+     */
+    public static <T> double[][] distanceTable(CompactGraph<T> graph, List<T> starts, List<T> dests){
+        int[] destIds = idsOf(graph, dests);
+        DistanceSearch search = threadDistanceSearch(graph, Heuristic.NONE);
+        double[][] table = new double[starts.size()][destIds.length];
+        for(int i = 0; i < table.length; i++){
+            search.distances(graph.indexOf(starts.get(i)), destIds, table[i]);
+        }
+        return table;
+    }
+
+    /**
+     * Finds the length of the shortest path in <var>graph</var> between <var>start</var> and <var>dest</var>,
+     * without building the path or recording how each node was reached.
+     * @param graph a CompactGraph to search
+     * @param start node to start from
+     * @param dest targeted destination node
+     * @param heuristic consistent heuristic for <var>graph</var> to search as A* with, or Heuristic.NONE for
+     * Dijkstra's
+     * @param <T> node type
+     * @spec.requires graph,start,dest,heuristic != null AND graph.getNodes().contains(start) AND
+     * graph.getNodes().contains(dest) AND all edges of the graph are non-negative
+     * @return the length of the shortest path between <var>start</var> and <var>dest</var>, or infinity if no
+     * path can be found
+     */
+    public static <T> double shortestDistance(CompactGraph<T> graph, T start, T dest, Heuristic heuristic){
+        return threadDistanceSearch(graph, heuristic).distance(graph.indexOf(start), graph.indexOf(dest));
+    }
+
+    /**
+     * Finds the length of the shortest path in <var>graph</var> from <var>start</var> to each of
+     * <var>dests</var>, with one search that stops once all of them are reached and builds no paths.
+     * @param graph a CompactGraph to search
+     * @param start node to start from
+     * @param dests targeted destination nodes
+     * @param <T> node type
+     * @spec.requires graph,start,dests != null AND graph.getNodes().contains(start) AND
+     * graph.getNodes().containsAll(dests) AND all edges of the graph are non-negative
+     * @return an array whose i-th element is the length of the shortest path between <var>start</var> and the
+     * i-th element of <var>dests</var>, or infinity if no path to it can be found
+     */
+    public static <T> double[] shortestDistances(CompactGraph<T> graph, T start, List<T> dests){
+        int[] destIds = idsOf(graph, dests);
+        double[] distances = new double[destIds.length];
+        threadDistanceSearch(graph, Heuristic.NONE).distances(graph.indexOf(start), destIds, distances);
+        return distances;
+    }
+
+    //a search that keeps its state in the workspace of the current thread, so it allocates only the paths it builds
+    private static <T> DijkstraSearch<T> threadSearch(CompactGraph<T> graph, Heuristic heuristic){
+        return threadSearch(graph, heuristic, SearchLimits.NONE);
+    }
+
+    private static <T> DijkstraSearch<T> threadSearch(CompactGraph<T> graph, Heuristic heuristic, SearchLimits limits){
+        return new DijkstraSearch<>(graph, heuristic, SearchWorkspace.forThread(graph.nodeCount()), limits);
+    }
+
+    //a distance search that keeps its state in the workspace of the current thread
+    private static DistanceSearch threadDistanceSearch(CompactGraph<?> graph, Heuristic heuristic){
+        return new DistanceSearch(graph, heuristic, SearchWorkspace.forThread(graph.nodeCount()));
+    }
+
+    //ids of nodes in graph, in the same order
+    private static <T> int[] idsOf(CompactGraph<T> graph, List<T> nodes){
+        int[] ids = new int[nodes.size()];
+        for(int i = 0; i < ids.length; i++){
+            ids[i] = graph.indexOf(nodes.get(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Performs A* search to find the shortest path in <var>graph</var> between <var>start</var> and
+     * <var>dest</var>, exploring nodes in order of their distance from <var>start</var> plus the distance to
+     * <var>dest</var> estimated by <var>heuristic</var>.
+     * @param graph a CompactGraph to search
+     * @param start node to start from
+     * @param dest targeted destination node
+     * @param heuristic consistent heuristic for <var>graph</var>
+     * @param <T> node type
+     * @spec.requires graph,start,dest,heuristic != null AND graph.getNodes().contains(start) AND
+     * graph.getNodes().contains(dest) AND all edges of the graph are non-negative
+     * @return Path with type T that is the shortest path, in respected to the weights of edges between nodes,
+     * between <var>start</var> and <var>dest</var>.
+     * Will return null if no path can be found
+     * Will return an empty Path if start.equals(dest)
+     */
+    public static <T> Path<T> aStar(CompactGraph<T> graph, T start, T dest, Heuristic heuristic){
+        return aStar(graph, start, dest, heuristic, SearchLimits.NONE);
+    }
+
+    /**
+     * Performs A* search to find the shortest path in <var>graph</var> between <var>start</var> and
+     * <var>dest</var> like {@link #aStar(CompactGraph, Object, Object, Heuristic)}, giving up once the search
+     * reaches one of <var>limits</var>. With Heuristic.NONE, this is Dijkstra's algorithm.
+     * @param graph a CompactGraph to search
+     * @param start node to start from
+     * @param dest targeted destination node
+     * @param heuristic consistent heuristic for <var>graph</var>, or Heuristic.NONE
+     * @param limits bounds on the work of the search
+     * @param <T> node type
+     * @spec.requires graph,start,dest,heuristic,limits != null AND graph.getNodes().contains(start) AND
+     * graph.getNodes().contains(dest) AND all edges of the graph are non-negative
+     * @return Path with type T that is the shortest path, in respected to the weights of edges between nodes,
+     * between <var>start</var> and <var>dest</var>.
+     * Will return null if no path can be found
+     * Will return an empty Path if start.equals(dest)
+     * @throws SearchLimitExceededException if the search reaches one of <var>limits</var> before finding the path
+     */
+    public static <T> Path<T> aStar(CompactGraph<T> graph, T start, T dest, Heuristic heuristic, SearchLimits limits){
+        DijkstraSearch<T> search = threadSearch(graph, heuristic, limits);
+        int destId = graph.indexOf(dest);
+        if(!search.run(graph.indexOf(start), destId)){
+            return null;
+        }
+        return search.pathTo(destId);
+    }
+
+    /**
+     * Performs bidirectional Dijkstra's to find the shortest path in <var>graph</var> between <var>start</var> and
+     * <var>dest</var>, searching forward from <var>start</var> and backward from <var>dest</var> until the two
+     * searches meet.
+     * @param graph a CompactGraph to search
+     * @param start node to start from
+     * @param dest targeted destination node
+     * @param <T> node type
+     * @spec.requires graph,start,dest != null AND graph.getNodes().contains(start) AND graph.getNodes().contains(dest)
+     * AND all edges of the graph are non-negative
+     * @return Path with type T that is the shortest path, in respected to the weights of edges between nodes,
+     * between <var>start</var> and <var>dest</var>.
+     * Will return null if no path can be found
+     * Will return an empty Path if start.equals(dest)
+     */
+    public static <T> Path<T> bidirectionalDijkstra(CompactGraph<T> graph, T start, T dest){
+        BidirectionalSearch<T> search = new BidirectionalSearch<>(graph);
+        search.run(graph.indexOf(start), graph.indexOf(dest));
+        return search.path();
+    }
+
+    /**
+     * Finds the shortest path between <var>start</var> and <var>dest</var> in the graph <var>hierarchy</var> was
+     * built from, with an upward search from each end over the hierarchy. The path is unpacked to the edges of the
+     * graph.
+     * @param hierarchy the contraction hierarchy of the graph to search
+     * @param start node to start from
+     * @param dest targeted destination node
+     * @param <T> node type
+     * @spec.requires hierarchy,start,dest != null AND hierarchy.getGraph().getNodes().contains(start) AND
+     * hierarchy.getGraph().getNodes().contains(dest)
+     * @return Path with type T that is the shortest path, in respected to the weights of edges between nodes,
+     * between <var>start</var> and <var>dest</var>.
+     * Will return null if no path can be found
+     * Will return an empty Path if start.equals(dest)
+     */
+    public static <T> Path<T> contractionHierarchy(ContractionHierarchy<T> hierarchy, T start, T dest){
+        CompactGraph<T> graph = hierarchy.getGraph();
+        ContractionHierarchySearch<T> search = new ContractionHierarchySearch<>(hierarchy);
+        search.run(graph.indexOf(start), graph.indexOf(dest));
+        return search.path();
+    }
+
+    /**
+     * Finds up to <var>k</var> shortest paths between <var>start</var> and <var>dest</var> that visit no node
+     * twice, with Yen's algorithm, settling at most <var>maxSettled</var> nodes in all.
+     * @param graph a CompactGraph to search
+     * @param start node to start from
+     * @param dest targeted destination node
+     * @param k the most paths to find
+     * @param maxSettled the most nodes the searches for all of the paths may settle together
+     * @param <T> node type
+     * @spec.requires graph,start,dest != null AND graph.getNodes().contains(start) AND
+     * graph.getNodes().contains(dest) AND k &gt; 0 AND maxSettled &gt; 0 AND all edges of the graph are non-negative
+     * @return the shortest loopless paths between <var>start</var> and <var>dest</var> in order of cost, which are
+     * the k shortest unless there are fewer or the limit was reached first, in which case they are the shortest
+     * ones found before it was. Will be empty if no path can be found
+     */
+    public static <T> List<Path<T>> alternativeRoutes(CompactGraph<T> graph, T start, T dest, int k, int maxSettled){
+        AlternativeRouteSearch<T> search =
+                new AlternativeRouteSearch<>(graph, maxSettled, SearchWorkspace.forThread(graph.nodeCount()));
+        return search.run(graph.indexOf(start), graph.indexOf(dest), k);
+    }
+
+    /**
+     * Computes the shortest path from <var>start</var> to every node of <var>graph</var> with parallel
+     * delta-stepping on the common ForkJoinPool, for full trees of large graphs.
+     * @param graph a CompactGraph to search
+     * @param start node to start from
+     * @param <T> node type
+     * @spec.requires graph,start != null AND graph.getNodes().contains(start) AND all edges of the graph are
+     * non-negative
+     * @return the shortest path tree rooted at <var>start</var>, from which the distance and a path to each node
+     * can be read
+     */
+    public static <T> DeltaSteppingSearch<T> shortestPathTree(CompactGraph<T> graph, T start){
+        return shortestPathTree(graph, start, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the shortest path from <var>start</var> to every node of <var>graph</var> with parallel
+     * delta-stepping on <var>pool</var>, for full trees of large graphs.
+     * @param graph a CompactGraph to search
+     * @param start node to start from
+     * @param pool pool to relax edges on, whose parallelism is the number of threads used
+     * @param <T> node type
+     * @spec.requires graph,start,pool != null AND graph.getNodes().contains(start) AND all edges of the graph are
+     * non-negative
+     * @return the shortest path tree rooted at <var>start</var>, from which the distance and a path to each node
+     * can be read
+     */
+    public static <T> DeltaSteppingSearch<T> shortestPathTree(CompactGraph<T> graph, T start, ForkJoinPool pool){
+        DeltaSteppingSearch<T> search = new DeltaSteppingSearch<>(graph, DeltaSteppingSearch.defaultDelta(graph), pool);
+        search.run(graph.indexOf(start));
+        return search;
+    }
+
+    //builds the path to dest by following the last step of each shortest path back to start
+    private static <T> Path<T> buildPath(T start, T dest, Map<T, Entry<T>> parents){
+        List<T> ends = new ArrayList<>();
+        List<Double> costs = new ArrayList<>();
+        T curr = dest;
+        while(!curr.equals(start)){
+            Entry<T> step = parents.get(curr);
+            ends.add(curr);
+            costs.add(step.cost);
+            curr = step.node;
+        }
+        Collections.reverse(ends);
+        double[] segmentCosts = new double[costs.size()];
+        for(int i = 0; i < segmentCosts.length; i++){
+            segmentCosts[i] = costs.get(segmentCosts.length - 1 - i);
+        }
+        return Path.of(start, ends, segmentCosts);
+    }
+
+    //a node on the queue of dijkstra's with the cost to reach it, or the node before another node on its
+    //shortest known path with the cost of the step between them
+    private static class Entry<T> {
+        private final T node;
+        private final double cost;
+
+        private Entry(T node, double cost){
+            this.node = node;
+            this.cost = cost;
+        }
+    }
+
 }
@@ -0,0 +1,143 @@
+package pathfinder.datastructures;
+
+/**
+ * This represents a mutable Count-Min sketch that estimates how often each item has been seen, in memory that
+ * does not grow with the number of distinct items. Each item has a counter in each of 4 rows, picked by a
+ * different hash per row, and its estimate is the smallest of them: other items sharing a counter can only make
+ * an estimate too high, and the smallest counter is the one least shared. Only the smallest counters of an item
+ * are incremented (conservative update), which keeps shared counters from growing needlessly.
+ * <p>
+ * Like TinyLFU, every counter is halved once a number of items proportional to the width has been seen, so the
+ * estimates favor items seen recently over items that were popular long ago.
+ *
+ * @param <T> type of the items counted, whose hashCode is used to pick their counters
+ */
+public class FrequencySketch<T> {
+
+  // AF(this) = the estimated recent frequency of item x => the least of counters[row * width + index(x, row)]
+  //      over every row, where additions items have been seen since the counters were last halved
+
+  // Rep Invariant:
+  //      counters != null && width is a power of two && counters.length == DEPTH * width &&
+  //      every counter >= 0 && 0 <= additions < sampleSize
+
+  /**
+   * The number of rows of counters, each with its own hash.
+   */
+  private static final int DEPTH = 4;
+
+  /**
+   * The multiplier of the hash of each row, which are odd so that every bit of the hash code affects the index.
+   */
+  private static final long[] SEEDS = {
+    0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+  };
+
+  /**
+   * The counters of every row, one row after another.
+   */
+  private final int[] counters;
+
+  /**
+   * The number of counters in each row.
+   */
+  private final int width;
+
+  /**
+   * The number of items seen after which every counter is halved.
+   */
+  private final int sampleSize;
+
+  /**
+   * The number of items seen since the counters were last halved.
+   */
+  private int additions;
+
+  /**
+   * Creates a new sketch sized for about {@code expectedItems} distinct items, which have not been seen.
+   *
+   * @param expectedItems the number of distinct items that are expected to be counted
+   * @throws IllegalArgumentException if {@code expectedItems} is not positive
+   */
+  public FrequencySketch(int expectedItems) {
+    if(expectedItems <= 0) {
+      throw new IllegalArgumentException("Expected items must be positive.");
+    }
+    width = Integer.highestOneBit(Math.max(16, Math.min(expectedItems, 1 << 24)) * 2 - 1);
+    counters = new int[DEPTH * width];
+    sampleSize = 10 * width;
+    checkRep();
+  }
+
+  /**
+   * Records that {@code item} was seen once more.
+   *
+   * @param item the item seen
+   * @spec.requires item != null
+   * @spec.modifies this
+   * @spec.effects increases the estimate of item by one, and halves every estimate if enough items have been seen
+   */
+  public void increment(T item) {
+    int hash = item.hashCode();
+    int least = frequency(hash);
+    for(int row = 0; row < DEPTH; row++) {
+      int counter = row * width + index(hash, row);
+      if(counters[counter] == least) {
+        counters[counter]++;
+      }
+    }
+    additions++;
+    if(additions == sampleSize) {
+      age();
+    }
+    checkRep();
+  }
+
+  /**
+   * @param item an item
+   * @spec.requires item != null
+   * @return an estimate of how often {@code item} has been seen recently, which is never less than the true count
+   * since the counters were last halved
+   */
+  public int frequency(T item) {
+    return frequency(item.hashCode());
+  }
+
+  /**
+   * @return the number of counters in each row of this sketch
+   */
+  public int width() {
+    return width;
+  }
+
+  private int frequency(int hash) {
+    int least = Integer.MAX_VALUE;
+    for(int row = 0; row < DEPTH; row++) {
+      least = Math.min(least, counters[row * width + index(hash, row)]);
+    }
+    return least;
+  }
+
+  // the column of an item with hash code hash in row
+  private int index(int hash, int row) {
+    long mixed = (hash + SEEDS[row]) * SEEDS[row];
+    return (int) (mixed >>> 32) & (width - 1);
+  }
+
+  // halves every counter, so that items seen long ago weigh less than items seen recently
+  private void age() {
+    for(int i = 0; i < counters.length; i++) {
+      counters[i] >>>= 1;
+    }
+    additions /= 2;
+  }
+
+  /**
+   * Ensures that the representation invariant has not been violated. Returns normally if
+   * there is no violation.
+   */
+  private void checkRep() {
+    assert counters != null && Integer.bitCount(width) == 1 && counters.length == DEPTH * width;
+    assert additions >= 0 && additions < sampleSize;
+  }
+}
@@ -0,0 +1,229 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * This represents a mutable min-priority queue of int ids in the range [0, capacity), each with a double key.
+ * Unlike {@link java.util.PriorityQueue}, an id is in the queue at most once and its key can be decreased in
+ * place, so a search never has to skip over stale entries. The ids are kept in a d-ary heap: a higher arity
+ * makes the heap shallower, so inserts and decreases are cheaper and removals compare more children per level.
+ */
+public class IndexedHeap implements IndexedPriorityQueue {
+
+  // AF(this) =
+  //      the ids in the queue => heap[0..size-1]
+  //      the key of id v => keys[v] if position[v] != -1
+  //      the id with the smallest key => heap[0]
+
+  // Rep Invariant:
+  //      heap, position, keys != null &&
+  //      0 <= size <= heap.length &&
+  //      position[heap[i]] == i for all 0 <= i < size &&
+  //      position[v] == -1 for every id v not in heap[0..size-1] &&
+  //      arity >= 2 &&
+  //      keys[heap[(i - 1) / arity]] <= keys[heap[i]] for all 0 < i < size
+
+  /**
+   * The ids in the queue, arranged as a d-ary heap by key, where the children of heap[i] are the {@code arity}
+   * ids heap[arity * i + 1] through heap[arity * i + arity].
+   */
+  private final int[] heap;
+
+  /**
+   * The index in heap of each id, or -1 if the id is not in the queue.
+   */
+  private final int[] position;
+
+  /**
+   * The key of each id in the queue.
+   */
+  private final double[] keys;
+
+  /**
+   * The number of children of each entry of the heap.
+   */
+  private final int arity;
+
+  /**
+   * The number of ids in the queue.
+   */
+  private int size;
+
+  /**
+   * Creates a new, empty binary heap that can hold the ids 0 to {@code capacity - 1}.
+   *
+   * @param capacity one more than the largest id that can be added
+   */
+  public IndexedHeap(int capacity) {
+    this(capacity, 2);
+  }
+
+  /**
+   * Creates a new, empty heap in which each entry has {@code arity} children, that can hold the ids 0 to
+   * {@code capacity - 1}.
+   *
+   * @param capacity one more than the largest id that can be added
+   * @param arity    the number of children of each entry
+   * @throws IllegalArgumentException if {@code arity} is less than 2
+   */
+  public IndexedHeap(int capacity, int arity) {
+    if(arity < 2) {
+      throw new IllegalArgumentException("Heap arity must be at least 2.");
+    }
+    this.arity = arity;
+    heap = new int[capacity];
+    position = new int[capacity];
+    keys = new double[capacity];
+    Arrays.fill(position, -1);
+    checkRep();
+  }
+
+  /**
+   * @return {@literal true} iff no ids are in this queue
+   */
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return the number of ids in this queue
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param id an id in [0, capacity)
+   * @return {@literal true} iff {@code id} is in this queue
+   */
+  @Override
+  public boolean contains(int id) {
+    return position[id] != -1;
+  }
+
+  /**
+   * @param id an id in this queue
+   * @return the key of {@code id}
+   */
+  @Override
+  public double keyOf(int id) {
+    return keys[id];
+  }
+
+  /**
+   * Adds {@code id} with key {@code key}, or lowers its key to {@code key} if it is already in this queue
+   * with a larger key.
+   *
+   * @param id  an id in [0, capacity)
+   * @param key the key to give {@code id}
+   * @return {@literal true} iff {@code id} was added or its key was lowered
+   */
+  @Override
+  public boolean insertOrDecrease(int id, double key) {
+    int index = position[id];
+    if(index == -1) {
+      index = size++;
+      heap[index] = id;
+      position[id] = index;
+    } else if(key >= keys[id]) {
+      return false;
+    }
+    keys[id] = key;
+    siftUp(index);
+    return true;
+  }
+
+  /**
+   * @return the smallest key in this queue
+   * @spec.requires !isEmpty()
+   */
+  @Override
+  public double peekKey() {
+    return keys[heap[0]];
+  }
+
+  /**
+   * Removes the id with the smallest key from this queue.
+   *
+   * @return the id that had the smallest key
+   * @spec.requires !isEmpty()
+   */
+  @Override
+  public int removeMin() {
+    int min = heap[0];
+    position[min] = -1;
+    size--;
+    if(size > 0) {
+      heap[0] = heap[size];
+      position[heap[0]] = 0;
+      siftDown(0);
+    }
+    return min;
+  }
+
+  /**
+   * Removes every id from this queue.
+   */
+  @Override
+  public void clear() {
+    for(int i = 0; i < size; i++) {
+      position[heap[i]] = -1;
+    }
+    size = 0;
+  }
+
+  private void siftUp(int index) {
+    int id = heap[index];
+    double key = keys[id];
+    while(index > 0) {
+      int parent = (index - 1) / arity;
+      if(keys[heap[parent]] <= key) {
+        break;
+      }
+      move(heap[parent], index);
+      index = parent;
+    }
+    move(id, index);
+  }
+
+  private void siftDown(int index) {
+    int id = heap[index];
+    double key = keys[id];
+    while(true) {
+      int first = arity * index + 1;
+      if(first >= size) {
+        break;
+      }
+      //the child with the smallest key, preferring the first of equal keys
+      int child = first;
+      int last = Math.min(first + arity, size);
+      for(int other = first + 1; other < last; other++) {
+        if(keys[heap[other]] < keys[heap[child]]) {
+          child = other;
+        }
+      }
+      if(key <= keys[heap[child]]) {
+        break;
+      }
+      move(heap[child], index);
+      index = child;
+    }
+    move(id, index);
+  }
+
+  private void move(int id, int index) {
+    heap[index] = id;
+    position[id] = index;
+  }
+
+  /**
+   * Ensures that the representation invariant has not been violated. Returns normally if
+   * there is no violation.
+   */
+  private void checkRep() {
+    assert heap != null && position != null && keys != null;
+    assert size >= 0 && size <= heap.length && arity >= 2;
+  }
+}
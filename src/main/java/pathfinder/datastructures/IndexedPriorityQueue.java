@@ -0,0 +1,60 @@
+package pathfinder.datastructures;
+
+/**
+ * This represents a mutable min-priority queue of int ids in the range [0, capacity), each with a double key,
+ * where an id is in the queue at most once and its key can be decreased in place. Shortest path searches keep
+ * their frontier in one, so that the queue can be chosen to suit the graph.
+ */
+public interface IndexedPriorityQueue {
+
+  /**
+   * @return {@literal true} iff no ids are in this queue
+   */
+  boolean isEmpty();
+
+  /**
+   * @return the number of ids in this queue
+   */
+  int size();
+
+  /**
+   * @param id an id in [0, capacity)
+   * @return {@literal true} iff {@code id} is in this queue
+   */
+  boolean contains(int id);
+
+  /**
+   * @param id an id in this queue
+   * @return the key of {@code id}
+   */
+  double keyOf(int id);
+
+  /**
+   * Adds {@code id} with key {@code key}, or lowers its key to {@code key} if it is already in this queue
+   * with a larger key.
+   *
+   * @param id  an id in [0, capacity)
+   * @param key the key to give {@code id}
+   * @return {@literal true} iff {@code id} was added or its key was lowered
+   */
+  boolean insertOrDecrease(int id, double key);
+
+  /**
+   * @return the smallest key in this queue
+   * @spec.requires !isEmpty()
+   */
+  double peekKey();
+
+  /**
+   * Removes the id with the smallest key from this queue.
+   *
+   * @return the id that had the smallest key
+   * @spec.requires !isEmpty()
+   */
+  int removeMin();
+
+  /**
+   * Removes every id from this queue.
+   */
+  void clear();
+}
@@ -54,6 +54,33 @@ public class Path<T> implements Iterable<Path<T>.Segment> {
     checkRep();
   }
 
+  /**
+   * Creates a path from {@code start} through each node of {@code ends} in order, where the segment ending at
+   * {@code ends.get(i)} has a cost of {@code segmentCosts[i]}. The result is equal to, and has the same cost as,
+   * the path made by calling {@link Path#extend(Object, double)} once for each node, but is built without
+   * copying the path at each step.
+   *
+   * @param start        The starting node with type T of the path.
+   * @param ends         The node at the end of each segment, in order from the start.
+   * @param segmentCosts The cost of each segment, in the same order as {@code ends}.
+   * @param <T>          node type
+   * @return A new path from {@code start} through all of {@code ends}.
+   * @spec.requires start, ends != null AND ends does not contain null AND
+   *                segmentCosts.length == ends.size() AND all nodes are immutable or never modified
+   */
+  public static <T> Path<T> of(T start, List<T> ends, double[] segmentCosts) {
+    Path<T> result = new Path<>(start);
+    result.path = new ArrayList<>(ends.size());
+    T segmentStart = start;
+    for(int i = 0; i < ends.size(); i++) {
+      result.path.add(result.new Segment(segmentStart, ends.get(i), segmentCosts[i]));
+      result.cost = result.cost + segmentCosts[i];
+      segmentStart = ends.get(i);
+    }
+    result.checkRep();
+    return result;
+  }
+
   /**
    * Appends a new single segment to the end of this path, originating at the current last node
    * in this path and terminating at {@code newEnd}. The cost of adding this additional segment
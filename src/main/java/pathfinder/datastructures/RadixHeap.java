@@ -0,0 +1,227 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * This represents a mutable min-priority queue of int ids in the range [0, capacity), each with a non-negative
+ * double key, for monotone use: no key may be smaller than the last key removed, which is the case for the
+ * frontier of Dijkstra's algorithm over non-negative edges. The bits of a non-negative double sort in the same
+ * order as its value, so ids are kept in 65 buckets by the highest bit where their key differs from the last key
+ * removed. A removal only looks inside the lowest non-empty bucket and spreads its ids over the buckets below it,
+ * and each id moves down at most 64 times, so no comparisons between keys are needed to keep order.
+ */
+public class RadixHeap implements IndexedPriorityQueue {
+
+  // AF(this) =
+  //      the ids in the queue => the ids in buckets[b][0..bucketSize[b]-1] for every b
+  //      the key of id v => keys[v] if bucket[v] != -1, whose bits are keyBits[v]
+  //      the smallest key that can still be added => the double whose bits are last
+
+  // Rep Invariant:
+  //      keys, bucket, slot, buckets, bucketSize != null && buckets.length == bucketSize.length == 65 &&
+  //      for every id v in bucket b at index i: bucket[v] == b && slot[v] == i &&
+  //          b == bucketOf(bits of keys[v]) && bits of keys[v] >= last &&
+  //      bucket[v] == -1 for every id v not in the queue &&
+  //      size == sum of bucketSize
+
+  /**
+   * Number of buckets: one for keys equal to last, and one for each bit a key can first differ from it in.
+   */
+  private static final int BUCKETS = 65;
+
+  /**
+   * The key of each id in the queue.
+   */
+  private final double[] keys;
+
+  /**
+   * The bits of the key of each id in the queue.
+   */
+  private final long[] keyBits;
+
+  /**
+   * The bucket of each id, or -1 if the id is not in the queue.
+   */
+  private final int[] bucket;
+
+  /**
+   * The index of each id within its bucket.
+   */
+  private final int[] slot;
+
+  /**
+   * The ids in each bucket, in no particular order.
+   */
+  private final int[][] buckets;
+
+  /**
+   * The number of ids in each bucket.
+   */
+  private final int[] bucketSize;
+
+  /**
+   * The bits of the last key removed, which every key in the queue is at least.
+   */
+  private long last;
+
+  /**
+   * The number of ids in the queue.
+   */
+  private int size;
+
+  /**
+   * Creates a new, empty queue that can hold the ids 0 to {@code capacity - 1}.
+   *
+   * @param capacity one more than the largest id that can be added
+   */
+  public RadixHeap(int capacity) {
+    keys = new double[capacity];
+    keyBits = new long[capacity];
+    bucket = new int[capacity];
+    slot = new int[capacity];
+    buckets = new int[BUCKETS][8];
+    bucketSize = new int[BUCKETS];
+    Arrays.fill(bucket, -1);
+    checkRep();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean contains(int id) {
+    return bucket[id] != -1;
+  }
+
+  @Override
+  public double keyOf(int id) {
+    return keys[id];
+  }
+
+  /**
+   * Adds {@code id} with key {@code key}, or lowers its key to {@code key} if it is already in this queue
+   * with a larger key.
+   *
+   * @param id  an id in [0, capacity)
+   * @param key the key to give {@code id}
+   * @spec.requires {@code key} is not smaller than the last key removed since this was created or cleared, and
+   *     not negative
+   * @return {@literal true} iff {@code id} was added or its key was lowered
+   */
+  @Override
+  public boolean insertOrDecrease(int id, double key) {
+    if(bucket[id] != -1) {
+      if(key >= keys[id]) {
+        return false;
+      }
+      detach(id);
+    } else {
+      size++;
+    }
+    long bits = bitsOf(key);
+    assert bits >= last : "key " + key + " is smaller than the last key removed";
+    keys[id] = key;
+    keyBits[id] = bits;
+    attach(id, bucketOf(bits));
+    return true;
+  }
+
+  @Override
+  public double peekKey() {
+    fillFirstBucket();
+    return keys[buckets[0][0]];
+  }
+
+  @Override
+  public int removeMin() {
+    fillFirstBucket();
+    int min = buckets[0][bucketSize[0] - 1];
+    detach(min);
+    bucket[min] = -1;
+    size--;
+    return min;
+  }
+
+  /**
+   * Removes every id from this queue, after which keys of any size may be added again.
+   */
+  @Override
+  public void clear() {
+    for(int b = 0; b < BUCKETS; b++) {
+      for(int i = 0; i < bucketSize[b]; i++) {
+        bucket[buckets[b][i]] = -1;
+      }
+      bucketSize[b] = 0;
+    }
+    size = 0;
+    last = 0;
+  }
+
+  // if the first bucket is empty, makes the smallest key in the queue the new last key, which moves every id
+  // with that key into the first bucket
+  private void fillFirstBucket() {
+    if(bucketSize[0] > 0) {
+      return;
+    }
+    int lowest = 1;
+    while(bucketSize[lowest] == 0) {
+      lowest++;
+    }
+    int[] ids = buckets[lowest];
+    int count = bucketSize[lowest];
+    long min = Long.MAX_VALUE;
+    for(int i = 0; i < count; i++) {
+      min = Math.min(min, keyBits[ids[i]]);
+    }
+    last = min;
+    // every id of the bucket agrees with the new last key on more bits, so it moves to a lower bucket
+    bucketSize[lowest] = 0;
+    for(int i = 0; i < count; i++) {
+      int id = ids[i];
+      attach(id, bucketOf(keyBits[id]));
+    }
+  }
+
+  private int bucketOf(long bits) {
+    return bits == last ? 0 : 64 - Long.numberOfLeadingZeros(bits ^ last);
+  }
+
+  // the bits of a non-negative key, with -0.0 treated as 0.0 so that it sorts first
+  private static long bitsOf(double key) {
+    return Double.doubleToRawLongBits(key + 0.0);
+  }
+
+  private void attach(int id, int b) {
+    if(bucketSize[b] == buckets[b].length) {
+      buckets[b] = Arrays.copyOf(buckets[b], buckets[b].length * 2);
+    }
+    bucket[id] = b;
+    slot[id] = bucketSize[b];
+    buckets[b][bucketSize[b]++] = id;
+  }
+
+  // takes id out of its bucket by moving the last id of the bucket into its place
+  private void detach(int id) {
+    int b = bucket[id];
+    int moved = buckets[b][--bucketSize[b]];
+    buckets[b][slot[id]] = moved;
+    slot[moved] = slot[id];
+  }
+
+  /**
+   * Ensures that the representation invariant has not been violated. Returns normally if
+   * there is no violation.
+   */
+  private void checkRep() {
+    assert keys != null && keyBits != null && bucket != null && slot != null;
+    assert buckets != null && buckets.length == BUCKETS && bucketSize.length == BUCKETS;
+    assert size >= 0;
+  }
+}
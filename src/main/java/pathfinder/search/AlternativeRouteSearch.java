@@ -0,0 +1,295 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.IndexedPriorityQueue;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * <b>AlternativeRouteSearch</b> finds the k shortest loopless paths between two nodes of a CompactGraph with Yen's
+ * algorithm. Each route after the first is the shortest of the candidates made by leaving an earlier route at one
+ * of its nodes (the spur) and searching from there to the target without the nodes before the spur or the edges
+ * to the nodes that earlier routes sharing that prefix went to next. Routes are told apart by the nodes they visit,
+ * so parallel edges do not make alternatives.
+ * <p>
+ * Rather than searching from scratch for each spur, one search backwards from the target first records the
+ * distance from each node to the target. That distance can only grow when nodes and edges are left out, so it is
+ * an exact A* heuristic for every spur search, which then settles little more than the path it finds. All searches
+ * share one SearchWorkspace, and their settled nodes count towards a limit, so a query does a bounded amount of
+ * work and returns the routes found before reaching it. An AlternativeRouteSearch is used for one query.
+ *
+ * @param <T> node type of the graph
+ */
+public class AlternativeRouteSearch<T> {
+
+    //graph being searched
+    private final CompactGraph<T> graph;
+    //distances and settled nodes of the search running, with the nodes left out of a spur search marked
+    private final SearchWorkspace workspace;
+    //most nodes all the searches of this may settle together
+    private final int maxSettled;
+    //number of nodes settled so far
+    private int settledCount;
+    //true iff a search stopped because maxSettled nodes were settled
+    private boolean truncated;
+
+    //  Abstraction Function:
+    //      AF(this) = a search for alternative routes in graph that has settled settledCount of at most maxSettled
+    //          nodes, and stopped early iff truncated
+    //
+    //  Rep Invariant:
+    //      graph, workspace != null && maxSettled > 0 && (truncated implies settledCount >= maxSettled)
+
+    /**
+     * @spec.effects Constructs a new search for alternative routes in <var>graph</var> that settles at most
+     *      <var>maxSettled</var> nodes, and keeps its state in <var>workspace</var>
+     * @param graph graph to search
+     * @param maxSettled most nodes the search may settle, counting every search it runs
+     * @param workspace workspace to search in, such as {@link SearchWorkspace#forThread}
+     * @spec.requires graph, workspace != null AND maxSettled &gt; 0 AND all edges of graph are non-negative AND
+     *      workspace can hold graph.nodeCount() nodes AND no other search uses workspace until this has run
+     */
+    public AlternativeRouteSearch(CompactGraph<T> graph, int maxSettled, SearchWorkspace workspace){
+        this.graph = graph;
+        this.maxSettled = maxSettled;
+        this.workspace = workspace;
+        checkRep();
+    }
+
+    /**
+     * Finds up to <var>k</var> shortest paths from <var>source</var> to <var>target</var> that visit no node twice
+     *
+     * @param source id of the node the routes start at
+     * @param target id of the node the routes end at
+     * @param k the most routes to find
+     * @spec.requires this has not been run AND source and target are node ids of the graph AND k &gt; 0
+     * @spec.modifies this
+     * @return the shortest loopless paths from <var>source</var> to <var>target</var> in order of cost, which are
+     *      the k shortest unless there are fewer or the search was truncated, in which case they are the shortest
+     *      ones found before it stopped
+     */
+    public List<Path<T>> run(int source, int target, int k){
+        List<Path<T>> paths = new ArrayList<>();
+        double[] toTarget = distancesTo(target, source);
+        if(toTarget == null){
+            return paths;
+        }
+        List<Route> accepted = new ArrayList<>();
+        PriorityQueue<Route> candidates = new PriorityQueue<>(Comparator.comparingDouble(route -> route.cost));
+        Set<Route> seen = new HashSet<>();
+        Route first = spur(new Route(graph, new int[0], 0), 0, source, target, toTarget, accepted);
+        if(first == null){
+            return paths;
+        }
+        accepted.add(first);
+        seen.add(first);
+        while(accepted.size() < k){
+            Route last = accepted.get(accepted.size() - 1);
+            for(int j = 0; j < last.edges.length; j++){
+                Route candidate = spur(last, j, source, target, toTarget, accepted);
+                if(truncated){
+                    //a spur that was not searched could have held a shorter route than any candidate
+                    return toPaths(accepted, source);
+                }
+                if(candidate != null && seen.add(candidate)){
+                    candidates.add(candidate);
+                }
+            }
+            if(candidates.isEmpty()){
+                break;
+            }
+            accepted.add(candidates.remove());
+        }
+        return toPaths(accepted, source);
+    }
+
+    //searches backwards from target until source is settled, and returns the distance from each node to target
+    //if it was settled, and the distance from source otherwise, which is no more than its distance to target as
+    //every settled node is closer. Returns null if source cannot reach target or the search was truncated
+    private double[] distancesTo(int target, int source){
+        CompactGraph<T> reverse = graph.reverse();
+        workspace.begin(reverse.nodeCount());
+        workspace.reach(target, 0, -1, -1);
+        IndexedPriorityQueue frontier = workspace.frontier();
+        frontier.insertOrDecrease(target, 0);
+        while(!frontier.isEmpty() && !workspace.isSettled(source)){
+            if(settledCount == maxSettled){
+                truncated = true;
+                return null;
+            }
+            int node = frontier.removeMin();
+            workspace.settle(node);
+            settledCount++;
+            double nodeDist = workspace.dist(node);
+            for(int e = reverse.edgeStart(node); e < reverse.edgeEnd(node); e++){
+                int next = reverse.target(e);
+                double nextDist = nodeDist + reverse.weight(e);
+                if(!workspace.isSettled(next) && nextDist < workspace.dist(next)){
+                    workspace.reach(next, nextDist, node, e);
+                    frontier.insertOrDecrease(next, nextDist);
+                }
+            }
+        }
+        if(!workspace.isSettled(source)){
+            return null;
+        }
+        double radius = workspace.dist(source);
+        double[] toTarget = new double[graph.nodeCount()];
+        for(int v = 0; v < toTarget.length; v++){
+            toTarget[v] = workspace.isSettled(v) ? workspace.dist(v) : radius;
+        }
+        return toTarget;
+    }
+
+    //finds the shortest route that starts with the first rootLength edges of last and leaves them at their end
+    //(the spur node) for a node no accepted route with the same start goes to next, without visiting a node of the
+    //root again. Returns null if there is none or the search was truncated
+    private Route spur(Route last, int rootLength, int source, int target, double[] toTarget, List<Route> accepted){
+        int[] root = last.edges;
+        int spurNode = rootLength == 0 ? source : last.nodes[rootLength - 1];
+        workspace.begin(graph.nodeCount());
+        //the root nodes before the spur node are left out, so the route cannot loop back to them
+        double rootCost = 0;
+        int rootNode = source;
+        for(int i = 0; i < rootLength; i++){
+            workspace.mark(rootNode);
+            rootCost += graph.weight(root[i]);
+            rootNode = graph.target(root[i]);
+        }
+        int[] banned = new int[accepted.size()];
+        int bannedCount = 0;
+        for(Route route : accepted){
+            if(route.edges.length > rootLength && route.startsWith(last, rootLength)){
+                banned[bannedCount++] = route.nodes[rootLength];
+            }
+        }
+        workspace.reach(spurNode, 0, -1, -1);
+        IndexedPriorityQueue frontier = workspace.frontier();
+        frontier.insertOrDecrease(spurNode, toTarget[spurNode]);
+        while(!frontier.isEmpty()){
+            if(settledCount == maxSettled){
+                truncated = true;
+                return null;
+            }
+            int node = frontier.removeMin();
+            workspace.settle(node);
+            settledCount++;
+            if(node == target){
+                return buildRoute(root, rootLength, rootCost, spurNode, target);
+            }
+            double nodeDist = workspace.dist(node);
+            for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){
+                int next = graph.target(e);
+                double nextDist = nodeDist + graph.weight(e);
+                if(!workspace.isMarked(next) && !workspace.isSettled(next) && nextDist < workspace.dist(next)
+                        && !(node == spurNode && contains(banned, bannedCount, next))){
+                    workspace.reach(next, nextDist, node, e);
+                    frontier.insertOrDecrease(next, nextDist + toTarget[next]);
+                }
+            }
+        }
+        return null;
+    }
+
+    //joins the first rootLength edges of root to the edges of the search tree path from spurNode to target
+    private Route buildRoute(int[] root, int rootLength, double rootCost, int spurNode, int target){
+        int spurLength = 0;
+        for(int curr = target; curr != spurNode; curr = workspace.parent(curr)){
+            spurLength++;
+        }
+        int[] edges = Arrays.copyOf(root, rootLength + spurLength);
+        int curr = target;
+        for(int i = edges.length - 1; i >= rootLength; i--){
+            edges[i] = workspace.parentEdge(curr);
+            curr = workspace.parent(curr);
+        }
+        return new Route(graph, edges, rootCost + workspace.dist(target));
+    }
+
+    private static boolean contains(int[] values, int count, int value){
+        for(int i = 0; i < count; i++){
+            if(values[i] == value){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Path<T>> toPaths(List<Route> routes, int source){
+        List<Path<T>> paths = new ArrayList<>(routes.size());
+        for(Route route : routes){
+            List<T> ends = new ArrayList<>(Collections.nCopies(route.edges.length, null));
+            double[] costs = new double[route.edges.length];
+            for(int i = 0; i < route.edges.length; i++){
+                ends.set(i, graph.nodeAt(graph.target(route.edges[i])));
+                costs[i] = graph.weight(route.edges[i]);
+            }
+            paths.add(Path.of(graph.nodeAt(source), ends, costs));
+        }
+        return paths;
+    }
+
+    /**
+     * @return the number of nodes settled by all the searches of this
+     */
+    public int settledCount(){
+        return settledCount;
+    }
+
+    /**
+     * @return true iff this stopped searching because it settled as many nodes as it may
+     */
+    public boolean isTruncated(){
+        return truncated;
+    }
+
+    private void checkRep(){
+        assert graph != null && workspace != null && maxSettled > 0;
+        assert !truncated || settledCount >= maxSettled;
+    }
+
+    /**
+     * A route from the source as the ids of its edges, which is equal to another that visits the same nodes.
+     */
+    private static class Route {
+
+        //edges of the route in order
+        private final int[] edges;
+        //node each edge ends at
+        private final int[] nodes;
+        //sum of the weights of edges
+        private final double cost;
+
+        private Route(CompactGraph<?> graph, int[] edges, double cost){
+            this.edges = edges;
+            this.cost = cost;
+            nodes = new int[edges.length];
+            for(int i = 0; i < edges.length; i++){
+                nodes[i] = graph.target(edges[i]);
+            }
+        }
+
+        //true iff the first length nodes this visits after the source are the first length nodes other visits
+        private boolean startsWith(Route other, int length){
+            return Arrays.equals(nodes, 0, length, other.nodes, 0, length);
+        }
+
+        @Override
+        public boolean equals(Object other){
+            return other instanceof Route && Arrays.equals(nodes, ((Route) other).nodes);
+        }
+
+        @Override
+        public int hashCode(){
+            return Arrays.hashCode(nodes);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.IndexedHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <b>BidirectionalSearch</b> finds a shortest path between two nodes of a CompactGraph by running Dijkstra's
+ * algorithm forward from the source and backward from the target at the same time, over the reverse of the graph
+ * so that directed edges are only followed the way they point. The search stops once no path through the two
+ * frontiers can be shorter than the best path seen where they touch, which on maps that spread out in every
+ * direction settles about half as many nodes as a one-sided search. A BidirectionalSearch is used for one search.
+ *
+ * @param <T> node type of the graph
+ */
+public class BidirectionalSearch<T> {
+
+    //graph being searched
+    private final CompactGraph<T> graph;
+    //search from the source over graph
+    private final Side forward;
+    //search from the target over the reverse of graph
+    private final Side backward;
+    //length of the shortest path found so far
+    private double best;
+    //node where the shortest path found so far passes from the forward side to the backward side, or -1
+    private int meeting;
+
+    //  Abstraction Function:
+    //      AF(this) = a search whose shortest path found so far is the forward tree path from the source to
+    //          meeting followed by the reversed backward tree path from meeting to the target, of cost best,
+    //          or no path if meeting == -1
+    //
+    //  Rep Invariant:
+    //      graph, forward, backward != null &&
+    //      meeting == -1 iff best is infinite &&
+    //      meeting != -1 implies forward.dist[meeting] + backward.dist[meeting] == best
+
+    /**
+     * @spec.effects Constructs a new search over <var>graph</var> that has not been started
+     * @param graph graph to search
+     * @spec.requires graph != null AND all edges of graph are non-negative
+     */
+    public BidirectionalSearch(CompactGraph<T> graph){
+        this.graph = graph;
+        forward = new Side(graph);
+        backward = new Side(graph.reverse());
+        best = Double.POSITIVE_INFINITY;
+        meeting = -1;
+        checkRep();
+    }
+
+    /**
+     * Searches for a shortest path from <var>source</var> to <var>target</var>
+     *
+     * @param source id of the node to search from
+     * @param target id of the node to search to
+     * @spec.requires this has not been run AND source and target are node ids of the graph
+     * @spec.modifies this
+     * @return true iff <var>target</var> is reachable from <var>source</var>
+     */
+    public boolean run(int source, int target){
+        forward.start(source);
+        backward.start(target);
+        if(source == target){
+            best = 0;
+            meeting = source;
+            return true;
+        }
+        //each round expands the side with the smaller frontier, until neither frontier can lead to a shorter path
+        while(!forward.frontier.isEmpty() && !backward.frontier.isEmpty()
+                && forward.frontier.peekKey() + backward.frontier.peekKey() < best){
+            if(forward.frontier.size() <= backward.frontier.size()){
+                expand(forward, backward);
+            } else {
+                expand(backward, forward);
+            }
+        }
+        checkRep();
+        return meeting != -1;
+    }
+
+    //settles the next node of side, and records any shorter path that joins the other side through its edges
+    private void expand(Side side, Side other){
+        int node = side.settleNext();
+        double nodeDist = side.dist[node];
+        CompactGraph<?> sideGraph = side.graph;
+        for(int e = sideGraph.edgeStart(node); e < sideGraph.edgeEnd(node); e++){
+            int next = sideGraph.target(e);
+            double nextDist = nodeDist + sideGraph.weight(e);
+            side.relax(node, e, next, nextDist);
+            double through = nextDist + other.dist[next];
+            if(through < best){
+                best = through;
+                meeting = next;
+            }
+        }
+    }
+
+    /**
+     * @return the number of nodes settled by this search, on both sides
+     */
+    public int settledCount(){
+        return forward.settledCount + backward.settledCount;
+    }
+
+    /**
+     * @return the length of the shortest path, or infinity if there is none
+     * @spec.requires this has been run
+     */
+    public double distance(){
+        return best;
+    }
+
+    /**
+     * Builds the shortest path found by this search
+     *
+     * @spec.requires this has been run
+     * @return the shortest Path from the source to the target, or null if there is none
+     */
+    public Path<T> path(){
+        if(meeting == -1){
+            return null;
+        }
+        List<T> ends = new ArrayList<>();
+        List<Double> costs = new ArrayList<>();
+        //the forward tree gives the path from the source to meeting, last step first
+        int curr = meeting;
+        while(forward.parentEdge[curr] != -1){
+            ends.add(graph.nodeAt(curr));
+            costs.add(graph.weight(forward.parentEdge[curr]));
+            curr = forward.parent[curr];
+        }
+        int source = curr;
+        Collections.reverse(ends);
+        Collections.reverse(costs);
+        //the backward tree gives the path from meeting to the target, first step first
+        curr = meeting;
+        while(backward.parentEdge[curr] != -1){
+            costs.add(backward.graph.weight(backward.parentEdge[curr]));
+            curr = backward.parent[curr];
+            ends.add(graph.nodeAt(curr));
+        }
+        double[] segmentCosts = new double[costs.size()];
+        for(int i = 0; i < segmentCosts.length; i++){
+            segmentCosts[i] = costs.get(i);
+        }
+        return Path.of(graph.nodeAt(source), ends, segmentCosts);
+    }
+
+    private void checkRep(){
+        assert graph != null && forward != null && backward != null;
+        assert (meeting == -1) == Double.isInfinite(best);
+    }
+
+    /**
+     * One direction of the search: Dijkstra's algorithm over either the graph or its reverse.
+     */
+    private static class Side {
+        //graph this side searches, where a tree edge into v is parentEdge[v] from parent[v]
+        private final CompactGraph<?> graph;
+        private final double[] dist;
+        private final int[] parent;
+        private final int[] parentEdge;
+        private final boolean[] settled;
+        private final IndexedHeap frontier;
+        private int settledCount;
+
+        private Side(CompactGraph<?> graph){
+            this.graph = graph;
+            int nodes = graph.nodeCount();
+            dist = new double[nodes];
+            parent = new int[nodes];
+            parentEdge = new int[nodes];
+            settled = new boolean[nodes];
+            frontier = new IndexedHeap(nodes);
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(parent, -1);
+            Arrays.fill(parentEdge, -1);
+        }
+
+        private void start(int root){
+            dist[root] = 0;
+            frontier.insertOrDecrease(root, 0);
+        }
+
+        private int settleNext(){
+            int node = frontier.removeMin();
+            settled[node] = true;
+            settledCount++;
+            return node;
+        }
+
+        private void relax(int node, int edge, int next, double nextDist){
+            if(!settled[next] && nextDist < dist[next]){
+                dist[next] = nextDist;
+                parent[next] = node;
+                parentEdge[next] = edge;
+                frontier.insertOrDecrease(next, nextDist);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package pathfinder.search;
+
+/**
+ * A <b>CancellationToken</b> lets one thread ask searches running on other threads to stop. Searches given it
+ * through {@link SearchLimits#withCancellation} check it as they run and give up soon after it is cancelled. Once
+ * cancelled, a token stays cancelled. It is safe to share between threads.
+ */
+public class CancellationToken {
+
+    //true once cancel has been called, which other threads must see without locking
+    private volatile boolean cancelled;
+
+    //  Abstraction Function:
+    //      AF(this) = a token that has been cancelled iff cancelled
+    //
+    //  Rep Invariant:
+    //      true
+
+    /**
+     * Asks every search checking this token to stop
+     *
+     * @spec.modifies this
+     * @spec.effects makes this cancelled
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * @return true iff this has been cancelled
+     */
+    public boolean isCancelled(){
+        return cancelled;
+    }
+}
@@ -0,0 +1,399 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.IndexedHeap;
+
+import java.util.Arrays;
+
+/**
+ * <b>ContractionHierarchy</b> is the preprocessed form of a CompactGraph used by ContractionHierarchySearch. Nodes
+ * are contracted one at a time, least important first: contracting a node removes it and adds a shortcut edge
+ * between each pair of its neighbours whose shortest path went through it. Every node gets the rank it was
+ * contracted at, and every shortest path in the graph then has a version that only goes up in rank and then only
+ * down, which two small upward searches can find. Each shortcut remembers the two edges it replaces, so paths can
+ * be unpacked back to the edges of the original graph. This class is immutable.
+ *
+ * @param <T> node type of the graph
+ */
+public class ContractionHierarchy<T> {
+
+    //most nodes a witness search settles before giving up and adding the shortcut
+    private static final int WITNESS_SETTLE_LIMIT = 100;
+
+    //graph this was built from
+    private final CompactGraph<T> graph;
+    //order each node was contracted in
+    private final int[] rank;
+    //edge e goes from edgeSource[e] to edgeTarget[e] with weight edgeWeight[e]
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final double[] edgeWeight;
+    //the two edges a shortcut e replaces are firstChild[e] then secondChild[e]; both are -1 for an original edge
+    private final int[] firstChild;
+    private final int[] secondChild;
+    //edges upEdges[upOffsets[v]..upOffsets[v+1]-1] leave v towards a higher ranked node
+    private final int[] upOffsets;
+    private final int[] upEdges;
+    //edges downEdges[downOffsets[v]..downOffsets[v+1]-1] enter v from a higher ranked node
+    private final int[] downOffsets;
+    private final int[] downEdges;
+    //number of edges that are shortcuts
+    private final int shortcutCount;
+
+    //  Abstraction Function:
+    //      AF(this) = the graph this.graph with node v contracted at rank[v], where the hierarchy has an edge
+    //          (edgeSource[e], edgeTarget[e], edgeWeight[e]) for each e, which is either the cheapest original
+    //          edge between its ends or a shortcut for the path firstChild[e] then secondChild[e]
+    //
+    //  Rep Invariant:
+    //      all arrays != null && rank is a permutation of 0..graph.nodeCount()-1 &&
+    //      for every shortcut e, edgeSource[firstChild[e]] == edgeSource[e] &&
+    //          edgeTarget[firstChild[e]] == edgeSource[secondChild[e]] &&
+    //          edgeTarget[secondChild[e]] == edgeTarget[e] &&
+    //          edgeWeight[e] == edgeWeight[firstChild[e]] + edgeWeight[secondChild[e]] &&
+    //      rank[edgeTarget[e]] > rank[edgeSource[e]] for every e in upEdges, and the reverse for downEdges
+
+    private ContractionHierarchy(CompactGraph<T> graph, Contractor contractor){
+        this.graph = graph;
+        int nodes = graph.nodeCount();
+        int edges = contractor.edgeCount;
+        rank = contractor.rank;
+        edgeSource = Arrays.copyOf(contractor.source, edges);
+        edgeTarget = Arrays.copyOf(contractor.target, edges);
+        edgeWeight = Arrays.copyOf(contractor.weight, edges);
+        firstChild = Arrays.copyOf(contractor.firstChild, edges);
+        secondChild = Arrays.copyOf(contractor.secondChild, edges);
+        shortcutCount = edges - contractor.originalCount;
+        //groups the edges into those leaving each node upward and those entering each node from above
+        upOffsets = new int[nodes + 1];
+        downOffsets = new int[nodes + 1];
+        for(int e = 0; e < edges; e++){
+            if(rank[edgeTarget[e]] > rank[edgeSource[e]]){
+                upOffsets[edgeSource[e] + 1]++;
+            } else {
+                downOffsets[edgeTarget[e] + 1]++;
+            }
+        }
+        for(int v = 0; v < nodes; v++){
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        upEdges = new int[upOffsets[nodes]];
+        downEdges = new int[downOffsets[nodes]];
+        int[] nextUp = Arrays.copyOf(upOffsets, nodes);
+        int[] nextDown = Arrays.copyOf(downOffsets, nodes);
+        for(int e = 0; e < edges; e++){
+            if(rank[edgeTarget[e]] > rank[edgeSource[e]]){
+                upEdges[nextUp[edgeSource[e]]++] = e;
+            } else {
+                downEdges[nextDown[edgeTarget[e]]++] = e;
+            }
+        }
+        checkRep();
+    }
+
+    /**
+     * Contracts every node of <var>graph</var> to build its hierarchy
+     *
+     * @param graph graph to preprocess
+     * @param <T> node type
+     * @spec.requires graph != null AND all edges of graph are non-negative
+     * @return the contraction hierarchy of <var>graph</var>
+     */
+    public static <T> ContractionHierarchy<T> build(CompactGraph<T> graph){
+        Contractor contractor = new Contractor(graph);
+        contractor.contractAll();
+        return new ContractionHierarchy<>(graph, contractor);
+    }
+
+    /**
+     * @return the graph this was built from
+     */
+    public CompactGraph<T> getGraph(){
+        return graph;
+    }
+
+    /**
+     * @return the number of shortcut edges added while contracting
+     */
+    public int shortcutCount(){
+        return shortcutCount;
+    }
+
+    //the accessors below are used by ContractionHierarchySearch
+
+    int upStart(int node){
+        return upOffsets[node];
+    }
+
+    int upEnd(int node){
+        return upOffsets[node + 1];
+    }
+
+    int upEdge(int index){
+        return upEdges[index];
+    }
+
+    int downStart(int node){
+        return downOffsets[node];
+    }
+
+    int downEnd(int node){
+        return downOffsets[node + 1];
+    }
+
+    int downEdge(int index){
+        return downEdges[index];
+    }
+
+    int source(int edge){
+        return edgeSource[edge];
+    }
+
+    int target(int edge){
+        return edgeTarget[edge];
+    }
+
+    double weight(int edge){
+        return edgeWeight[edge];
+    }
+
+    int firstChild(int edge){
+        return firstChild[edge];
+    }
+
+    int secondChild(int edge){
+        return secondChild[edge];
+    }
+
+    private void checkRep(){
+        assert graph != null && rank != null && rank.length == graph.nodeCount();
+        assert edgeSource.length == edgeTarget.length && edgeTarget.length == edgeWeight.length;
+        assert firstChild.length == edgeWeight.length && secondChild.length == edgeWeight.length;
+    }
+
+    /**
+     * The mutable state of the contraction: the graph of remaining nodes with the shortcuts added so far, and the
+     * workspace for witness searches.
+     */
+    private static class Contractor {
+        private final int nodes;
+        //all edges, original and shortcut, in the same form as the fields of ContractionHierarchy
+        private int[] source;
+        private int[] target;
+        private double[] weight;
+        private int[] firstChild;
+        private int[] secondChild;
+        private int edgeCount;
+        private int originalCount;
+        //ids of the edges out of and into each node, including edges to contracted nodes
+        private final IntList[] out;
+        private final IntList[] in;
+        private final boolean[] contracted;
+        //number of neighbours of each node that have been contracted
+        private final int[] contractedNeighbours;
+        private final int[] rank;
+        //witness search workspace, reset after each search through the touched list
+        private final double[] witnessDist;
+        private final IndexedHeap witnessFrontier;
+        private final IntList touched;
+
+        private Contractor(CompactGraph<?> graph){
+            nodes = graph.nodeCount();
+            int capacity = Math.max(16, graph.edgeCount() * 2);
+            source = new int[capacity];
+            target = new int[capacity];
+            weight = new double[capacity];
+            firstChild = new int[capacity];
+            secondChild = new int[capacity];
+            out = new IntList[nodes];
+            in = new IntList[nodes];
+            for(int v = 0; v < nodes; v++){
+                out[v] = new IntList();
+                in[v] = new IntList();
+            }
+            contracted = new boolean[nodes];
+            contractedNeighbours = new int[nodes];
+            rank = new int[nodes];
+            witnessDist = new double[nodes];
+            Arrays.fill(witnessDist, Double.POSITIVE_INFINITY);
+            witnessFrontier = new IndexedHeap(nodes);
+            touched = new IntList();
+            //only the cheapest of parallel edges can be on a shortest path, and self edges never are
+            for(int v = 0; v < nodes; v++){
+                for(int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++){
+                    if(graph.target(e) != v){
+                        addOrImprove(v, graph.target(e), graph.weight(e), -1, -1);
+                    }
+                }
+            }
+            originalCount = edgeCount;
+        }
+
+        //contracts every node, least important first, recomputing each node's importance when it is reached
+        private void contractAll(){
+            IndexedHeap order = new IndexedHeap(nodes);
+            for(int v = 0; v < nodes; v++){
+                order.insertOrDecrease(v, importance(v));
+            }
+            int nextRank = 0;
+            while(!order.isEmpty()){
+                int v = order.removeMin();
+                double current = importance(v);
+                if(!order.isEmpty() && current > order.peekKey()){
+                    order.insertOrDecrease(v, current);
+                    continue;
+                }
+                contract(v, true);
+                contracted[v] = true;
+                rank[v] = nextRank++;
+                for(int i = 0; i < out[v].size; i++){
+                    contractedNeighbours[target[out[v].get(i)]]++;
+                }
+                for(int i = 0; i < in[v].size; i++){
+                    contractedNeighbours[source[in[v].get(i)]]++;
+                }
+            }
+        }
+
+        //nodes whose contraction adds fewer shortcuts than it removes edges, and whose neighbours are not yet
+        //contracted, go first, which keeps the hierarchy small and spreads contraction evenly over the map
+        private double importance(int v){
+            int removed = 0;
+            for(int i = 0; i < out[v].size; i++){
+                if(!contracted[target[out[v].get(i)]]){
+                    removed++;
+                }
+            }
+            for(int i = 0; i < in[v].size; i++){
+                if(!contracted[source[in[v].get(i)]]){
+                    removed++;
+                }
+            }
+            return 2 * (contract(v, false) - removed) + contractedNeighbours[v];
+        }
+
+        //counts the shortcuts contracting v needs, and adds them if apply is true
+        private int contract(int v, boolean apply){
+            int shortcuts = 0;
+            for(int i = 0; i < in[v].size; i++){
+                int inEdge = in[v].get(i);
+                int u = source[inEdge];
+                if(contracted[u]){
+                    continue;
+                }
+                double maxOut = -1;
+                for(int j = 0; j < out[v].size; j++){
+                    int outEdge = out[v].get(j);
+                    int w = target[outEdge];
+                    if(!contracted[w] && w != u){
+                        maxOut = Math.max(maxOut, weight[outEdge]);
+                    }
+                }
+                if(maxOut < 0){
+                    continue;
+                }
+                witnessSearch(u, v, weight[inEdge] + maxOut);
+                for(int j = 0; j < out[v].size; j++){
+                    int outEdge = out[v].get(j);
+                    int w = target[outEdge];
+                    double through = weight[inEdge] + weight[outEdge];
+                    if(!contracted[w] && w != u && witnessDist[w] > through){
+                        shortcuts++;
+                        if(apply){
+                            addOrImprove(u, w, through, inEdge, outEdge);
+                        }
+                    }
+                }
+                resetWitness();
+            }
+            return shortcuts;
+        }
+
+        //Dijkstra's from u over the remaining nodes other than avoid, stopping past maxDist or the settle limit
+        private void witnessSearch(int u, int avoid, double maxDist){
+            witnessDist[u] = 0;
+            touched.add(u);
+            witnessFrontier.insertOrDecrease(u, 0);
+            int settled = 0;
+            while(!witnessFrontier.isEmpty() && witnessFrontier.peekKey() <= maxDist
+                    && settled < WITNESS_SETTLE_LIMIT){
+                int node = witnessFrontier.removeMin();
+                settled++;
+                for(int i = 0; i < out[node].size; i++){
+                    int e = out[node].get(i);
+                    int next = target[e];
+                    if(contracted[next] || next == avoid){
+                        continue;
+                    }
+                    double nextDist = witnessDist[node] + weight[e];
+                    if(nextDist < witnessDist[next]){
+                        if(witnessDist[next] == Double.POSITIVE_INFINITY){
+                            touched.add(next);
+                        }
+                        witnessDist[next] = nextDist;
+                        witnessFrontier.insertOrDecrease(next, nextDist);
+                    }
+                }
+            }
+        }
+
+        private void resetWitness(){
+            for(int i = 0; i < touched.size; i++){
+                witnessDist[touched.get(i)] = Double.POSITIVE_INFINITY;
+            }
+            touched.size = 0;
+            witnessFrontier.clear();
+        }
+
+        //adds the edge from u to w, or lowers the weight of the existing edge from u to w if this one is cheaper
+        private void addOrImprove(int u, int w, double edgeWeight, int first, int second){
+            for(int i = 0; i < out[u].size; i++){
+                int e = out[u].get(i);
+                if(target[e] == w){
+                    if(edgeWeight < weight[e]){
+                        weight[e] = edgeWeight;
+                        firstChild[e] = first;
+                        secondChild[e] = second;
+                    }
+                    return;
+                }
+            }
+            if(edgeCount == source.length){
+                int capacity = source.length * 2;
+                source = Arrays.copyOf(source, capacity);
+                target = Arrays.copyOf(target, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                secondChild = Arrays.copyOf(secondChild, capacity);
+            }
+            int e = edgeCount++;
+            source[e] = u;
+            target[e] = w;
+            weight[e] = edgeWeight;
+            firstChild[e] = first;
+            secondChild[e] = second;
+            out[u].add(e);
+            in[w].add(e);
+        }
+    }
+
+    /**
+     * A growable list of ints.
+     */
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value){
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int get(int index){
+            return values[index];
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.IndexedHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <b>ContractionHierarchySearch</b> finds a shortest path between two nodes using a ContractionHierarchy. It runs
+ * Dijkstra's algorithm forward from the source and backward from the target, each only over edges that lead to a
+ * higher ranked node, and the best node where the two searches touch is the top of a shortest path. The path
+ * found is unpacked through its shortcuts, so it is made of the edges of the original graph. A
+ * ContractionHierarchySearch is used for one search.
+ *
+ * @param <T> node type of the graph
+ */
+public class ContractionHierarchySearch<T> {
+
+    //hierarchy being searched
+    private final ContractionHierarchy<T> hierarchy;
+    //upward search from the source
+    private final Side forward;
+    //upward search from the target over reversed edges
+    private final Side backward;
+    //length of the shortest path found so far
+    private double best;
+    //node where the shortest path found so far passes from the forward side to the backward side, or -1
+    private int meeting;
+
+    //  Abstraction Function:
+    //      AF(this) = a search whose shortest path found so far is the forward tree path from the source to
+    //          meeting followed by the reversed backward tree path from meeting to the target, with each
+    //          hierarchy edge unpacked to the original edges it replaces, of cost best, or no path if meeting == -1
+    //
+    //  Rep Invariant:
+    //      hierarchy, forward, backward != null &&
+    //      meeting == -1 iff best is infinite
+
+    /**
+     * @spec.effects Constructs a new search over <var>hierarchy</var> that has not been started
+     * @param hierarchy hierarchy to search
+     * @spec.requires hierarchy != null
+     */
+    public ContractionHierarchySearch(ContractionHierarchy<T> hierarchy){
+        this.hierarchy = hierarchy;
+        int nodes = hierarchy.getGraph().nodeCount();
+        forward = new Side(nodes);
+        backward = new Side(nodes);
+        best = Double.POSITIVE_INFINITY;
+        meeting = -1;
+        checkRep();
+    }
+
+    /**
+     * Searches for a shortest path from <var>source</var> to <var>target</var>
+     *
+     * @param source id of the node to search from
+     * @param target id of the node to search to
+     * @spec.requires this has not been run AND source and target are node ids of the graph
+     * @spec.modifies this
+     * @return true iff <var>target</var> is reachable from <var>source</var>
+     */
+    public boolean run(int source, int target){
+        forward.start(source);
+        backward.start(target);
+        if(source == target){
+            best = 0;
+            meeting = source;
+            return true;
+        }
+        //a side stops once its closest frontier node is no closer than the best path, since every path through
+        //the rest of its frontier would be longer
+        while(true){
+            double forwardKey = forward.frontier.isEmpty() ? Double.POSITIVE_INFINITY : forward.frontier.peekKey();
+            double backwardKey = backward.frontier.isEmpty() ? Double.POSITIVE_INFINITY : backward.frontier.peekKey();
+            if(forwardKey >= best && backwardKey >= best){
+                break;
+            }
+            if(forwardKey <= backwardKey){
+                expandForward();
+            } else {
+                expandBackward();
+            }
+        }
+        checkRep();
+        return meeting != -1;
+    }
+
+    private void expandForward(){
+        int node = forward.settleNext();
+        meet(node);
+        double nodeDist = forward.dist[node];
+        for(int i = hierarchy.upStart(node); i < hierarchy.upEnd(node); i++){
+            int e = hierarchy.upEdge(i);
+            forward.relax(hierarchy.target(e), e, nodeDist + hierarchy.weight(e));
+        }
+    }
+
+    private void expandBackward(){
+        int node = backward.settleNext();
+        meet(node);
+        double nodeDist = backward.dist[node];
+        for(int i = hierarchy.downStart(node); i < hierarchy.downEnd(node); i++){
+            int e = hierarchy.downEdge(i);
+            backward.relax(hierarchy.source(e), e, nodeDist + hierarchy.weight(e));
+        }
+    }
+
+    //records the path through node if it is shorter than the best so far
+    private void meet(int node){
+        double through = forward.dist[node] + backward.dist[node];
+        if(through < best){
+            best = through;
+            meeting = node;
+        }
+    }
+
+    /**
+     * @return the number of nodes settled by this search, on both sides
+     */
+    public int settledCount(){
+        return forward.settledCount + backward.settledCount;
+    }
+
+    /**
+     * @return the length of the shortest path, or infinity if there is none
+     * @spec.requires this has been run
+     */
+    public double distance(){
+        return best;
+    }
+
+    /**
+     * Builds the shortest path found by this search out of the edges of the original graph
+     *
+     * @spec.requires this has been run
+     * @return the shortest Path from the source to the target, or null if there is none
+     */
+    public Path<T> path(){
+        if(meeting == -1){
+            return null;
+        }
+        //hierarchy edges from the source to the target, which may be shortcuts
+        List<Integer> route = new ArrayList<>();
+        int curr = meeting;
+        while(forward.parentEdge[curr] != -1){
+            route.add(forward.parentEdge[curr]);
+            curr = hierarchy.source(forward.parentEdge[curr]);
+        }
+        int source = curr;
+        Collections.reverse(route);
+        curr = meeting;
+        while(backward.parentEdge[curr] != -1){
+            route.add(backward.parentEdge[curr]);
+            curr = hierarchy.target(backward.parentEdge[curr]);
+        }
+        //unpacks each shortcut into the two edges it replaces, depth first so the edges come out in path order
+        List<Integer> edges = new ArrayList<>();
+        List<Integer> stack = new ArrayList<>();
+        for(int edge : route){
+            stack.add(edge);
+            while(!stack.isEmpty()){
+                int e = stack.remove(stack.size() - 1);
+                if(hierarchy.firstChild(e) == -1){
+                    edges.add(e);
+                } else {
+                    stack.add(hierarchy.secondChild(e));
+                    stack.add(hierarchy.firstChild(e));
+                }
+            }
+        }
+        CompactGraph<T> graph = hierarchy.getGraph();
+        List<T> ends = new ArrayList<>(edges.size());
+        double[] segmentCosts = new double[edges.size()];
+        for(int i = 0; i < segmentCosts.length; i++){
+            ends.add(graph.nodeAt(hierarchy.target(edges.get(i))));
+            segmentCosts[i] = hierarchy.weight(edges.get(i));
+        }
+        return Path.of(graph.nodeAt(source), ends, segmentCosts);
+    }
+
+    private void checkRep(){
+        assert hierarchy != null && forward != null && backward != null;
+        assert (meeting == -1) == Double.isInfinite(best);
+    }
+
+    /**
+     * One direction of the search: Dijkstra's algorithm over the upward edges of the hierarchy, where the tree
+     * edge that reached v is parentEdge[v].
+     */
+    private static class Side {
+        private final double[] dist;
+        private final int[] parentEdge;
+        private final boolean[] settled;
+        private final IndexedHeap frontier;
+        private int settledCount;
+
+        private Side(int nodes){
+            dist = new double[nodes];
+            parentEdge = new int[nodes];
+            settled = new boolean[nodes];
+            frontier = new IndexedHeap(nodes);
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(parentEdge, -1);
+        }
+
+        private void start(int root){
+            dist[root] = 0;
+            frontier.insertOrDecrease(root, 0);
+        }
+
+        private int settleNext(){
+            int node = frontier.removeMin();
+            settled[node] = true;
+            settledCount++;
+            return node;
+        }
+
+        private void relax(int next, int edge, double nextDist){
+            if(!settled[next] && nextDist < dist[next]){
+                dist[next] = nextDist;
+                parentEdge[next] = edge;
+                frontier.insertOrDecrease(next, nextDist);
+            }
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <b>DeltaSteppingSearch</b> computes a full single-source shortest path tree of a CompactGraph with the
+ * delta-stepping algorithm, relaxing edges in parallel on a ForkJoinPool. Nodes are kept in buckets of distance
+ * width delta, and all the nodes of the lowest bucket are relaxed at once, rather than one node at a time as in
+ * Dijkstra's. Edges no longer than delta (light edges) can put nodes back in the bucket being emptied, so they are
+ * relaxed in rounds until it stays empty, after which the heavy edges of every node it held are relaxed once.
+ * Distances are lowered with compare-and-set, so any number of tasks can relax edges at the same time.
+ * <p>
+ * It does more work than Dijkstra's, since a node can be relaxed more than once, so it only pays off on large
+ * graphs and with several threads. A DeltaSteppingSearch is used for one search.
+ *
+ * @param <T> node type of the graph
+ */
+public class DeltaSteppingSearch<T> {
+
+    //parts of a round with fewer nodes than this are relaxed by a single task
+    private static final int LEAF_SIZE = 256;
+
+    //graph being searched
+    private final CompactGraph<T> graph;
+    //width of the distance range of each bucket
+    private final double delta;
+    //pool that relaxes edges
+    private final ForkJoinPool pool;
+    //bits of the shortest known distance to each node, which are ordered like the distances as they are not
+    //negative, and are the bits of infinity for nodes not reached
+    private final AtomicLongArray dist;
+    //last edge on the shortest path to each reached node, or -1 for the source and nodes not reached
+    private final int[] parentEdge;
+    //node the search ran from, or -1 if it has not run
+    private int source;
+
+    //  Abstraction Function:
+    //      AF(this) = the shortest path tree of graph rooted at source, in which node v has distance
+    //          the double with bits dist[v] and is entered along edge parentEdge[v], or no tree if source == -1
+    //
+    //  Rep Invariant:
+    //      graph, pool, dist, parentEdge != null && delta > 0 &&
+    //      dist.length() == parentEdge.length == graph.nodeCount()
+
+    /**
+     * @spec.effects Constructs a new search over <var>graph</var> with buckets <var>delta</var> wide, that relaxes
+     *      edges on <var>pool</var>
+     * @param graph graph to search
+     * @param delta width of the distance range of each bucket, such as {@link #defaultDelta}
+     * @param pool pool to relax edges on, whose parallelism is the number of threads the search uses
+     * @spec.requires graph, pool != null AND delta &gt; 0 AND all edges of graph are non-negative
+     */
+    public DeltaSteppingSearch(CompactGraph<T> graph, double delta, ForkJoinPool pool){
+        this.graph = graph;
+        this.delta = delta;
+        this.pool = pool;
+        dist = new AtomicLongArray(graph.nodeCount());
+        parentEdge = new int[graph.nodeCount()];
+        source = -1;
+        checkRep();
+    }
+
+    /**
+     * Picks a bucket width for <var>graph</var>: the mean edge weight, so that a bucket holds about one edge's
+     * worth of distance and most edges are light
+     *
+     * @param graph graph to pick a bucket width for
+     * @spec.requires graph != null AND all edges of graph are non-negative
+     * @return a positive bucket width for searches of <var>graph</var>
+     */
+    public static double defaultDelta(CompactGraph<?> graph){
+        double total = 0;
+        for(int e = 0; e < graph.edgeCount(); e++){
+            total += graph.weight(e);
+        }
+        double mean = total / graph.edgeCount();
+        return mean > 0 ? mean : 1;
+    }
+
+    /**
+     * Finds the shortest path from <var>source</var> to every node it can reach
+     *
+     * @param source id of the node to search from
+     * @spec.requires this has not been run AND source is a node id of the graph
+     * @spec.modifies this
+     */
+    public void run(int source){
+        this.source = source;
+        long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        for(int v = 0; v < dist.length(); v++){
+            dist.set(v, infinity);
+        }
+        dist.set(source, Double.doubleToRawLongBits(0.0));
+        //nodes put in each bucket that is not empty yet, which may also be in a lower bucket by now
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        buckets.put(0L, IntList.of(source));
+        //round each node was last put in a bucket in, and pass over a bucket each node was last emptied in
+        int[] queuedRound = new int[dist.length()];
+        int[] emptiedPass = new int[dist.length()];
+        int round = 0;
+        int pass = 0;
+        while(!buckets.isEmpty()){
+            pass++;
+            Map.Entry<Long, IntList> lowest = buckets.pollFirstEntry();
+            long bucket = lowest.getKey();
+            IntList frontier = lowest.getValue();
+            IntList emptied = new IntList();
+            while(frontier.size > 0){
+                for(int i = 0; i < frontier.size; i++){
+                    int node = frontier.values[i];
+                    if(bucketOf(distance(node)) == bucket && emptiedPass[node] != pass){
+                        emptiedPass[node] = pass;
+                        emptied.add(node);
+                    }
+                }
+                IntList improved = relax(frontier, bucket, true);
+                round++;
+                frontier = new IntList();
+                for(int i = 0; i < improved.size; i++){
+                    int node = improved.values[i];
+                    if(queuedRound[node] != round){
+                        queuedRound[node] = round;
+                        long to = bucketOf(distance(node));
+                        (to == bucket ? frontier : buckets.computeIfAbsent(to, b -> new IntList())).add(node);
+                    }
+                }
+            }
+            //the distances of the emptied nodes are final, and their heavy edges can only reach later buckets
+            IntList improved = relax(emptied, bucket, false);
+            round++;
+            for(int i = 0; i < improved.size; i++){
+                int node = improved.values[i];
+                if(queuedRound[node] != round){
+                    queuedRound[node] = round;
+                    buckets.computeIfAbsent(bucketOf(distance(node)), b -> new IntList()).add(node);
+                }
+            }
+        }
+        Arrays.fill(parentEdge, -1);
+        pool.invoke(new ParentTask(0, dist.length()));
+        checkRep();
+    }
+
+    //relaxes the light or heavy edges out of each node of nodes that is still in bucket, and returns the nodes
+    //whose distances were lowered, possibly more than once each. Small lists are relaxed on the calling thread,
+    //since handing them to the pool costs more than relaxing them
+    private IntList relax(IntList nodes, long bucket, boolean light){
+        RelaxTask task = new RelaxTask(nodes, 0, nodes.size, bucket, light);
+        return nodes.size <= LEAF_SIZE ? task.compute() : pool.invoke(task);
+    }
+
+    private long bucketOf(double distance){
+        return (long) (distance / delta);
+    }
+
+    //lowers the distance to node to distance if that is shorter, and returns whether it did
+    private boolean lower(int node, double distance){
+        long bits = Double.doubleToRawLongBits(distance);
+        long current = dist.get(node);
+        while(bits < current){
+            if(dist.compareAndSet(node, current, bits)){
+                return true;
+            }
+            current = dist.get(node);
+        }
+        return false;
+    }
+
+    /**
+     * @param node id of a node
+     * @return the shortest distance from the source to <var>node</var>, or infinity if it cannot be reached or
+     *      this has not run
+     */
+    public double distance(int node){
+        return source == -1 ? Double.POSITIVE_INFINITY : Double.longBitsToDouble(dist.get(node));
+    }
+
+    /**
+     * @param node id of a node
+     * @return true iff this has run and there is a path from the source to <var>node</var>
+     */
+    public boolean isReached(int node){
+        return distance(node) != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param node id of a node
+     * @return the id of the last edge on a shortest path from the source to <var>node</var>, or -1 if
+     *      <var>node</var> is the source or is not reached
+     */
+    public int parentEdge(int node){
+        return parentEdge[node];
+    }
+
+    /**
+     * Builds a shortest path from the source to a reached node. When there are several, any one may be returned.
+     *
+     * @param node id of the node the path ends at
+     * @spec.requires the graph has no cycle of edges with weight 0
+     * @return a shortest Path from the source to <var>node</var>, or null if <var>node</var> is not reached
+     */
+    public Path<T> pathTo(int node){
+        if(!isReached(node)){
+            return null;
+        }
+        int length = 0;
+        for(int curr = node; parentEdge[curr] != -1; curr = graph.source(parentEdge[curr])){
+            length++;
+        }
+        //walks back from node, filling in the segments from the end of the path
+        List<T> ends = new ArrayList<>(Collections.nCopies(length, null));
+        double[] costs = new double[length];
+        int curr = node;
+        for(int i = length - 1; i >= 0; i--){
+            ends.set(i, graph.nodeAt(curr));
+            costs[i] = graph.weight(parentEdge[curr]);
+            curr = graph.source(parentEdge[curr]);
+        }
+        return Path.of(graph.nodeAt(curr), ends, costs);
+    }
+
+    private void checkRep(){
+        assert graph != null && pool != null && dist != null && parentEdge != null && delta > 0;
+        assert dist.length() == graph.nodeCount() && parentEdge.length == graph.nodeCount();
+    }
+
+    /**
+     * Relaxes the light or heavy edges out of a range of a list of nodes, splitting the range between subtasks
+     * while it is large, and returns the nodes whose distances it lowered.
+     */
+    private class RelaxTask extends RecursiveTask<IntList> {
+
+        private final IntList nodes;
+        private final int start;
+        private final int end;
+        private final long bucket;
+        private final boolean light;
+
+        private RelaxTask(IntList nodes, int start, int end, long bucket, boolean light){
+            this.nodes = nodes;
+            this.start = start;
+            this.end = end;
+            this.bucket = bucket;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute(){
+            if(end - start > LEAF_SIZE){
+                int middle = (start + end) >>> 1;
+                RelaxTask left = new RelaxTask(nodes, start, middle, bucket, light);
+                left.fork();
+                IntList improved = new RelaxTask(nodes, middle, end, bucket, light).compute();
+                improved.addAll(left.join());
+                return improved;
+            }
+            IntList improved = new IntList();
+            for(int i = start; i < end; i++){
+                int node = nodes.values[i];
+                double nodeDist = distance(node);
+                //nodes that moved to a lower bucket were already relaxed from there
+                if(bucketOf(nodeDist) != bucket){
+                    continue;
+                }
+                for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){
+                    double weight = graph.weight(e);
+                    if((weight <= delta) == light && lower(graph.target(e), nodeDist + weight)){
+                        improved.add(graph.target(e));
+                    }
+                }
+            }
+            return improved;
+        }
+    }
+
+    /**
+     * Picks the edge into each node out of a range of nodes that lies on a shortest path, once every distance is
+     * final. An edge from u to v lies on one iff the distance to u plus its weight is the distance to v, which
+     * holds exactly for the edge the distance to v was last lowered along, as it was computed the same way.
+     */
+    private class ParentTask extends RecursiveAction {
+
+        private final int start;
+        private final int end;
+
+        private ParentTask(int start, int end){
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute(){
+            if(end - start > LEAF_SIZE){
+                int middle = (start + end) >>> 1;
+                invokeAll(new ParentTask(start, middle), new ParentTask(middle, end));
+                return;
+            }
+            for(int node = start; node < end; node++){
+                double nodeDist = distance(node);
+                if(nodeDist == Double.POSITIVE_INFINITY){
+                    continue;
+                }
+                for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){
+                    int next = graph.target(e);
+                    //several tasks may each write a different edge here, and any of them will do
+                    if(next != source && nodeDist + graph.weight(e) == distance(next)){
+                        parentEdge[next] = e;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A growable list of ints.
+     */
+    private static class IntList {
+
+        private int[] values = new int[8];
+        private int size;
+
+        private static IntList of(int value){
+            IntList list = new IntList();
+            list.add(value);
+            return list;
+        }
+
+        private void add(int value){
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void addAll(IntList other){
+            if(size + other.size > values.length){
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+    }
+}
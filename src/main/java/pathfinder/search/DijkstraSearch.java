@@ -0,0 +1,317 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.IndexedPriorityQueue;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * <b>DijkstraSearch</b> runs Dijkstra's algorithm from a single source over a CompactGraph. It keeps the distance
+ * and predecessor of each node in arrays indexed by node id and a priority queue of the frontier, so a relaxation
+ * costs O(log V) no matter how long the route is, and a Path is built only for the nodes asked for once they are
+ * settled. The arrays and frontier belong to a SearchWorkspace, which can be shared with later searches so that a
+ * search allocates nothing but the paths it builds. A DijkstraSearch is used for one search.
+ * <p>
+ * When given a Heuristic, searches towards a target are A*: the frontier is ordered by distance plus the estimated
+ * distance left to the target, so nodes away from the target are settled later or never. Nodes the heuristic
+ * estimates to be infinitely far from the target cannot reach it, and are never added to the frontier.
+ *
+ * @param <T> node type of the graph
+ */
+public class DijkstraSearch<T> {
+
+    //graph being searched
+    private final CompactGraph<T> graph;
+    //distances, predecessors and settled nodes of this search, and the frontier of reached nodes that are not
+    //settled, by distance plus the estimated distance left to the target
+    private final SearchWorkspace workspace;
+    //estimates the distance left to the target
+    private final Heuristic heuristic;
+    //bounds on the work of this search
+    private final SearchLimits limits;
+    //number of nodes settled so far
+    private int settledCount;
+
+    //  Abstraction Function:
+    //      AF(this) = a (partial) shortest path forest of graph rooted at the source or sources, where the tree
+    //          path to node v ends with the edge workspace.parentEdge(v) from workspace.parent(v) and has cost
+    //          workspace.dist(v), and is known to be a shortest path iff workspace.isSettled(v)
+    //
+    //  Rep Invariant:
+    //      graph, workspace, heuristic, limits != null && settledCount <= limits.maxSettled() &&
+    //      workspace.isSettled(v) implies !workspace.frontier().contains(v) && workspace.dist(v) is finite
+
+    /**
+     * @spec.effects Constructs a new search over <var>graph</var> that has not been started
+     * @param graph graph to search
+     * @spec.requires graph != null AND all edges of graph are non-negative
+     */
+    public DijkstraSearch(CompactGraph<T> graph){
+        this(graph, Heuristic.NONE);
+    }
+
+    /**
+     * @spec.effects Constructs a new A* search over <var>graph</var> guided by <var>heuristic</var> that has not
+     *      been started
+     * @param graph graph to search
+     * @param heuristic consistent heuristic for <var>graph</var>
+     * @spec.requires graph, heuristic != null AND all edges of graph are non-negative
+     */
+    public DijkstraSearch(CompactGraph<T> graph, Heuristic heuristic){
+        this(graph, heuristic, new SearchWorkspace(graph.nodeCount()));
+    }
+
+    /**
+     * @spec.effects Constructs a new A* search over <var>graph</var> guided by <var>heuristic</var> that has not
+     *      been started, and keeps its state in <var>workspace</var>
+     * @param graph graph to search
+     * @param heuristic consistent heuristic for <var>graph</var>, or Heuristic.NONE for Dijkstra's
+     * @param workspace workspace to search in, such as {@link SearchWorkspace#forThread}, whose earlier results are
+     *      forgotten when this is run
+     * @spec.requires graph, heuristic, workspace != null AND all edges of graph are non-negative AND workspace can
+     *      hold graph.nodeCount() nodes AND no other search uses workspace until the results of this are read
+     */
+    public DijkstraSearch(CompactGraph<T> graph, Heuristic heuristic, SearchWorkspace workspace){
+        this(graph, heuristic, workspace, SearchLimits.NONE);
+    }
+
+    /**
+     * @spec.effects Constructs a new A* search over <var>graph</var> guided by <var>heuristic</var> that has not
+     *      been started, keeps its state in <var>workspace</var>, and stops with a SearchLimitExceededException
+     *      once it reaches one of <var>limits</var>
+     * @param graph graph to search
+     * @param heuristic consistent heuristic for <var>graph</var>, or Heuristic.NONE for Dijkstra's
+     * @param workspace workspace to search in, such as {@link SearchWorkspace#forThread}, whose earlier results are
+     *      forgotten when this is run
+     * @param limits bounds on the work of this search, or SearchLimits.NONE
+     * @spec.requires graph, heuristic, workspace, limits != null AND all edges of graph are non-negative AND
+     *      workspace can hold graph.nodeCount() nodes AND no other search uses workspace until the results of
+     *      this are read
+     */
+    public DijkstraSearch(CompactGraph<T> graph, Heuristic heuristic, SearchWorkspace workspace, SearchLimits limits){
+        this.graph = graph;
+        this.heuristic = heuristic;
+        this.workspace = workspace;
+        this.limits = limits;
+        checkRep();
+    }
+
+    /**
+     * Searches from <var>source</var> until <var>target</var> is settled or every node reachable from
+     * <var>source</var> is settled
+     *
+     * @param source id of the node to search from
+     * @param target id of the node to stop at, or -1 to settle every reachable node
+     * @spec.requires this has not been run AND source is a node id of the graph AND target is -1 or a node id
+     * @spec.modifies this
+     * @throws SearchLimitExceededException if the search reaches one of its limits before finishing
+     * @return true iff <var>target</var> is reachable from <var>source</var>, or true if target is -1
+     */
+    public boolean run(int source, int target){
+        //a full tree has no target to estimate towards
+        Heuristic estimates = target == -1 ? Heuristic.NONE : heuristic;
+        IndexedPriorityQueue frontier = start(source, estimates.estimate(source, target));
+        while(!frontier.isEmpty()){
+            int node = settleNext();
+            if(node == target){
+                return true;
+            }
+            relaxEdges(node, estimates, target);
+        }
+        checkRep();
+        return target == -1;
+    }
+
+    /**
+     * Searches from <var>source</var> until every one of <var>targets</var> is settled or every node reachable
+     * from <var>source</var> is settled. The heuristic of this search is not used, since there is no single
+     * target to estimate towards.
+     *
+     * @param source id of the node to search from
+     * @param targets ids of the nodes to stop once all are settled, which may repeat
+     * @spec.requires this has not been run AND source and every target are node ids of the graph
+     * @spec.modifies this
+     * @throws SearchLimitExceededException if the search reaches one of its limits before finishing
+     * @return true iff every one of <var>targets</var> is reachable from <var>source</var>
+     */
+    public boolean runToAll(int source, int[] targets){
+        IndexedPriorityQueue frontier = start(source, 0);
+        int remaining = 0;
+        for(int target : targets){
+            if(!workspace.isMarked(target)){
+                workspace.mark(target);
+                remaining++;
+            }
+        }
+        while(remaining > 0 && !frontier.isEmpty()){
+            int node = settleNext();
+            if(workspace.isMarked(node) && --remaining == 0){
+                break;
+            }
+            relaxEdges(node, Heuristic.NONE, -1);
+        }
+        checkRep();
+        return remaining == 0;
+    }
+
+    /**
+     * Searches from all of <var>sources</var> at once, as if from one node with an edge of weight 0 to each, until
+     * the first of <var>targets</var> is settled or every node reachable from them is settled. The path to each
+     * settled node then starts at whichever source is closest to it. The heuristic of this search is not used,
+     * since there is no single target to estimate towards.
+     *
+     * @param sources ids of the nodes to search from, which may repeat
+     * @param targets ids of the nodes to stop at once any is settled, which may repeat
+     * @spec.requires this has not been run AND sources is not empty AND every source and target is a node id of
+     *      the graph
+     * @spec.modifies this
+     * @throws SearchLimitExceededException if the search reaches one of its limits before finishing
+     * @return the id of the target closest to any source, or -1 if none of <var>targets</var> is reachable
+     */
+    public int runToAny(int[] sources, int[] targets){
+        IndexedPriorityQueue frontier = start(sources[0], 0);
+        for(int i = 1; i < sources.length; i++){
+            workspace.reach(sources[i], 0, -1, -1);
+            frontier.insertOrDecrease(sources[i], 0);
+        }
+        for(int target : targets){
+            workspace.mark(target);
+        }
+        while(!frontier.isEmpty()){
+            int node = settleNext();
+            if(workspace.isMarked(node)){
+                checkRep();
+                return node;
+            }
+            relaxEdges(node, Heuristic.NONE, -1);
+        }
+        checkRep();
+        return -1;
+    }
+
+    /**
+     * Searches from <var>source</var> until every node within <var>budget</var> of it is settled, stopping as soon
+     * as the closest node on the frontier is further than that. The heuristic of this search is not used, since
+     * there is no target to estimate towards.
+     *
+     * @param source id of the node to search from
+     * @param budget the greatest distance from <var>source</var> to settle nodes at
+     * @param settled told the id of each node as it is settled, in order of distance
+     * @spec.requires this has not been run AND source is a node id of the graph AND budget &gt;= 0 AND
+     *      settled != null
+     * @spec.modifies this
+     * @throws SearchLimitExceededException if the search reaches one of its limits before finishing
+     */
+    public void runWithin(int source, double budget, IntConsumer settled){
+        IndexedPriorityQueue frontier = start(source, 0);
+        while(!frontier.isEmpty() && frontier.peekKey() <= budget){
+            int node = settleNext();
+            settled.accept(node);
+            relaxEdges(node, Heuristic.NONE, -1);
+        }
+        checkRep();
+    }
+
+    //forgets the last search in the workspace and puts source on the frontier with the given key
+    private IndexedPriorityQueue start(int source, double key){
+        workspace.begin(graph.nodeCount());
+        workspace.reach(source, 0, -1, -1);
+        IndexedPriorityQueue frontier = workspace.frontier();
+        frontier.insertOrDecrease(source, key);
+        return frontier;
+    }
+
+    //removes the closest node from the frontier and marks it settled, unless that would go past a limit
+    private int settleNext(){
+        limits.check(settledCount + 1);
+        int node = workspace.frontier().removeMin();
+        workspace.settle(node);
+        settledCount++;
+        return node;
+    }
+
+    //updates the shortest known path to each unsettled node an edge out of node reaches, skipping nodes estimated
+    //to be infinitely far from the target, since they cannot reach it
+    private void relaxEdges(int node, Heuristic estimates, int target){
+        double nodeDist = workspace.dist(node);
+        IndexedPriorityQueue frontier = workspace.frontier();
+        for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){
+            int next = graph.target(e);
+            double nextDist = nodeDist + graph.weight(e);
+            if(!workspace.isSettled(next) && nextDist < workspace.dist(next)){
+                double estimate = estimates.estimate(next, target);
+                if(estimate != Double.POSITIVE_INFINITY){
+                    workspace.reach(next, nextDist, node, e);
+                    frontier.insertOrDecrease(next, nextDist + estimate);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param node id of a node
+     * @return true iff the shortest distance to <var>node</var> is known
+     */
+    public boolean isSettled(int node){
+        return workspace.isSettled(node);
+    }
+
+    /**
+     * @param node id of a settled node
+     * @return the shortest distance from the source to <var>node</var>
+     */
+    public double distance(int node){
+        return workspace.dist(node);
+    }
+
+    /**
+     * @param node id of a settled node
+     * @return the id of the last edge on the shortest path from the source to <var>node</var>, or -1 if
+     *      <var>node</var> is the source
+     */
+    public int parentEdge(int node){
+        return workspace.parentEdge(node);
+    }
+
+    /**
+     * @return the number of nodes settled by this search
+     */
+    public int settledCount(){
+        return settledCount;
+    }
+
+    /**
+     * Builds the shortest path from the source to a settled node
+     *
+     * @param node id of the node the path ends at
+     * @return the shortest Path from the source to <var>node</var>, or null if <var>node</var> is not settled
+     */
+    public Path<T> pathTo(int node){
+        if(!workspace.isSettled(node)){
+            return null;
+        }
+        int length = 0;
+        for(int curr = node; workspace.parentEdge(curr) != -1; curr = workspace.parent(curr)){
+            length++;
+        }
+        //walks back from node, filling in the segments from the end of the path
+        List<T> ends = new ArrayList<>(Collections.nCopies(length, null));
+        double[] costs = new double[length];
+        int curr = node;
+        for(int i = length - 1; i >= 0; i--){
+            ends.set(i, graph.nodeAt(curr));
+            costs[i] = graph.weight(workspace.parentEdge(curr));
+            curr = workspace.parent(curr);
+        }
+        return Path.of(graph.nodeAt(curr), ends, costs);
+    }
+
+    private void checkRep(){
+        assert graph != null && workspace != null && heuristic != null && limits != null;
+        assert settledCount <= limits.maxSettled();
+    }
+}
@@ -0,0 +1,129 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.IndexedPriorityQueue;
+
+/**
+ * <b>DistanceSearch</b> finds shortest path lengths in a CompactGraph without the paths themselves. It is
+ * Dijkstra's algorithm (or A*, given a Heuristic) like {@link DijkstraSearch}, but a relaxation only records the
+ * new distance, not the edge it came along, and there is no path to build at the end. Its state is kept in a
+ * SearchWorkspace, so a search allocates nothing. A DistanceSearch can run any number of searches one after
+ * another, but only one at a time.
+ */
+public class DistanceSearch {
+
+    //graph being searched
+    private final CompactGraph<?> graph;
+    //estimates the distance left to the target of a single-target search
+    private final Heuristic heuristic;
+    //distances and settled nodes of the current search, and its frontier
+    private final SearchWorkspace workspace;
+
+    //  Abstraction Function:
+    //      AF(this) = a searcher of graph guided by heuristic, whose last search reached each node v with
+    //          workspace.dist(v), which is the shortest distance iff workspace.isSettled(v)
+    //
+    //  Rep Invariant:
+    //      graph, heuristic, workspace != null
+
+    /**
+     * @spec.effects Constructs a new searcher of <var>graph</var> guided by <var>heuristic</var>, that keeps its
+     *      state in <var>workspace</var>
+     * @param graph graph to search
+     * @param heuristic consistent heuristic for <var>graph</var>, or Heuristic.NONE for Dijkstra's
+     * @param workspace workspace to search in, such as {@link SearchWorkspace#forThread}
+     * @spec.requires graph, heuristic, workspace != null AND all edges of graph are non-negative AND workspace can
+     *      hold graph.nodeCount() nodes AND no other search uses workspace while a search of this runs
+     */
+    public DistanceSearch(CompactGraph<?> graph, Heuristic heuristic, SearchWorkspace workspace){
+        this.graph = graph;
+        this.heuristic = heuristic;
+        this.workspace = workspace;
+        checkRep();
+    }
+
+    /**
+     * Finds the length of the shortest path from <var>source</var> to <var>target</var>
+     *
+     * @param source id of the node to search from
+     * @param target id of the node to search to
+     * @spec.requires source and target are node ids of the graph
+     * @return the length of the shortest path from <var>source</var> to <var>target</var>, or infinity if there
+     *      is none
+     */
+    public double distance(int source, int target){
+        IndexedPriorityQueue frontier = start(source, heuristic.estimate(source, target));
+        while(!frontier.isEmpty()){
+            int node = frontier.removeMin();
+            if(node == target){
+                return workspace.dist(node);
+            }
+            workspace.settle(node);
+            relaxEdges(frontier, node, heuristic, target);
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Finds the length of the shortest path from <var>source</var> to each of <var>targets</var>, with one search
+     * that stops once all of them are settled. The heuristic is not used, since there is no single target to
+     * estimate towards.
+     *
+     * @param source id of the node to search from
+     * @param targets ids of the nodes to search to, which may repeat
+     * @param distances array to write the length of the shortest path to each target into, at the same index
+     * @spec.requires source and every target are node ids of the graph AND distances.length &gt;= targets.length
+     * @spec.modifies distances
+     */
+    public void distances(int source, int[] targets, double[] distances){
+        IndexedPriorityQueue frontier = start(source, 0);
+        int remaining = 0;
+        for(int target : targets){
+            if(!workspace.isMarked(target)){
+                workspace.mark(target);
+                remaining++;
+            }
+        }
+        while(remaining > 0 && !frontier.isEmpty()){
+            int node = frontier.removeMin();
+            workspace.settle(node);
+            if(workspace.isMarked(node)){
+                remaining--;
+            }
+            relaxEdges(frontier, node, Heuristic.NONE, -1);
+        }
+        for(int i = 0; i < targets.length; i++){
+            distances[i] = workspace.isSettled(targets[i]) ? workspace.dist(targets[i]) : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    //forgets the last search in the workspace and puts source on the frontier with the given key
+    private IndexedPriorityQueue start(int source, double key){
+        workspace.begin(graph.nodeCount());
+        workspace.improve(source, 0);
+        IndexedPriorityQueue frontier = workspace.frontier();
+        frontier.insertOrDecrease(source, key);
+        return frontier;
+    }
+
+    //lowers the distance to each unsettled node an edge out of node reaches, if the edge gives a shorter one, and
+    //skips nodes estimated to be infinitely far from the target, since they cannot reach it
+    private void relaxEdges(IndexedPriorityQueue frontier, int node, Heuristic estimates, int target){
+        double nodeDist = workspace.dist(node);
+        for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){
+            int next = graph.target(e);
+            double nextDist = nodeDist + graph.weight(e);
+            if(nextDist < workspace.dist(next) && !workspace.isSettled(next)){
+                double estimate = estimates.estimate(next, target);
+                if(estimate != Double.POSITIVE_INFINITY){
+                    workspace.improve(next, nextDist);
+                    frontier.insertOrDecrease(next, nextDist + estimate);
+                }
+            }
+        }
+    }
+
+    private void checkRep(){
+        assert graph != null && heuristic != null && workspace != null;
+    }
+}
@@ -0,0 +1,90 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.Point;
+
+/**
+ * <b>EuclideanHeuristic</b> estimates distances on a graph of Points by their straight-line distance, multiplied
+ * by a scale that converts coordinates to the units of the edge weights. The scale is the smallest ratio of edge
+ * weight to straight-line edge length in the graph, so no edge is shorter than its scaled straight-line length
+ * and the heuristic is consistent for that graph. This class is immutable.
+ */
+public class EuclideanHeuristic implements Heuristic {
+
+    //x coordinate of each node, by id
+    private final double[] xs;
+    //y coordinate of each node, by id
+    private final double[] ys;
+    //multiplier from coordinate distance to edge weight units
+    private final double scale;
+
+    //  Abstraction Function:
+    //      AF(this) = the heuristic estimate(u, v) = scale * |(xs[u], ys[u]) - (xs[v], ys[v])|
+    //
+    //  Rep Invariant:
+    //      xs, ys != null && xs.length == ys.length && scale >= 0 && Double.isFinite(scale)
+
+    private EuclideanHeuristic(double[] xs, double[] ys, double scale){
+        this.xs = xs;
+        this.ys = ys;
+        this.scale = scale;
+        checkRep();
+    }
+
+    /**
+     * Creates the Euclidean heuristic for a graph, with the largest scale that keeps it consistent
+     *
+     * @param graph graph whose nodes are Points
+     * @spec.requires graph != null AND all edges of graph are non-negative
+     * @return a consistent heuristic for <var>graph</var>
+     */
+    public static EuclideanHeuristic forGraph(CompactGraph<Point> graph){
+        int nodes = graph.nodeCount();
+        double[] xs = new double[nodes];
+        double[] ys = new double[nodes];
+        for(int v = 0; v < nodes; v++){
+            xs[v] = graph.nodeAt(v).getX();
+            ys[v] = graph.nodeAt(v).getY();
+        }
+        //the scale can be no larger than the weight per unit of length of any edge
+        double scale = Double.POSITIVE_INFINITY;
+        for(int v = 0; v < nodes; v++){
+            for(int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++){
+                int w = graph.target(e);
+                double length = length(xs[w] - xs[v], ys[w] - ys[v]);
+                if(length > 0){
+                    scale = Math.min(scale, graph.weight(e) / length);
+                }
+            }
+        }
+        if(!Double.isFinite(scale)){
+            //no edge between distinct points, so no estimate is needed
+            scale = 0;
+        }
+        //rounding in the estimates must not push any of them over an edge weight
+        scale = Math.max(0, scale * (1 - 1e-9));
+        return new EuclideanHeuristic(xs, ys, scale);
+    }
+
+    /**
+     * @return the multiplier from straight-line coordinate distance to edge weight units
+     */
+    public double getScale(){
+        return scale;
+    }
+
+    @Override
+    public double estimate(int node, int target){
+        return scale * length(xs[target] - xs[node], ys[target] - ys[node]);
+    }
+
+    //straight-line length of the vector (dx, dy)
+    private static double length(double dx, double dy){
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private void checkRep(){
+        assert xs != null && ys != null && xs.length == ys.length;
+        assert scale >= 0 && Double.isFinite(scale);
+    }
+}
@@ -0,0 +1,37 @@
+package pathfinder.search;
+
+/**
+ * A <b>Heuristic</b> estimates the shortest distance between two nodes of a graph, identified by their node ids,
+ * to guide a goal-directed search. Implementations must be consistent: for every edge (u, v) with weight w,
+ * estimate(u, t) &lt;= w + estimate(v, t), and estimate(t, t) == 0. A consistent heuristic never overestimates,
+ * so a search guided by it still finds shortest paths.
+ */
+public interface Heuristic {
+
+    /**
+     * The heuristic that estimates every distance as 0, which makes a guided search plain Dijkstra's.
+     */
+    Heuristic NONE = (node, target) -> 0;
+
+    /**
+     * Estimates the shortest distance from <var>node</var> to <var>target</var>
+     *
+     * @param node id of the node to estimate from
+     * @param target id of the node to estimate to
+     * @return a lower bound on the shortest distance from <var>node</var> to <var>target</var>
+     */
+    double estimate(int node, int target);
+
+    /**
+     * Combines two heuristics for the same graph by taking the larger estimate, which is consistent when both are
+     * and is at least as close to the true distance as either one
+     *
+     * @param first a consistent heuristic
+     * @param second a consistent heuristic for the same graph
+     * @spec.requires first, second != null
+     * @return the heuristic whose estimate is the larger of the two estimates
+     */
+    static Heuristic max(Heuristic first, Heuristic second){
+        return (node, target) -> Math.max(first.estimate(node, target), second.estimate(node, target));
+    }
+}
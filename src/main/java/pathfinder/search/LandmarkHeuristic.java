@@ -0,0 +1,260 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * <b>LandmarkHeuristic</b> is the ALT (A*, landmarks and triangle inequality) heuristic for a CompactGraph. It
+ * stores the shortest distances from and to a few landmark nodes, and bounds the distance from v to t by
+ * d(L, t) - d(L, v) and d(v, L) - d(t, L) for each landmark L. Landmarks on the far side of the target from a node
+ * give bounds close to the true distance, so A* guided by this heuristic settles few nodes off the shortest path.
+ * Computing it takes two full Dijkstra's per landmark, which run in parallel, and it can be saved to a file and
+ * loaded back so the work is not repeated for the same graph. This class is immutable.
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+    //identifies files written by save
+    private static final int MAGIC = 0x414c5431;
+
+    //node ids of the landmarks
+    private final int[] landmarks;
+    //fromLandmark[v * landmarks.length + i] is the distance from landmark i to node v
+    private final double[] fromLandmark;
+    //toLandmark[v * landmarks.length + i] is the distance from node v to landmark i
+    private final double[] toLandmark;
+    //fingerprint of the graph the distances were computed on
+    private final long fingerprint;
+
+    //  Abstraction Function:
+    //      AF(this) = the heuristic estimate(v, t) = max(0, max over landmarks i of
+    //          max(d(landmarks[i], t) - d(landmarks[i], v), d(v, landmarks[i]) - d(t, landmarks[i])))
+    //          where the distances are read from fromLandmark and toLandmark, and infinity marks no path
+    //
+    //  Rep Invariant:
+    //      landmarks, fromLandmark, toLandmark != null &&
+    //      fromLandmark.length == toLandmark.length && fromLandmark.length % landmarks.length == 0 when
+    //      landmarks.length > 0
+
+    private LandmarkHeuristic(int[] landmarks, double[] fromLandmark, double[] toLandmark, long fingerprint){
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        this.fingerprint = fingerprint;
+        checkRep();
+    }
+
+    /**
+     * Computes the heuristic for <var>graph</var> with the given landmarks, running the Dijkstra's from and to
+     * every landmark in parallel
+     *
+     * @param graph graph to compute distances on
+     * @param landmarks node ids of the landmarks
+     * @spec.requires graph, landmarks != null AND every landmark is a node id of graph AND all edges of graph are
+     *      non-negative
+     * @return the ALT heuristic for <var>graph</var> using <var>landmarks</var>
+     */
+    public static LandmarkHeuristic forLandmarks(CompactGraph<?> graph, int[] landmarks){
+        return forLandmarks(graph, landmarks, new double[landmarks.length][]);
+    }
+
+    //the heuristic for graph with the given landmarks, where treesFrom[i] is the distances from landmark i if they
+    //are already known, or null if they must be computed
+    private static LandmarkHeuristic forLandmarks(CompactGraph<?> graph, int[] landmarks, double[][] treesFrom){
+        int count = landmarks.length;
+        int nodes = graph.nodeCount();
+        double[] fromLandmark = new double[nodes * count];
+        double[] toLandmark = new double[nodes * count];
+        CompactGraph<?> reverse = graph.reverse();
+        //task 2i is the tree from landmark i, task 2i + 1 is the tree to it over the reverse graph
+        IntStream.range(0, 2 * count).parallel().forEach(task -> {
+            int i = task / 2;
+            boolean from = task % 2 == 0;
+            double[] dist = from && treesFrom[i] != null ? treesFrom[i]
+                    : distancesFrom(from ? graph : reverse, landmarks[i]);
+            double[] table = from ? fromLandmark : toLandmark;
+            for(int v = 0; v < nodes; v++){
+                table[v * count + i] = dist[v];
+            }
+        });
+        return new LandmarkHeuristic(landmarks.clone(), fromLandmark, toLandmark, fingerprint(graph));
+    }
+
+    /**
+     * Computes the heuristic for <var>graph</var> with <var>count</var> landmarks chosen by farthest-point
+     * selection: each landmark is the node farthest from all of the landmarks chosen before it, which spreads
+     * them around the edge of the map
+     *
+     * @param graph graph to compute distances on
+     * @param count number of landmarks
+     * @spec.requires graph != null AND count &gt;= 0 AND all edges of graph are non-negative
+     * @return the ALT heuristic for <var>graph</var> using <var>count</var> landmarks, or fewer if the graph has
+     *      fewer nodes
+     */
+    public static LandmarkHeuristic farthest(CompactGraph<?> graph, int count){
+        int nodes = graph.nodeCount();
+        count = Math.min(count, nodes);
+        int[] landmarks = new int[count];
+        //the tree from each landmark, found while choosing the next one and kept so it is not searched again
+        double[][] treesFrom = new double[count][];
+        //distance from the closest landmark chosen so far to each node
+        double[] closest = new double[nodes];
+        Arrays.fill(closest, Double.POSITIVE_INFINITY);
+        //the first landmark is the node farthest from node 0
+        double[] dist = count > 0 ? distancesFrom(graph, 0) : closest;
+        for(int i = 0; i < count; i++){
+            int farthest = 0;
+            for(int v = 1; v < nodes; v++){
+                if(isFarther(dist, closest, v, farthest, i)){
+                    farthest = v;
+                }
+            }
+            landmarks[i] = farthest;
+            dist = distancesFrom(graph, farthest);
+            treesFrom[i] = dist;
+            for(int v = 0; v < nodes; v++){
+                closest[v] = Math.min(closest[v], dist[v]);
+            }
+        }
+        return forLandmarks(graph, landmarks, treesFrom);
+    }
+
+    //true iff v is farther than best from the landmarks chosen before landmark i, counting nodes no landmark
+    //reaches as farthest so that separate parts of the graph get landmarks too
+    private static boolean isFarther(double[] dist, double[] closest, int v, int best, int i){
+        if(i == 0){
+            return dist[v] != Double.POSITIVE_INFINITY
+                    && (dist[best] == Double.POSITIVE_INFINITY || dist[v] > dist[best]);
+        }
+        return closest[v] > closest[best];
+    }
+
+    //distances from source to every node of graph, with infinity for the nodes it cannot reach. The workspace is
+    //the task's own, so the pool threads running the trees do not keep one the size of the graph afterwards
+    private static double[] distancesFrom(CompactGraph<?> graph, int source){
+        SearchWorkspace workspace = new SearchWorkspace(graph.nodeCount());
+        DijkstraSearch<?> search = new DijkstraSearch<>(graph, Heuristic.NONE, workspace);
+        search.run(source, -1);
+        double[] dist = new double[graph.nodeCount()];
+        for(int v = 0; v < dist.length; v++){
+            dist[v] = search.isSettled(v) ? search.distance(v) : Double.POSITIVE_INFINITY;
+        }
+        return dist;
+    }
+
+    /**
+     * @return the node ids of the landmarks
+     */
+    public int[] getLandmarks(){
+        return landmarks.clone();
+    }
+
+    @Override
+    public double estimate(int node, int target){
+        int count = landmarks.length;
+        int nodeBase = node * count;
+        int targetBase = target * count;
+        double best = 0;
+        for(int i = 0; i < count; i++){
+            //comparisons are false for the NaN left by two missing distances, so those landmarks are skipped
+            double fromBound = fromLandmark[targetBase + i] - fromLandmark[nodeBase + i];
+            if(fromBound > best){
+                best = fromBound;
+            }
+            double toBound = toLandmark[nodeBase + i] - toLandmark[targetBase + i];
+            if(toBound > best){
+                best = toBound;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Writes this to <var>file</var>, so that it can be loaded for the same graph with {@link #load}
+     *
+     * @param file file to write to, which is replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))){
+            out.writeInt(MAGIC);
+            out.writeLong(fingerprint);
+            out.writeInt(fromLandmark.length);
+            out.writeInt(landmarks.length);
+            for(int landmark : landmarks){
+                out.writeInt(landmark);
+            }
+            for(double distance : fromLandmark){
+                out.writeDouble(distance);
+            }
+            for(double distance : toLandmark){
+                out.writeDouble(distance);
+            }
+        }
+    }
+
+    /**
+     * Reads a heuristic written by {@link #save} for <var>graph</var>
+     *
+     * @param file file to read from
+     * @param graph graph the heuristic is for
+     * @return the heuristic in <var>file</var>, or null if <var>file</var> was saved for a different graph
+     * @throws IOException if the file cannot be read or is not a saved heuristic
+     */
+    public static LandmarkHeuristic load(Path file, CompactGraph<?> graph) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))){
+            if(in.readInt() != MAGIC){
+                throw new IOException("Not a saved landmark heuristic: " + file);
+            }
+            long savedFingerprint = in.readLong();
+            if(savedFingerprint != fingerprint(graph)){
+                return null;
+            }
+            int entries = in.readInt();
+            int count = in.readInt();
+            if(count < 0 || entries != graph.nodeCount() * count){
+                throw new IOException("Corrupt landmark heuristic: " + file);
+            }
+            int[] landmarks = new int[count];
+            for(int i = 0; i < count; i++){
+                landmarks[i] = in.readInt();
+            }
+            double[] fromLandmark = new double[entries];
+            double[] toLandmark = new double[entries];
+            for(int i = 0; i < entries; i++){
+                fromLandmark[i] = in.readDouble();
+            }
+            for(int i = 0; i < entries; i++){
+                toLandmark[i] = in.readDouble();
+            }
+            return new LandmarkHeuristic(landmarks, fromLandmark, toLandmark, savedFingerprint);
+        }
+    }
+
+    //hash of the nodes and edges of graph, so a saved heuristic is only loaded for the graph it was computed on
+    private static long fingerprint(CompactGraph<?> graph){
+        long hash = 31L * graph.nodeCount() + graph.edgeCount();
+        for(int v = 0; v < graph.nodeCount(); v++){
+            hash = 31 * hash + graph.nodeAt(v).hashCode();
+            for(int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++){
+                hash = 31 * hash + graph.target(e);
+                hash = 31 * hash + Double.doubleToLongBits(graph.weight(e));
+            }
+        }
+        return hash;
+    }
+
+    private void checkRep(){
+        assert landmarks != null && fromLandmark != null && toLandmark != null;
+        assert fromLandmark.length == toLandmark.length;
+        assert landmarks.length == 0 || fromLandmark.length % landmarks.length == 0;
+    }
+}
@@ -0,0 +1,152 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * <b>RouteTable</b> holds the shortest paths between every pair of a fixed set of endpoints in a CompactGraph, such
+ * as the buildings of a map. It keeps the shortest path tree from each endpoint as one parent edge per node and a
+ * table of the distances between endpoints, so a path is only built when it is asked for and a distance is a
+ * single array read. The trees are computed with one Dijkstra's per endpoint, run in parallel, and each is the
+ * tree Dijkstra's builds, so the paths are the ones {@link DijkstraSearch} finds. This class is immutable.
+ *
+ * @param <T> node type of the graph
+ */
+public class RouteTable<T> {
+
+    //graph the routes are in
+    private final CompactGraph<T> graph;
+    //maps each endpoint to its row
+    private final Map<T, Integer> rows;
+    //distances[i * rows.size() + j] is the distance from endpoint i to endpoint j
+    private final double[] distances;
+    //parentEdges[i * graph.nodeCount() + v] is the last edge on the shortest path from endpoint i to node v, or
+    //-1 if v is endpoint i or is unreachable from it
+    private final int[] parentEdges;
+
+    //  Abstraction Function:
+    //      AF(this) = for each endpoint s with row i, the shortest path tree of graph rooted at s in which the
+    //          tree path to node v ends with edge parentEdges[i * graph.nodeCount() + v], together with the
+    //          length of the tree path to every other endpoint in distances, infinity marking no path
+    //
+    //  Rep Invariant:
+    //      graph, rows, distances, parentEdges != null &&
+    //      rows maps the endpoints to 0..rows.size()-1 &&
+    //      distances.length == rows.size() * rows.size() && parentEdges.length == rows.size() * graph.nodeCount()
+
+    private RouteTable(CompactGraph<T> graph, Map<T, Integer> rows, double[] distances, int[] parentEdges){
+        this.graph = graph;
+        this.rows = rows;
+        this.distances = distances;
+        this.parentEdges = parentEdges;
+        checkRep();
+    }
+
+    /**
+     * Computes the shortest paths between every pair of <var>endpoints</var>, with one Dijkstra's per endpoint
+     * run in parallel
+     *
+     * @param graph graph to find paths in
+     * @param endpoints nodes the paths start and end at, where repeats are ignored
+     * @param <T> node type
+     * @spec.requires graph, endpoints != null AND every endpoint is a node of graph AND all edges of graph are
+     *      non-negative
+     * @return the table of shortest paths between <var>endpoints</var>
+     */
+    public static <T> RouteTable<T> compute(CompactGraph<T> graph, Collection<T> endpoints){
+        Map<T, Integer> rows = new HashMap<>();
+        List<Integer> ids = new ArrayList<>();
+        for(T endpoint : endpoints){
+            if(!rows.containsKey(endpoint)){
+                rows.put(endpoint, rows.size());
+                ids.add(graph.indexOf(endpoint));
+            }
+        }
+        int count = ids.size();
+        int nodes = graph.nodeCount();
+        double[] distances = new double[count * count];
+        int[] parentEdges = new int[count * nodes];
+        IntStream.range(0, count).parallel().forEach(row -> {
+            //a workspace of the task's own, so the pool threads do not keep one the size of the graph afterwards
+            SearchWorkspace workspace = new SearchWorkspace(nodes);
+            DijkstraSearch<T> search = new DijkstraSearch<>(graph, Heuristic.NONE, workspace);
+            search.run(ids.get(row), -1);
+            for(int v = 0; v < nodes; v++){
+                parentEdges[row * nodes + v] = search.isSettled(v) ? search.parentEdge(v) : -1;
+            }
+            for(int column = 0; column < count; column++){
+                int id = ids.get(column);
+                distances[row * count + column] =
+                        search.isSettled(id) ? search.distance(id) : Double.POSITIVE_INFINITY;
+            }
+        });
+        return new RouteTable<>(graph, Collections.unmodifiableMap(rows), distances, parentEdges);
+    }
+
+    /**
+     * @param node a node of the graph
+     * @return true iff <var>node</var> is one of the endpoints of this
+     */
+    public boolean isEndpoint(T node){
+        return rows.containsKey(node);
+    }
+
+    /**
+     * Looks up the length of the shortest path between two endpoints
+     *
+     * @param start endpoint the path starts at
+     * @param dest endpoint the path ends at
+     * @spec.requires isEndpoint(start) AND isEndpoint(dest)
+     * @return the length of the shortest path from <var>start</var> to <var>dest</var>, or infinity if there is
+     *      none
+     */
+    public double distance(T start, T dest){
+        return distances[rows.get(start) * rows.size() + rows.get(dest)];
+    }
+
+    /**
+     * Builds the shortest path between two endpoints from the tree of <var>start</var>
+     *
+     * @param start endpoint the path starts at
+     * @param dest endpoint the path ends at
+     * @spec.requires isEndpoint(start) AND isEndpoint(dest)
+     * @return the shortest Path from <var>start</var> to <var>dest</var>, or null if there is none.
+     *      Will return an empty Path if start.equals(dest)
+     */
+    public Path<T> path(T start, T dest){
+        if(distance(start, dest) == Double.POSITIVE_INFINITY){
+            return null;
+        }
+        int base = rows.get(start) * graph.nodeCount();
+        int length = 0;
+        for(int curr = graph.indexOf(dest); parentEdges[base + curr] != -1;
+                curr = graph.source(parentEdges[base + curr])){
+            length++;
+        }
+        //walks back from dest, filling in the segments from the end of the path
+        List<T> ends = new ArrayList<>(Collections.nCopies(length, null));
+        double[] costs = new double[length];
+        int curr = graph.indexOf(dest);
+        for(int i = length - 1; i >= 0; i--){
+            int edge = parentEdges[base + curr];
+            ends.set(i, graph.nodeAt(curr));
+            costs[i] = graph.weight(edge);
+            curr = graph.source(edge);
+        }
+        return Path.of(graph.nodeAt(curr), ends, costs);
+    }
+
+    private void checkRep(){
+        assert graph != null && rows != null && distances != null && parentEdges != null;
+        assert distances.length == rows.size() * rows.size();
+        assert parentEdges.length == rows.size() * graph.nodeCount();
+    }
+}
@@ -0,0 +1,45 @@
+package pathfinder.search;
+
+/**
+ * Thrown by a search that gave up before finishing because it reached one of its {@link SearchLimits}.
+ */
+public class SearchLimitExceededException extends RuntimeException {
+
+    /**
+     * The limit a search reached.
+     */
+    public enum Reason {
+        /**
+         * The search settled as many nodes as it may.
+         */
+        SETTLED,
+        /**
+         * The deadline of the search passed.
+         */
+        DEADLINE,
+        /**
+         * The cancellation token of the search was cancelled.
+         */
+        CANCELLED
+    }
+
+    //the limit that was reached
+    private final Reason reason;
+
+    /**
+     * @spec.effects Constructs a new exception for a search that reached the limit <var>reason</var>
+     * @param reason the limit that was reached
+     * @spec.requires reason != null
+     */
+    public SearchLimitExceededException(Reason reason){
+        super("Search stopped: " + reason);
+        this.reason = reason;
+    }
+
+    /**
+     * @return the limit the search reached
+     */
+    public Reason getReason(){
+        return reason;
+    }
+}
@@ -0,0 +1,136 @@
+package pathfinder.search;
+
+import java.time.Duration;
+
+/**
+ * <b>SearchLimits</b> bound how much work one query may do: the most nodes its search may settle, a wall clock
+ * deadline, and a cancellation token. A search checks them as it settles nodes and throws a
+ * {@link SearchLimitExceededException} once one is reached. The node count is checked at every node, and the clock
+ * and token only every few hundred nodes, so that checking costs little next to settling. This class is immutable,
+ * and each with method returns a new SearchLimits.
+ */
+public class SearchLimits {
+
+    /**
+     * The limits of a search that may run until it finishes.
+     */
+    public static final SearchLimits NONE = new SearchLimits(Integer.MAX_VALUE, false, 0, null);
+
+    //the clock and token are only read when the number of settled nodes is a multiple of CHECK_MASK + 1
+    private static final int CHECK_MASK = 255;
+
+    //most nodes the search may settle
+    private final int maxSettled;
+    //whether there is a deadline, and the System.nanoTime() it passes at
+    private final boolean hasDeadline;
+    private final long deadline;
+    //token that cancels the search, or null if it cannot be cancelled
+    private final CancellationToken cancellation;
+
+    //  Abstraction Function:
+    //      AF(this) = limits under which a search may settle maxSettled nodes, must finish before System.nanoTime()
+    //          reaches deadline iff hasDeadline, and must stop once cancellation is cancelled unless it is null
+    //
+    //  Rep Invariant:
+    //      maxSettled > 0
+
+    private SearchLimits(int maxSettled, boolean hasDeadline, long deadline, CancellationToken cancellation){
+        this.maxSettled = maxSettled;
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+        this.cancellation = cancellation;
+        checkRep();
+    }
+
+    /**
+     * @param maxSettled the most nodes a search may settle
+     * @return these limits, except that a search may settle at most <var>maxSettled</var> nodes
+     * @throws IllegalArgumentException if <var>maxSettled</var> is not positive
+     */
+    public SearchLimits withMaxSettled(int maxSettled){
+        if(maxSettled <= 0){
+            throw new IllegalArgumentException("Settled node limit must be positive.");
+        }
+        return new SearchLimits(maxSettled, hasDeadline, deadline, cancellation);
+    }
+
+    /**
+     * @param deadline the value of System.nanoTime() after which a search must stop
+     * @return these limits, except that a search must stop once <var>deadline</var> passes
+     */
+    public SearchLimits withDeadline(long deadline){
+        return new SearchLimits(maxSettled, true, deadline, cancellation);
+    }
+
+    /**
+     * @param timeout how long from now a search may run
+     * @spec.requires timeout != null
+     * @return these limits, except that a search must stop once <var>timeout</var> has passed from now, so they
+     *      should be made when the query they limit starts
+     */
+    public SearchLimits withTimeout(Duration timeout){
+        return withDeadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @param cancellation token that cancels a search
+     * @spec.requires cancellation != null
+     * @return these limits, except that a search must stop once <var>cancellation</var> is cancelled
+     */
+    public SearchLimits withCancellation(CancellationToken cancellation){
+        return new SearchLimits(maxSettled, hasDeadline, deadline, cancellation);
+    }
+
+    /**
+     * @return the most nodes a search may settle
+     */
+    public int maxSettled(){
+        return maxSettled;
+    }
+
+    /**
+     * Checks that a search that has just settled its <var>settled</var>-th node may go on
+     *
+     * @param settled number of nodes the search has settled
+     * @throws SearchLimitExceededException if the search has settled more than maxSettled() nodes, or, when
+     *      <var>settled</var> is a multiple of 256, if the deadline has passed or the token was cancelled
+     */
+    public void check(int settled){
+        if(settled > maxSettled){
+            throw new SearchLimitExceededException(SearchLimitExceededException.Reason.SETTLED);
+        }
+        if((settled & CHECK_MASK) == 0){
+            checkNow();
+        }
+    }
+
+    /**
+     * Checks the deadline and cancellation token, such as before a query that needs no search
+     *
+     * @throws SearchLimitExceededException if the deadline has passed or the token was cancelled
+     */
+    public void checkNow(){
+        if(cancellation != null && cancellation.isCancelled()){
+            throw new SearchLimitExceededException(SearchLimitExceededException.Reason.CANCELLED);
+        }
+        if(hasDeadline && System.nanoTime() - deadline > 0){
+            throw new SearchLimitExceededException(SearchLimitExceededException.Reason.DEADLINE);
+        }
+    }
+
+    /**
+     * Tells how long a query that is waiting rather than searching, such as for another thread's search, may wait
+     * before it must check these limits again
+     *
+     * @param most the longest to wait, in nanoseconds, so that the token is checked that often
+     * @spec.requires most &gt; 0
+     * @return the nanoseconds until the deadline, or <var>most</var> if that is sooner or there is no deadline
+     */
+    public long nanosToWait(long most){
+        return hasDeadline ? Math.min(most, Math.max(0, deadline - System.nanoTime())) : most;
+    }
+
+    private void checkRep(){
+        assert maxSettled > 0;
+    }
+}
@@ -0,0 +1,172 @@
+package pathfinder.search;
+
+import pathfinder.datastructures.IndexedHeap;
+import pathfinder.datastructures.IndexedPriorityQueue;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * <b>SearchWorkspace</b> holds the per-node arrays and the frontier of a shortest path search, so that they can be
+ * reused by one search after another instead of being allocated for each. Rather than clearing the arrays between
+ * searches, each search gets a new generation number, and an entry only counts if it was stamped with the current
+ * generation. Starting a search therefore costs the same however large the graph is. A workspace may only be used
+ * by one search at a time, and the results of a search are only valid until the next search on its workspace
+ * begins.
+ */
+public class SearchWorkspace {
+
+    //one workspace per thread, grown to fit the largest graph that thread has searched
+    private static final ThreadLocal<SearchWorkspace> CURRENT = ThreadLocal.withInitial(() -> new SearchWorkspace(0));
+
+    //number of nodes the arrays can hold
+    private int capacity;
+    //shortest known distance to each reached node
+    private double[] dist;
+    //node before and edge into each reached node on its shortest known path, or -1 for the source
+    private int[] parent;
+    private int[] parentEdge;
+    //generation each node was last reached, settled or marked in
+    private int[] reached;
+    private int[] settled;
+    private int[] marked;
+    //makes a frontier queue for a given number of nodes
+    private final IntFunction<? extends IndexedPriorityQueue> queues;
+    //reached nodes that are not settled
+    private IndexedPriorityQueue frontier;
+    //generation of the current search
+    private int generation;
+
+    //  Abstraction Function:
+    //      AF(this) = the state of the current search, in which node v has been reached with distance dist[v]
+    //          along an edge parentEdge[v] from parent[v] (unless only its distance was recorded) iff
+    //          reached[v] == generation, settled iff settled[v] == generation, and marked iff
+    //          marked[v] == generation, and the frontier is frontier
+    //
+    //  Rep Invariant:
+    //      all arrays have length capacity && queues, frontier != null && generation > 0 &&
+    //      no entry of reached, settled or marked is greater than generation
+
+    /**
+     * @spec.effects Constructs a new workspace for searches over graphs with at most <var>capacity</var> nodes
+     * @param capacity the number of nodes to make room for
+     * @spec.requires capacity &gt;= 0
+     */
+    public SearchWorkspace(int capacity){
+        this(capacity, IndexedHeap::new);
+    }
+
+    /**
+     * @spec.effects Constructs a new workspace for searches over graphs with at most <var>capacity</var> nodes,
+     *      whose frontier is a queue made by <var>queues</var>
+     * @param capacity the number of nodes to make room for
+     * @param queues makes an empty queue that can hold the given number of ids, such as RadixHeap::new for
+     *      searches whose frontier keys never decrease
+     * @spec.requires capacity &gt;= 0 AND queues != null
+     */
+    public SearchWorkspace(int capacity, IntFunction<? extends IndexedPriorityQueue> queues){
+        this.queues = queues;
+        allocate(capacity);
+        checkRep();
+    }
+
+    /**
+     * Gets the workspace of the current thread, grown to fit a graph with <var>nodes</var> nodes. Searches that
+     * do not outlive the call that made them can share it, since a thread runs one search at a time.
+     *
+     * @param nodes number of nodes in the graph to be searched
+     * @return the workspace of the current thread
+     */
+    public static SearchWorkspace forThread(int nodes){
+        SearchWorkspace workspace = CURRENT.get();
+        if(workspace.capacity < nodes){
+            workspace.allocate(nodes);
+        }
+        return workspace;
+    }
+
+    private void allocate(int nodes){
+        capacity = nodes;
+        dist = new double[nodes];
+        parent = new int[nodes];
+        parentEdge = new int[nodes];
+        reached = new int[nodes];
+        settled = new int[nodes];
+        marked = new int[nodes];
+        frontier = queues.apply(nodes);
+        generation = 1;
+    }
+
+    /**
+     * Starts a new search over a graph with <var>nodes</var> nodes, forgetting everything about the last one
+     *
+     * @param nodes number of nodes in the graph to be searched
+     * @spec.requires nodes &lt;= the capacity of this
+     * @spec.modifies this
+     */
+    void begin(int nodes){
+        assert nodes <= capacity;
+        frontier.clear();
+        if(generation == Integer.MAX_VALUE){
+            //stamps from this many searches ago could look current again, so every stamp is reset once
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+            Arrays.fill(marked, 0);
+            generation = 0;
+        }
+        generation++;
+    }
+
+    IndexedPriorityQueue frontier(){
+        return frontier;
+    }
+
+    //distance to node, or infinity if it has not been reached in this search
+    double dist(int node){
+        return reached[node] == generation ? dist[node] : Double.POSITIVE_INFINITY;
+    }
+
+    int parent(int node){
+        return reached[node] == generation ? parent[node] : -1;
+    }
+
+    int parentEdge(int node){
+        return reached[node] == generation ? parentEdge[node] : -1;
+    }
+
+    //records a distance to node without the edge it came along, for searches that never build paths, after which
+    //parent and parentEdge of node are meaningless until it is reached again
+    void improve(int node, double distance){
+        reached[node] = generation;
+        dist[node] = distance;
+    }
+
+    void reach(int node, double distance, int from, int edge){
+        reached[node] = generation;
+        dist[node] = distance;
+        parent[node] = from;
+        parentEdge[node] = edge;
+    }
+
+    boolean isSettled(int node){
+        return settled[node] == generation;
+    }
+
+    void settle(int node){
+        settled[node] = generation;
+    }
+
+    boolean isMarked(int node){
+        return marked[node] == generation;
+    }
+
+    void mark(int node){
+        marked[node] = generation;
+    }
+
+    private void checkRep(){
+        assert dist.length == capacity && parent.length == capacity && parentEdge.length == capacity;
+        assert reached.length == capacity && settled.length == capacity && marked.length == capacity;
+        assert queues != null && frontier != null && generation > 0;
+    }
+}
@@ -0,0 +1,215 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+
+import java.util.Arrays;
+
+/**
+ * <b>StronglyConnectedComponents</b> labels each node of a CompactGraph with its strongly connected component:
+ * two nodes are in the same component iff each can reach the other. Components are found with an iterative
+ * version of Tarjan's algorithm, so deep graphs do not overflow the stack, and are numbered in the order Tarjan's
+ * completes them, which puts every component after all of the components it can reach. When there are not too
+ * many components, it also stores which components each can reach, so whether one node can reach another is
+ * answered exactly without a search. This class is immutable.
+ */
+public class StronglyConnectedComponents {
+
+    //most components for which the components each one reaches are stored, which takes count * count bits
+    private static final int MAX_CLOSURE_COMPONENTS = 4096;
+
+    //component of each node
+    private final int[] component;
+    //number of components
+    private final int count;
+    //bit d of reaches[c * words + d / 64] is set iff component c can reach component d, or null if there were
+    //too many components to store it
+    private final long[] reaches;
+    //number of longs in a row of reaches
+    private final int words;
+
+    //  Abstraction Function:
+    //      AF(this) = the partition of the nodes of a graph into components 0..count-1, where node v is in
+    //          component[v], and component c can reach component d iff the bit for d in row c of reaches is set
+    //
+    //  Rep Invariant:
+    //      component != null && 0 <= component[v] < count for all v &&
+    //      an edge from component c to a different component d implies c > d &&
+    //      reaches == null || reaches.length == count * words
+
+    private StronglyConnectedComponents(int[] component, int count, long[] reaches, int words){
+        this.component = component;
+        this.count = count;
+        this.reaches = reaches;
+        this.words = words;
+        checkRep();
+    }
+
+    /**
+     * Finds the strongly connected components of <var>graph</var>
+     *
+     * @param graph graph to label
+     * @spec.requires graph != null
+     * @return the strongly connected components of <var>graph</var>
+     */
+    public static StronglyConnectedComponents of(CompactGraph<?> graph){
+        int nodes = graph.nodeCount();
+        int[] component = new int[nodes];
+        int count = label(graph, component);
+        if(count > MAX_CLOSURE_COMPONENTS){
+            return new StronglyConnectedComponents(component, count, null, 0);
+        }
+        //nodes grouped by component, so each component's edges are read after those of the components it reaches
+        int[] starts = new int[count + 1];
+        for(int c : component){
+            starts[c + 1]++;
+        }
+        for(int c = 0; c < count; c++){
+            starts[c + 1] += starts[c];
+        }
+        int[] next = Arrays.copyOf(starts, count);
+        int[] members = new int[nodes];
+        for(int v = 0; v < nodes; v++){
+            members[next[component[v]]++] = v;
+        }
+        int words = (count + 63) / 64;
+        long[] reaches = new long[count * words];
+        for(int c = 0; c < count; c++){
+            reaches[c * words + c / 64] |= 1L << (c % 64);
+            for(int i = starts[c]; i < starts[c + 1]; i++){
+                int v = members[i];
+                for(int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++){
+                    int d = component[graph.target(e)];
+                    if(d != c){
+                        for(int w = 0; w < words; w++){
+                            reaches[c * words + w] |= reaches[d * words + w];
+                        }
+                    }
+                }
+            }
+        }
+        return new StronglyConnectedComponents(component, count, reaches, words);
+    }
+
+    //Tarjan's algorithm with explicit stacks, filling in the component of each node and returning the count
+    private static int label(CompactGraph<?> graph, int[] component){
+        int nodes = graph.nodeCount();
+        //order each node was first visited in, or -1 if not yet visited
+        int[] index = new int[nodes];
+        //lowest index reachable from each node through its subtree and one more edge to a node still on the stack
+        int[] low = new int[nodes];
+        //next out edge of each node on the call stack to look at
+        int[] nextEdge = new int[nodes];
+        //nodes visited whose components are not finished, and the nodes whose edges are being explored
+        int[] stack = new int[nodes];
+        int[] calls = new int[nodes];
+        boolean[] onStack = new boolean[nodes];
+        Arrays.fill(index, -1);
+        int visited = 0;
+        int stackSize = 0;
+        int count = 0;
+        for(int root = 0; root < nodes; root++){
+            if(index[root] != -1){
+                continue;
+            }
+            int callSize = 0;
+            index[root] = low[root] = visited++;
+            nextEdge[root] = graph.edgeStart(root);
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            calls[callSize++] = root;
+            while(callSize > 0){
+                int v = calls[callSize - 1];
+                if(nextEdge[v] < graph.edgeEnd(v)){
+                    int w = graph.target(nextEdge[v]++);
+                    if(index[w] == -1){
+                        index[w] = low[w] = visited++;
+                        nextEdge[w] = graph.edgeStart(w);
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        calls[callSize++] = w;
+                    } else if(onStack[w]){
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                //all edges of v are explored, so return to the node that called it
+                callSize--;
+                if(callSize > 0){
+                    int caller = calls[callSize - 1];
+                    low[caller] = Math.min(low[caller], low[v]);
+                }
+                if(low[v] == index[v]){
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = count;
+                    } while(w != v);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of strongly connected components
+     */
+    public int componentCount(){
+        return count;
+    }
+
+    /**
+     * @param node id of a node
+     * @spec.requires node is a node id of the graph
+     * @return the component of <var>node</var>, between 0 and componentCount() - 1
+     */
+    public int componentOf(int node){
+        return component[node];
+    }
+
+    /**
+     * @return true iff {@link #mayReach} is exact, which is the case unless the graph had too many components
+     */
+    public boolean isExact(){
+        return reaches != null;
+    }
+
+    /**
+     * Tells whether there may be a path from <var>source</var> to <var>target</var>, without searching
+     *
+     * @param source id of the node the path would start at
+     * @param target id of the node the path would end at
+     * @spec.requires source and target are node ids of the graph
+     * @return false if there is no path from <var>source</var> to <var>target</var>. If isExact(), returns true
+     *      iff there is such a path
+     */
+    public boolean mayReach(int source, int target){
+        int from = component[source];
+        int to = component[target];
+        if(from == to){
+            return true;
+        }
+        //a path only ever leads to lower numbered components
+        if(from < to){
+            return false;
+        }
+        return reaches == null || (reaches[from * words + to / 64] & (1L << (to % 64))) != 0;
+    }
+
+    /**
+     * Returns a heuristic that estimates 0 for nodes that may reach the target and infinity for nodes that cannot,
+     * so that a search guided by it never explores nodes the target cannot be reached from. It can be combined
+     * with another heuristic through {@link Heuristic#max}.
+     *
+     * @return a consistent heuristic that prunes nodes that cannot reach the target
+     */
+    public Heuristic pruning(){
+        return (node, target) -> mayReach(node, target) ? 0 : Double.POSITIVE_INFINITY;
+    }
+
+    private void checkRep(){
+        assert component != null && count >= 0;
+        assert reaches == null || reaches.length == count * words;
+    }
+}
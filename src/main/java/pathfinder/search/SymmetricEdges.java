@@ -0,0 +1,135 @@
+package pathfinder.search;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <b>SymmetricEdges</b> pairs each edge of a CompactGraph with an edge that goes the opposite way with the same
+ * weight, where there is one. A path made only of such edges can be walked backwards for the same cost, so the
+ * reverse of a shortest path from A to B is a path from B to A. When the graph is symmetric (see
+ * {@link CompactGraph#isSymmetric()}), the distance from B to A is the distance from A to B, so that reversed path is
+ * also a shortest one, and a route already found one way answers the other way without a search. This class is
+ * immutable.
+ *
+ * @param <T> node type of the graph
+ */
+public class SymmetricEdges<T> {
+
+    //graph whose edges are paired
+    private final CompactGraph<T> graph;
+    //an edge from the target of each edge to its source with the same weight, or -1 if there is none
+    private final int[] reverse;
+    //number of edges that have a reverse
+    private final int symmetricCount;
+
+    //  Abstraction Function:
+    //      AF(this) = the pairing of each edge e of graph with the edge reverse[e] that undoes it, or with no edge
+    //          if reverse[e] == -1
+    //
+    //  Rep Invariant:
+    //      graph, reverse != null && reverse.length == graph.edgeCount() &&
+    //      reverse[e] != -1 implies graph.source(reverse[e]) == graph.target(e) &&
+    //          graph.target(reverse[e]) == graph.source(e) && graph.weight(reverse[e]) == graph.weight(e) &&
+    //      symmetricCount == the number of e with reverse[e] != -1
+
+    private SymmetricEdges(CompactGraph<T> graph, int[] reverse, int symmetricCount){
+        this.graph = graph;
+        this.reverse = reverse;
+        this.symmetricCount = symmetricCount;
+        checkRep();
+    }
+
+    /**
+     * Pairs the edges of <var>graph</var> with their reverses
+     *
+     * @param graph graph whose edges to pair
+     * @param <T> node type of the graph
+     * @spec.requires graph != null
+     * @return the pairing of the edges of <var>graph</var>
+     */
+    public static <T> SymmetricEdges<T> of(CompactGraph<T> graph){
+        int[] reverse = new int[graph.edgeCount()];
+        int symmetricCount = 0;
+        for(int node = 0; node < graph.nodeCount(); node++){
+            for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){
+                reverse[e] = edgeBetween(graph, graph.target(e), node, graph.weight(e));
+                if(reverse[e] != -1){
+                    symmetricCount++;
+                }
+            }
+        }
+        return new SymmetricEdges<>(graph, reverse, symmetricCount);
+    }
+
+    //an edge from source to target with the given weight, or -1 if there is none
+    private static int edgeBetween(CompactGraph<?> graph, int source, int target, double weight){
+        for(int e = graph.edgeStart(source); e < graph.edgeEnd(source); e++){
+            if(graph.target(e) == target && graph.weight(e) == weight){
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param edge id of an edge
+     * @return the id of an edge from the target of <var>edge</var> to its source with the same weight, or -1 if
+     *      there is none
+     */
+    public int reverseOf(int edge){
+        return reverse[edge];
+    }
+
+    /**
+     * @return the number of edges that have a reverse
+     */
+    public int symmetricCount(){
+        return symmetricCount;
+    }
+
+    /**
+     * @return the fraction of the edges of the graph that have a reverse, or 1 if it has no edges
+     */
+    public double symmetricFraction(){
+        return reverse.length == 0 ? 1 : (double) symmetricCount / reverse.length;
+    }
+
+    /**
+     * Walks <var>path</var> backwards along the reverse of each of its edges. If the graph is symmetric and
+     * <var>path</var> is a shortest path, so is the result.
+     *
+     * @param path a path along edges of the graph
+     * @spec.requires path != null
+     * @return a path from the end of <var>path</var> to its start with the same segment costs in reverse order, or
+     *      null if some segment of <var>path</var> is not an edge of the graph that has a reverse
+     */
+    public Path<T> reverse(Path<T> path){
+        List<T> starts = new ArrayList<>();
+        List<Double> costs = new ArrayList<>();
+        for(Path<T>.Segment segment : path){
+            int edge = edgeBetween(graph, graph.indexOf(segment.getStart()), graph.indexOf(segment.getEnd()),
+                    segment.getCost());
+            if(edge == -1 || reverse[edge] == -1){
+                return null;
+            }
+            starts.add(segment.getStart());
+            costs.add(segment.getCost());
+        }
+        //the segments are walked from the last, so each ends at the start of the one before it
+        Collections.reverse(starts);
+        double[] reversedCosts = new double[costs.size()];
+        for(int i = 0; i < reversedCosts.length; i++){
+            reversedCosts[i] = costs.get(costs.size() - 1 - i);
+        }
+        return Path.of(path.getEnd(), starts, reversedCosts);
+    }
+
+    private void checkRep(){
+        assert graph != null && reverse != null && reverse.length == graph.edgeCount();
+        assert symmetricCount >= 0 && symmetricCount <= reverse.length;
+    }
+}
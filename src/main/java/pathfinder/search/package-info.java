@@ -0,0 +1,2 @@
+/** Shortest path search engines that run over the node ids of a CompactGraph */
+package pathfinder.search;
@@ -0,0 +1,190 @@
+package graph.implTest;
+
+import graph.CompactGraph;
+import graph.DataEdge;
+import graph.DirectedGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompactGraphTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    DirectedGraph<String, DataEdge<String,Double>> graph;
+
+    @Before
+    public void setUp(){
+        graph = new DirectedGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("A", new DataEdge<>("B",1.0));
+        graph.addEdge("A", new DataEdge<>("B",2.0));
+        graph.addEdge("A", new DataEdge<>("A",3.0));
+        graph.addEdge("B", new DataEdge<>("C",4.0));
+    }
+
+    @Test
+    public void testFreezeKeepsNodes(){
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        assertEquals(graph.getNodes(), compact.getNodes());
+        assertEquals(3, compact.nodeCount());
+    }
+
+    @Test
+    public void testFreezeKeepsEdges(){
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        assertEquals(4, compact.edgeCount());
+        for(String node : graph.getNodes()){
+            assertEquals(graph.getOutEdges(node), compact.getOutEdges(node));
+        }
+    }
+
+    @Test
+    public void testIdsMatchNodes(){
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        for(String node : graph.getNodes()){
+            int id = compact.indexOf(node);
+            assertEquals(node, compact.nodeAt(id));
+            assertEquals(graph.getOutEdges(node).size(), compact.outDegree(id));
+        }
+        assertEquals(-1, compact.indexOf("D"));
+    }
+
+    @Test
+    public void testSnapshotIgnoresLaterChanges(){
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        graph.addNode("D");
+        graph.addEdge("C", new DataEdge<>("D",5.0));
+        assertEquals(3, compact.nodeCount());
+        assertTrue(compact.getOutEdges("C").isEmpty());
+    }
+
+    @Test
+    public void testBuilderKeepsEdgeOrder(){
+        CompactGraph.Builder<String> builder = new CompactGraph.Builder<>();
+        builder.addEdge("B", "A", 2.0);
+        builder.addEdge("A", "B", 1.0);
+        builder.addEdge("B", "C", 3.0);
+        CompactGraph<String> compact = builder.build();
+        int b = compact.indexOf("B");
+        assertEquals(0, b);
+        assertEquals("A", compact.nodeAt(compact.target(compact.edgeStart(b))));
+        assertEquals("C", compact.nodeAt(compact.target(compact.edgeStart(b) + 1)));
+        assertEquals(3.0, compact.weight(compact.edgeStart(b) + 1), 0.0);
+    }
+
+    @Test
+    public void testSourceSkipsNodesWithoutEdges(){
+        CompactGraph.Builder<String> builder = new CompactGraph.Builder<>();
+        builder.addNode("A");
+        builder.addEdge("B", "A", 1.0);
+        builder.addNode("C");
+        builder.addNode("D");
+        builder.addEdge("D", "B", 2.0);
+        builder.addEdge("D", "C", 3.0);
+        builder.addNode("E");
+        CompactGraph<String> compact = builder.build();
+        for(int v = 0; v < compact.nodeCount(); v++){
+            for(int e = compact.edgeStart(v); e < compact.edgeEnd(v); e++){
+                assertEquals(v, compact.source(e));
+            }
+        }
+    }
+
+    @Test
+    public void testGetOutEdgesForNonExistentNode(){
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        Set<DataEdge<String,Double>> edges = compact.getOutEdges("D");
+        assertTrue(edges == null);
+    }
+
+    @Test
+    public void testReverseHasInEdges(){
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        CompactGraph<String> reverse = compact.reverse();
+        assertEquals(compact.edgeCount(), reverse.edgeCount());
+        int b = reverse.indexOf("B");
+        assertEquals(compact.indexOf("B"), b);
+        assertEquals(2, reverse.outDegree(b));
+        for(int e = reverse.edgeStart(b); e < reverse.edgeEnd(b); e++){
+            assertEquals("A", reverse.nodeAt(reverse.target(e)));
+        }
+        assertTrue(reverse.getOutEdges("C").contains(new DataEdge<>("B",4.0)));
+        assertTrue(reverse.reverse() == compact && compact.reverse() == reverse);
+    }
+
+    @Test
+    public void testSymmetricGraphIsItsOwnReverse(){
+        CompactGraph.Builder<String> builder = new CompactGraph.Builder<>();
+        builder.addEdge("A", "B", 1);
+        builder.addEdge("B", "C", 2);
+        builder.addEdge("A", "B", 1);
+        builder.addEdge("C", "B", 2);
+        builder.addEdge("B", "A", 1);
+        builder.addEdge("B", "A", 1);
+        CompactGraph<String> compact = builder.build();
+        assertTrue(compact.isSymmetric());
+        assertTrue(compact.reverse() == compact);
+        assertFalse(CompactGraph.copyOf(graph).isSymmetric());
+    }
+
+    @Test
+    public void testSymmetricHub(){
+        //a hub with more edges than are worth matching one by one, to the same spokes with different weights
+        CompactGraph.Builder<String> builder = new CompactGraph.Builder<>();
+        for(int i = 0; i < 100; i++){
+            String spoke = "S" + (i % 40);
+            builder.addEdge("HUB", spoke, i);
+        }
+        for(int i = 99; i >= 0; i--){
+            builder.addEdge("S" + (i % 40), "HUB", i);
+        }
+        CompactGraph<String> compact = builder.build();
+        assertTrue(compact.isSymmetric());
+        assertEquals(100, compact.outDegree(compact.indexOf("HUB")));
+        //one weight swapped between two edges to the same spoke is a different multiset
+        builder = new CompactGraph.Builder<>();
+        for(int i = 0; i < 100; i++){
+            builder.addEdge("HUB", "S" + (i % 40), i);
+            builder.addEdge("S" + (i % 40), "HUB", i == 5 ? 45 : i == 45 ? 6 : i);
+        }
+        assertFalse(builder.build().isSymmetric());
+    }
+
+    @Test
+    public void testNearlySymmetricGraphsAreNot(){
+        //a repeated edge without a repeated edge back
+        CompactGraph.Builder<String> repeated = new CompactGraph.Builder<>();
+        repeated.addEdge("A", "B", 1);
+        repeated.addEdge("A", "B", 1);
+        repeated.addEdge("B", "A", 1);
+        repeated.addEdge("B", "C", 1);
+        repeated.addEdge("C", "B", 1);
+        repeated.addEdge("C", "A", 1);
+        repeated.addEdge("A", "C", 1);
+        repeated.addEdge("B", "A", 5);
+        assertFalse(repeated.build().isSymmetric());
+        //an edge back that is longer
+        CompactGraph.Builder<String> longer = new CompactGraph.Builder<>();
+        longer.addEdge("A", "B", 1);
+        longer.addEdge("B", "A", 2);
+        CompactGraph<String> compact = longer.build();
+        assertFalse(compact.isSymmetric());
+        assertTrue(compact.reverse() != compact && compact.reverse().reverse() == compact);
+    }
+}
@@ -7,8 +7,12 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class DirectedGraphTest {
@@ -100,6 +104,63 @@ public class DirectedGraphTest {
         assertTrue(graph.getOutEdges("node1")== null);
     }
 
+    @Test
+    public void testOutEdgesViewReflectsChanges(){
+        graph.addNode("node1");
+        graph.addNode("node2");
+        Set<DataEdge<String,String>> view = graph.outEdgesView("node1");
+        graph.addEdge("node1",new DataEdge<>("node2","edge1"));
+        assertTrue(view.contains(new DataEdge<>("node2","edge1")) && view.size() == 1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testOutEdgesViewIsReadOnly(){
+        graph.addNode("node1");
+        graph.outEdgesView("node1").add(new DataEdge<>("node1","edge1"));
+    }
 
+    @Test
+    public void testForEachOutEdgeVisitsAllEdges(){
+        graph.addNode("node1");
+        graph.addNode("node2");
+        graph.addEdge("node1",new DataEdge<>("node2","edge1"));
+        graph.addEdge("node1",new DataEdge<>("node1","edge2"));
+        List<DataEdge<String,String>> visited = new ArrayList<>();
+        assertTrue(graph.forEachOutEdge("node1", visited::add));
+        assertEquals(graph.getOutEdges("node1"), Set.copyOf(visited));
+        assertTrue(!graph.forEachOutEdge("node3", visited::add));
+    }
+
+    @Test
+    public void testDegreeAndContainsEdge(){
+        graph.addNode("node1");
+        graph.addNode("node2");
+        graph.addEdge("node1",new DataEdge<>("node2","edge1"));
+        assertEquals(1, graph.outDegree("node1"));
+        assertEquals(0, graph.outDegree("node2"));
+        assertEquals(-1, graph.outDegree("node3"));
+        assertTrue(graph.containsEdge("node1",new DataEdge<>("node2","edge1")));
+        assertTrue(!graph.containsEdge("node2",new DataEdge<>("node1","edge1")));
+    }
+
+    @Test
+    public void testAddNodeIfAbsent(){
+        assertTrue(graph.addNodeIfAbsent("node1"));
+        graph.addEdge("node1",new DataEdge<>("node1","edge1"));
+        assertTrue(!graph.addNodeIfAbsent("node1"));
+        assertTrue(graph.containsNode("node1") && !graph.containsNode("node2"));
+        assertEquals(1, graph.outDegree("node1"));
+    }
+
+    @Test
+    public void testAddEdgesBatch(){
+        graph = new DirectedGraph<>(2);
+        graph.addNode("node1");
+        graph.addNode("node2");
+        graph.addEdges("node1", Arrays.asList(new DataEdge<>("node2","edge1"), new DataEdge<>("node1","edge2")));
+        Set<DataEdge<String,String>> edges = graph.getOutEdges("node1");
+        assertTrue(edges.contains(new DataEdge<>("node2","edge1")) &&
+                edges.contains(new DataEdge<>("node1","edge2")) && edges.size() == 2);
+    }
 
 }
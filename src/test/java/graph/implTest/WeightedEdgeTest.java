@@ -0,0 +1,67 @@
+package graph.implTest;
+
+import graph.DataEdge;
+import graph.WeightedEdge;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WeightedEdgeTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**
+     * checks that Java asserts are enabled, and exits if not
+     */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    WeightedEdge<String> edge;
+
+    @Before
+    public void setUp() {
+        edge = new WeightedEdge<>("node1", 2.5);
+    }
+
+    @Test
+    public void testGetWeight(){
+        assertEquals(2.5, edge.getWeight(), 0.0);
+        assertEquals(Double.valueOf(2.5), edge.getData());
+    }
+
+    @Test
+    public void testGetDestination(){
+        assertEquals("node1", edge.getDestination());
+    }
+
+    @Test
+    public void testEqualToDataEdgeWithSameWeight(){
+        DataEdge<String,Double> boxed = new DataEdge<>("node1", 2.5);
+        assertTrue(edge.equals(boxed) && boxed.equals(edge));
+        assertEquals(boxed.hashCode(), edge.hashCode());
+        assertTrue(!edge.equals(new DataEdge<>("node1", 3.0)));
+    }
+
+    @Test
+    public void testMixedEdgesInSet(){
+        Set<DataEdge<String,Double>> edges = new HashSet<>();
+        edges.add(edge);
+        assertTrue(edges.contains(new DataEdge<>("node1", 2.5)));
+    }
+
+    @Test
+    public void testWeightOf(){
+        assertEquals(2.5, WeightedEdge.weightOf(edge), 0.0);
+        assertEquals(4.0, WeightedEdge.weightOf(new DataEdge<>("node2", 4.0)), 0.0);
+    }
+}
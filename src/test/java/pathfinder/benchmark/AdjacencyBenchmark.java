@@ -0,0 +1,73 @@
+package pathfinder.benchmark;
+
+import graph.DataEdge;
+import graph.DirectedGraph;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import utils.Allocations;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Compares the bytes allocated per building-to-building query when Dijkstra copies the out edges of every
+ * settled node against the copy-free adjacency view of {@link DirectedGraph}.
+ * Run with {@code java pathfinder.benchmark.AdjacencyBenchmark} from the project root.
+ */
+public class AdjacencyBenchmark {
+
+  public static void main(String[] args) {
+    DirectedGraph<Point, DataEdge<Point, Double>> graph = CampusData.loadGraph();
+    List<Point> buildings = CampusData.loadBuildingPoints();
+    int queries = buildings.size() * buildings.size();
+
+    // warm up both variants so the measurement excludes class loading and compilation
+    for(int round = 0; round < 3; round++) {
+      runAll(graph, buildings, true);
+      runAll(graph, buildings, false);
+    }
+    long copying = Allocations.measure(() -> runAll(graph, buildings, true));
+    long viewing = Allocations.measure(() -> runAll(graph, buildings, false));
+
+    System.out.printf("%d queries over %d nodes%n", queries, graph.nodesView().size());
+    System.out.printf("copying getOutEdges: %,d bytes/query%n", copying / queries);
+    System.out.printf("outEdgesView:        %,d bytes/query%n", viewing / queries);
+  }
+
+  private static void runAll(DirectedGraph<Point, DataEdge<Point, Double>> graph, List<Point> buildings,
+                             boolean copying) {
+    for(Point start : buildings) {
+      for(Point end : buildings) {
+        if(copying) {
+          copyingDijkstra(graph, start, end);
+        } else {
+          WeightedPathfinder.dijkstra(graph, start, end);
+        }
+      }
+    }
+  }
+
+  // WeightedPathfinder.dijkstra as it was before the adjacency view, which copied each settled node's edges
+  private static <T> Path<T> copyingDijkstra(DirectedGraph<T, DataEdge<T, Double>> graph, T start, T dest) {
+    PriorityQueue<Path<T>> active = new PriorityQueue<>((t1, t2) -> Double.compare(t1.getCost(), t2.getCost()));
+    Set<T> known = new HashSet<>();
+    active.add(new Path<>(start));
+    while(!active.isEmpty()) {
+      Path<T> currPath = active.remove();
+      if(currPath.getEnd().equals(dest)) {
+        return currPath;
+      } else if(!known.contains(currPath.getEnd())) {
+        for(DataEdge<T, Double> currEdge : graph.getOutEdges(currPath.getEnd())) {
+          if(!known.contains(currEdge.getDestination())) {
+            active.add(currPath.extend(currEdge.getDestination(), currEdge.getData()));
+          }
+        }
+        known.add(currPath.getEnd());
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,69 @@
+package pathfinder.benchmark;
+
+import pathfinder.ModelConnector;
+import pathfinder.RouteBatch;
+import pathfinder.RouteQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compares the throughput of routing a batch of random building pairs with a serial loop of
+ * {@link ModelConnector#findShortestPath(String, String)} against {@link ModelConnector#findShortestPaths(List)}
+ * on 1 to N threads, where N is the number of processors. Run with
+ * {@code java pathfinder.benchmark.BatchRoutingBenchmark} from the project root.
+ */
+public class BatchRoutingBenchmark {
+
+  // number of building pairs in the batch
+  private static final int QUERIES = 20_000;
+
+  public static void main(String[] args) {
+    List<String> buildings = new ArrayList<>(new ModelConnector().buildingNames().keySet());
+    Random random = new Random(19);
+    List<RouteQuery> queries = new ArrayList<>(QUERIES);
+    for(int i = 0; i < QUERIES; i++) {
+      queries.add(new RouteQuery(buildings.get(random.nextInt(buildings.size())),
+          buildings.get(random.nextInt(buildings.size()))));
+    }
+
+    System.out.printf("%-16s %12s%n", "routing", "routes/s");
+    ModelConnector serial = new ModelConnector();
+    report("serial loop", () -> {
+      long start = System.nanoTime();
+      for(RouteQuery query : queries) {
+        serial.findShortestPath(query.getStart(), query.getEnd());
+      }
+      return queries.size() / ((System.nanoTime() - start) / 1e9);
+    });
+    List<Integer> threads = new ArrayList<>();
+    for(int count = 1; count < Runtime.getRuntime().availableProcessors(); count *= 2) {
+      threads.add(count);
+    }
+    threads.add(Runtime.getRuntime().availableProcessors());
+    for(int count : threads) {
+      ExecutorService executor = Executors.newFixedThreadPool(count);
+      ModelConnector model = new ModelConnector(new ModelConnector.Options().withBatchExecutor(executor));
+      report("batch, " + count + " thread", () -> {
+        RouteBatch batch = model.findShortestPaths(queries);
+        return batch.getRoutesPerSecond();
+      });
+      executor.shutdown();
+    }
+  }
+
+  private interface Run {
+    double routesPerSecond();
+  }
+
+  private static void report(String name, Run run) {
+    // warm up so the timing excludes compilation
+    for(int round = 0; round < 3; round++) {
+      run.routesPerSecond();
+    }
+    System.out.printf("%-16s %12.0f%n", name, run.routesPerSecond());
+  }
+}
@@ -0,0 +1,51 @@
+package pathfinder.benchmark;
+
+import graph.DataEdge;
+import graph.DirectedGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the campus dataset in the raw forms the benchmarks compare against.
+ */
+public class CampusData {
+
+  /**
+   * @return the campus paths as a DirectedGraph, one edge per line of campus_paths.tsv
+   */
+  public static DirectedGraph<Point, DataEdge<Point, Double>> loadGraph() {
+    return loadGraph(CampusPathsParser.parseCampusPaths());
+  }
+
+  /**
+   * @param paths parsed paths, such as those of a synthetic map
+   * @return the paths as a DirectedGraph, one edge per path
+   */
+  public static DirectedGraph<Point, DataEdge<Point, Double>> loadGraph(List<CampusPath> paths) {
+    DirectedGraph<Point, DataEdge<Point, Double>> graph = new DirectedGraph<>();
+    for(CampusPath path : paths) {
+      Point start = new Point(path.getX1(), path.getY1());
+      Point end = new Point(path.getX2(), path.getY2());
+      graph.addNodeIfAbsent(start);
+      graph.addNodeIfAbsent(end);
+      graph.addEdge(start, new DataEdge<>(end, path.getDistance()));
+    }
+    return graph;
+  }
+
+  /**
+   * @return the location of every entry of campus_buildings.tsv, in file order
+   */
+  public static List<Point> loadBuildingPoints() {
+    List<Point> points = new ArrayList<>();
+    for(CampusBuilding building : CampusPathsParser.parseCampusBuildings()) {
+      points.add(new Point(building.getX(), building.getY()));
+    }
+    return points;
+  }
+}
@@ -0,0 +1,77 @@
+package pathfinder.benchmark;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.search.DeltaSteppingSearch;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.Heuristic;
+import pathfinder.search.SearchWorkspace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times full single-source shortest path trees from sequential Dijkstra's and from delta-stepping on 1 to N
+ * threads, where N is the number of processors, on the campus graph and on synthetic grid maps of growing size.
+ * Run with {@code java -Xmx4g pathfinder.benchmark.DeltaSteppingBenchmark} from the project root.
+ */
+public class DeltaSteppingBenchmark {
+
+  // number of sources timed on each graph
+  private static final int SOURCES = 10;
+
+  public static void main(String[] args) {
+    List<Integer> threads = new ArrayList<>();
+    for(int count = 1; count < Runtime.getRuntime().availableProcessors(); count *= 2) {
+      threads.add(count);
+    }
+    threads.add(Runtime.getRuntime().availableProcessors());
+
+    System.out.printf("%-12s %10s %10s %14s", "graph", "nodes", "edges", "dijkstra (ms)");
+    for(int count : threads) {
+      System.out.printf(" %14s", count + " thread (ms)");
+    }
+    System.out.println();
+    report("campus", CompactGraph.copyOf(CampusData.loadGraph()), threads);
+    for(int side : new int[]{300, 700, 1000}) {
+      report(side + "x" + side, SyntheticMaps.compactGrid(side), threads);
+    }
+  }
+
+  private static void report(String name, CompactGraph<Point> graph, List<Integer> threads) {
+    System.out.printf("%-12s %10d %10d", name, graph.nodeCount(), graph.edgeCount());
+    SearchWorkspace workspace = new SearchWorkspace(graph.nodeCount());
+    System.out.printf(" %14.2f", time(() -> {
+      for(int i = 0; i < SOURCES; i++) {
+        new DijkstraSearch<>(graph, Heuristic.NONE, workspace).run(sourceAt(graph, i), -1);
+      }
+    }));
+    double delta = DeltaSteppingSearch.defaultDelta(graph);
+    for(int count : threads) {
+      ForkJoinPool pool = new ForkJoinPool(count);
+      System.out.printf(" %14.2f", time(() -> {
+        for(int i = 0; i < SOURCES; i++) {
+          new DeltaSteppingSearch<>(graph, delta, pool).run(sourceAt(graph, i));
+        }
+      }));
+      pool.shutdown();
+    }
+    System.out.println();
+  }
+
+  // milliseconds per source of the last of several runs of trees, so the timing excludes compilation
+  private static double time(Runnable trees) {
+    for(int round = 0; round < 3; round++) {
+      trees.run();
+    }
+    long start = System.nanoTime();
+    trees.run();
+    return (System.nanoTime() - start) / 1e6 / SOURCES;
+  }
+
+  // the i-th of SOURCES nodes spread over the graph
+  private static int sourceAt(CompactGraph<Point> graph, int i) {
+    return (int) ((long) i * graph.nodeCount() / SOURCES);
+  }
+}
@@ -0,0 +1,51 @@
+package pathfinder.benchmark;
+
+import pathfinder.ModelConnector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the time per building-to-building distance when building the whole path and taking its cost, against
+ * the distance-only queries of {@link ModelConnector}. Run with {@code java pathfinder.benchmark.DistanceBenchmark}
+ * from the project root.
+ */
+public class DistanceBenchmark {
+
+  public static void main(String[] args) {
+    ModelConnector model = new ModelConnector();
+    List<String> buildings = new ArrayList<>(model.buildingNames().keySet());
+    int queries = buildings.size() * buildings.size();
+
+    System.out.printf("%-28s %12s%n", "query", "us/distance");
+    report("findShortestPath().getCost()", queries, () -> {
+      for(String start : buildings) {
+        for(String end : buildings) {
+          model.findShortestPath(start, end).getCost();
+        }
+      }
+    });
+    report("shortestDistance", queries, () -> {
+      for(String start : buildings) {
+        for(String end : buildings) {
+          model.shortestDistance(start, end);
+        }
+      }
+    });
+    report("shortestDistances (batch)", queries, () -> {
+      for(String start : buildings) {
+        model.shortestDistances(start, buildings);
+      }
+    });
+  }
+
+  private static void report(String name, int queries, Runnable all) {
+    // warm up so the timing excludes compilation
+    for(int round = 0; round < 3; round++) {
+      all.run();
+    }
+    long start = System.nanoTime();
+    all.run();
+    System.out.printf("%-28s %12.2f%n", name, (System.nanoTime() - start) / 1e3 / queries);
+  }
+}
@@ -0,0 +1,84 @@
+package pathfinder.benchmark;
+
+import graph.CompactGraph;
+import graph.DataEdge;
+import graph.DirectedGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap taken by the paths of the campus map and of a synthetic map of about a million paths, as the
+ * DirectedGraph the paths are loaded into, as a CompactGraph with the reverse index that bidirectional searches use
+ * stored as a copy, and as a CompactGraph that is its own reverse index. Both CompactGraphs still store each
+ * walkway once in each direction, as the DirectedGraph does; sharing the reverse only drops the copy of the index.
+ * Run with {@code java -Xmx4g pathfinder.benchmark.FootprintBenchmark} from the project root.
+ */
+public class FootprintBenchmark {
+
+  // a 500 by 500 grid has 998,000 paths
+  private static final int SYNTHETIC_SIDE = 500;
+
+  public static void main(String[] args) {
+    System.out.printf("%-12s %10s %16s %16s %16s%n", "graph", "paths", "directed (MB)", "copied rev (MB)",
+            "shared rev (MB)");
+    report("campus", () -> CampusData.loadGraph());
+    List<CampusPath> paths = SyntheticMaps.gridPaths(SYNTHETIC_SIDE, SYNTHETIC_SIDE, SYNTHETIC_SIDE);
+    report(SYNTHETIC_SIDE + "x" + SYNTHETIC_SIDE, () -> CampusData.loadGraph(paths));
+  }
+
+  private static void report(String name, Supplier<DirectedGraph<Point, DataEdge<Point, Double>>> loader) {
+    DirectedGraph<Point, DataEdge<Point, Double>> directed = loader.get();
+    CompactGraph<Point> compact = CompactGraph.copyOf(directed);
+    double directedSize = footprint(() -> loader.get());
+    double separate = footprint(() -> {
+      CompactGraph<Point> graph = CompactGraph.copyOf(directed);
+      return new Object[]{graph, reversedCopy(graph)};
+    });
+    double shared = footprint(() -> {
+      CompactGraph<Point> graph = CompactGraph.copyOf(directed);
+      graph.reverse();
+      return graph;
+    });
+    System.out.printf("%-12s %10d %16.2f %16.2f %16.2f%n", name, compact.edgeCount(), directedSize, separate,
+            shared);
+    if(!compact.isSymmetric()) {
+      System.out.println("  (not symmetric, so both CompactGraph columns keep a separate reverse)");
+    }
+  }
+
+  // megabytes of heap still reachable from what builder makes, measured after collecting garbage
+  private static double footprint(Supplier<Object> builder) {
+    long before = usedHeap();
+    Object kept = builder.get();
+    long after = usedHeap();
+    // keeps kept reachable until after the second measurement
+    Reference.reachabilityFence(kept);
+    return (after - before) / (1024.0 * 1024.0);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for(int i = 0; i < 4; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  // a reverse index of graph stored apart from it, as CompactGraph.reverse() builds for graphs that are not symmetric
+  private static CompactGraph<Point> reversedCopy(CompactGraph<Point> graph) {
+    CompactGraph.Builder<Point> builder = new CompactGraph.Builder<>(graph.nodeCount(), graph.edgeCount());
+    for(int v = 0; v < graph.nodeCount(); v++) {
+      builder.addNode(graph.nodeAt(v));
+    }
+    for(int v = 0; v < graph.nodeCount(); v++) {
+      for(int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+        builder.addEdge(graph.target(e), v, graph.weight(e));
+      }
+    }
+    return builder.build();
+  }
+}
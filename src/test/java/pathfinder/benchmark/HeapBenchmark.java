@@ -0,0 +1,66 @@
+package pathfinder.benchmark;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.IndexedHeap;
+import pathfinder.datastructures.IndexedPriorityQueue;
+import pathfinder.datastructures.Point;
+import pathfinder.datastructures.RadixHeap;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.Heuristic;
+import pathfinder.search.SearchWorkspace;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Times full single-source Dijkstra's with each kind of frontier queue, on the campus graph and on synthetic grid
+ * maps of growing size. Run with {@code java -Xmx4g pathfinder.benchmark.HeapBenchmark} from the project root.
+ */
+public class HeapBenchmark {
+
+  // number of sources timed on each graph
+  private static final int SOURCES = 20;
+
+  public static void main(String[] args) {
+    Map<String, IntFunction<? extends IndexedPriorityQueue>> queues = new LinkedHashMap<>();
+    queues.put("binary", IndexedHeap::new);
+    queues.put("4-ary", nodes -> new IndexedHeap(nodes, 4));
+    queues.put("8-ary", nodes -> new IndexedHeap(nodes, 8));
+    queues.put("radix", RadixHeap::new);
+
+    System.out.printf("%-12s %10s %10s", "graph", "nodes", "edges");
+    for(String name : queues.keySet()) {
+      System.out.printf(" %12s", name + " (ms)");
+    }
+    System.out.println();
+    report("campus", CompactGraph.copyOf(CampusData.loadGraph()), queues);
+    for(int side : new int[]{100, 300, 700}) {
+      report(side + "x" + side, SyntheticMaps.compactGrid(side), queues);
+    }
+  }
+
+  private static void report(String name, CompactGraph<Point> graph,
+                             Map<String, IntFunction<? extends IndexedPriorityQueue>> queues) {
+    System.out.printf("%-12s %10d %10d", name, graph.nodeCount(), graph.edgeCount());
+    for(IntFunction<? extends IndexedPriorityQueue> queue : queues.values()) {
+      SearchWorkspace workspace = new SearchWorkspace(graph.nodeCount(), queue);
+      // warm up so the timing excludes compilation
+      for(int round = 0; round < 3; round++) {
+        runAll(graph, workspace);
+      }
+      long start = System.nanoTime();
+      runAll(graph, workspace);
+      System.out.printf(" %12.2f", (System.nanoTime() - start) / 1e6 / SOURCES);
+    }
+    System.out.println();
+  }
+
+  // a full shortest path tree from each of SOURCES nodes spread over the graph
+  private static void runAll(CompactGraph<Point> graph, SearchWorkspace workspace) {
+    for(int i = 0; i < SOURCES; i++) {
+      DijkstraSearch<Point> search = new DijkstraSearch<>(graph, Heuristic.NONE, workspace);
+      search.run((int) ((long) i * graph.nodeCount() / SOURCES), -1);
+    }
+  }
+}
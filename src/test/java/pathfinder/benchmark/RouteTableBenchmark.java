@@ -0,0 +1,60 @@
+package pathfinder.benchmark;
+
+import graph.CompactGraph;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Point;
+import pathfinder.search.RouteTable;
+
+import java.util.List;
+
+/**
+ * Times precomputing the routes between every pair of campus buildings, and compares answering building queries
+ * from the table with searching for them. Run with {@code java pathfinder.benchmark.RouteTableBenchmark} from the
+ * project root.
+ */
+public class RouteTableBenchmark {
+
+  public static void main(String[] args) {
+    CompactGraph<Point> graph = CompactGraph.copyOf(CampusData.loadGraph());
+    List<Point> buildings = CampusData.loadBuildingPoints();
+    // one untimed run so the timing excludes class loading and compilation
+    RouteTable.compute(graph, buildings);
+    long start = System.nanoTime();
+    RouteTable<Point> routes = RouteTable.compute(graph, buildings);
+    System.out.printf("%d buildings precomputed in %.1f ms, %d KB of trees%n", buildings.size(),
+            (System.nanoTime() - start) / 1e6, (long) buildings.size() * graph.nodeCount() * Integer.BYTES / 1024);
+
+    System.out.printf("%-10s %12s%n", "query", "us/query");
+    report("dijkstra", buildings, (from, to) -> WeightedPathfinder.dijkstra(graph, from, to));
+    report("path", buildings, routes::path);
+    report("distance", buildings, routes::distance);
+  }
+
+  /**
+   * Answers one query.
+   */
+  interface Query {
+    Object answer(Point start, Point end);
+  }
+
+  private static void report(String name, List<Point> buildings, Query query) {
+    // warm up so the timing excludes compilation
+    for(int round = 0; round < 3; round++) {
+      runAll(buildings, query);
+    }
+    long start = System.nanoTime();
+    int queries = runAll(buildings, query);
+    System.out.printf("%-10s %12.2f%n", name, (System.nanoTime() - start) / 1e3 / queries);
+  }
+
+  private static int runAll(List<Point> buildings, Query query) {
+    int queries = 0;
+    for(Point start : buildings) {
+      for(Point end : buildings) {
+        query.answer(start, end);
+        queries++;
+      }
+    }
+    return queries;
+  }
+}
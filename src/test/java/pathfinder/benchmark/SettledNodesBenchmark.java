@@ -0,0 +1,95 @@
+package pathfinder.benchmark;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.search.BidirectionalSearch;
+import pathfinder.search.ContractionHierarchy;
+import pathfinder.search.ContractionHierarchySearch;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.EuclideanHeuristic;
+import pathfinder.search.Heuristic;
+import pathfinder.search.LandmarkHeuristic;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reports how many nodes each search strategy settles per building-to-building query on the campus graph, and
+ * how long the queries take. Run with {@code java pathfinder.benchmark.SettledNodesBenchmark} from the project
+ * root.
+ */
+public class SettledNodesBenchmark {
+
+  public static void main(String[] args) {
+    CompactGraph<Point> graph = CompactGraph.copyOf(CampusData.loadGraph());
+    List<Point> buildings = CampusData.loadBuildingPoints();
+    EuclideanHeuristic heuristic = EuclideanHeuristic.forGraph(graph);
+    System.out.printf("%d nodes, %d edges, heuristic scale %.4f%n",
+            graph.nodeCount(), graph.edgeCount(), heuristic.getScale());
+    long preprocessStart = System.nanoTime();
+    Heuristic landmarks = Heuristic.max(heuristic, LandmarkHeuristic.farthest(graph, 8));
+    System.out.printf("8 landmarks computed in %.1f ms%n", (System.nanoTime() - preprocessStart) / 1e6);
+    preprocessStart = System.nanoTime();
+    ContractionHierarchy<Point> hierarchy = ContractionHierarchy.build(graph);
+    System.out.printf("contraction hierarchy built in %.1f ms with %d shortcuts%n",
+            (System.nanoTime() - preprocessStart) / 1e6, hierarchy.shortcutCount());
+    System.out.printf("%-14s %10s %10s %10s %12s%n", "strategy", "mean", "p50", "p99", "us/query");
+
+    report("dijkstra", buildings, (start, end) -> {
+      DijkstraSearch<Point> search = new DijkstraSearch<>(graph);
+      search.run(graph.indexOf(start), graph.indexOf(end));
+      return search.settledCount();
+    });
+    report("a*", buildings, (start, end) -> {
+      DijkstraSearch<Point> search = new DijkstraSearch<>(graph, heuristic);
+      search.run(graph.indexOf(start), graph.indexOf(end));
+      return search.settledCount();
+    });
+    report("alt", buildings, (start, end) -> {
+      DijkstraSearch<Point> search = new DijkstraSearch<>(graph, landmarks);
+      search.run(graph.indexOf(start), graph.indexOf(end));
+      return search.settledCount();
+    });
+    report("bidirectional", buildings, (start, end) -> {
+      BidirectionalSearch<Point> search = new BidirectionalSearch<>(graph);
+      search.run(graph.indexOf(start), graph.indexOf(end));
+      return search.settledCount();
+    });
+    report("ch", buildings, (start, end) -> {
+      ContractionHierarchySearch<Point> search = new ContractionHierarchySearch<>(hierarchy);
+      search.run(graph.indexOf(start), graph.indexOf(end));
+      return search.settledCount();
+    });
+  }
+
+  /**
+   * Runs one query and reports the number of nodes it settled.
+   */
+  interface Query {
+    int settle(Point start, Point end);
+  }
+
+  static void report(String name, List<Point> buildings, Query query) {
+    int[] settled = new int[buildings.size() * buildings.size()];
+    // warm up so the timing excludes compilation
+    for(int round = 0; round < 3; round++) {
+      runAll(buildings, query, settled);
+    }
+    long start = System.nanoTime();
+    runAll(buildings, query, settled);
+    double micros = (System.nanoTime() - start) / 1e3 / settled.length;
+    Arrays.sort(settled);
+    double mean = Arrays.stream(settled).average().orElse(0);
+    System.out.printf("%-14s %10.1f %10d %10d %12.1f%n", name, mean,
+            settled[settled.length / 2], settled[(int) (settled.length * 0.99)], micros);
+  }
+
+  private static void runAll(List<Point> buildings, Query query, int[] settled) {
+    int i = 0;
+    for(Point start : buildings) {
+      for(Point end : buildings) {
+        settled[i++] = query.settle(start, end);
+      }
+    }
+  }
+}
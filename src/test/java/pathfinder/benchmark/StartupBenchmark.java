@@ -0,0 +1,58 @@
+package pathfinder.benchmark;
+
+import graph.DirectedGraph;
+import graph.WeightedEdge;
+import pathfinder.ModelConnector;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+
+import java.util.List;
+
+/**
+ * Times building a {@link ModelConnector} from synthetic maps of growing size, against the previous way of
+ * loading paths that checked for each end with a copy of the node set.
+ * Run with {@code java pathfinder.benchmark.StartupBenchmark} from the project root.
+ */
+public class StartupBenchmark {
+
+  // the copying loader is quadratic, so it is only timed up to this many paths
+  private static final int COPYING_LIMIT = 50_000;
+
+  public static void main(String[] args) {
+    System.out.printf("%10s %14s %14s%n", "paths", "bulk (ms)", "copying (ms)");
+    for(int side = 25; side <= 800; side *= 2) {
+      List<CampusPath> paths = SyntheticMaps.gridPaths(side, side, side);
+      List<CampusBuilding> buildings = SyntheticMaps.gridBuildings(side, side, side, 50);
+      // one untimed run so the first size does not pay for class loading
+      new ModelConnector(buildings, paths);
+      long start = System.nanoTime();
+      new ModelConnector(buildings, paths);
+      double bulk = (System.nanoTime() - start) / 1e6;
+      String copying = "-";
+      if(paths.size() <= COPYING_LIMIT) {
+        start = System.nanoTime();
+        copyingLoad(paths);
+        copying = String.format("%.1f", (System.nanoTime() - start) / 1e6);
+      }
+      System.out.printf("%10d %14.1f %14s%n", paths.size(), bulk, copying);
+    }
+  }
+
+  // ModelConnector.populatePaths as it was before the bulk loading API
+  private static DirectedGraph<Point, WeightedEdge<Point>> copyingLoad(List<CampusPath> paths) {
+    DirectedGraph<Point, WeightedEdge<Point>> mapGraph = new DirectedGraph<>();
+    for(CampusPath path : paths) {
+      Point currStart = new Point(path.getX1(), path.getY1());
+      Point currEnd = new Point(path.getX2(), path.getY2());
+      if(!mapGraph.getNodes().contains(currStart)) {
+        mapGraph.addNode(currStart);
+      }
+      if(!mapGraph.getNodes().contains(currEnd)) {
+        mapGraph.addNode(currEnd);
+      }
+      mapGraph.addEdge(currStart, new WeightedEdge<>(currEnd, path.getDistance()));
+    }
+    return mapGraph;
+  }
+}
@@ -0,0 +1,97 @@
+package pathfinder.benchmark;
+
+import graph.CompactGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic maps in the same form as the parsed campus data, for benchmarking on inputs larger than
+ * the campus. A map is a jittered grid of points where every pair of neighbouring points is joined by a walkway
+ * in both directions, with distances at least the straight-line distance between the points.
+ */
+public class SyntheticMaps {
+
+  /**
+   * The spacing, in pixels, between neighbouring grid points.
+   */
+  private static final double SPACING = 50;
+
+  /**
+   * Generates the paths of a grid map.
+   *
+   * @param width  number of points in each row
+   * @param height number of rows
+   * @param seed   seed for the jitter of points and distances
+   * @return 4 * width * height - 2 * (width + height) paths, about 4 per point
+   */
+  public static List<CampusPath> gridPaths(int width, int height, long seed) {
+    Random random = new Random(seed);
+    double[][] xs = new double[height][width];
+    double[][] ys = new double[height][width];
+    for(int row = 0; row < height; row++) {
+      for(int col = 0; col < width; col++) {
+        xs[row][col] = col * SPACING + random.nextDouble() * SPACING / 4;
+        ys[row][col] = row * SPACING + random.nextDouble() * SPACING / 4;
+      }
+    }
+    List<CampusPath> paths = new ArrayList<>(4 * width * height);
+    for(int row = 0; row < height; row++) {
+      for(int col = 0; col < width; col++) {
+        if(col + 1 < width) {
+          addWalkway(paths, random, xs[row][col], ys[row][col], xs[row][col + 1], ys[row][col + 1]);
+        }
+        if(row + 1 < height) {
+          addWalkway(paths, random, xs[row][col], ys[row][col], xs[row + 1][col], ys[row + 1][col]);
+        }
+      }
+    }
+    return paths;
+  }
+
+  /**
+   * Generates a square grid map as a graph, with the seed being the side so that every benchmark times the same
+   * map for a side.
+   *
+   * @param side number of points in each row and column
+   * @return the graph of the paths generated by {@link #gridPaths} for a {@code side} by {@code side} grid
+   */
+  public static CompactGraph<Point> compactGrid(int side) {
+    List<CampusPath> paths = gridPaths(side, side, side);
+    CompactGraph.Builder<Point> builder = new CompactGraph.Builder<>(side * side, paths.size());
+    for(CampusPath path : paths) {
+      builder.addEdge(new Point(path.getX1(), path.getY1()), new Point(path.getX2(), path.getY2()),
+              path.getDistance());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Generates buildings placed on points of a grid map generated by {@link #gridPaths} with the same arguments.
+   *
+   * @param width  number of points in each row of the map
+   * @param height number of rows of the map
+   * @param seed   seed the map was generated with
+   * @param count  number of buildings
+   * @return {@code count} buildings named B0, B1, ... spread evenly over the map
+   */
+  public static List<CampusBuilding> gridBuildings(int width, int height, long seed, int count) {
+    List<CampusPath> paths = gridPaths(width, height, seed);
+    List<CampusBuilding> buildings = new ArrayList<>(count);
+    for(int i = 0; i < count; i++) {
+      CampusPath path = paths.get((int) ((long) i * paths.size() / count));
+      buildings.add(new CampusBuilding("B" + i, "Building " + i, path.getX1(), path.getY1()));
+    }
+    return buildings;
+  }
+
+  private static void addWalkway(List<CampusPath> paths, Random random, double x1, double y1, double x2, double y2) {
+    double distance = Math.hypot(x2 - x1, y2 - y1) * (1 + random.nextDouble() / 2);
+    paths.add(new CampusPath(x1, y1, x2, y2, distance));
+    paths.add(new CampusPath(x2, y2, x1, y1, distance));
+  }
+}
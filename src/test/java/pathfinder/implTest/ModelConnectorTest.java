@@ -0,0 +1,369 @@
+package pathfinder.implTest;
+
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+import pathfinder.Isochrone;
+import pathfinder.ModelConnector;
+import pathfinder.RouteBatch;
+import pathfinder.RouteCache;
+import pathfinder.RouteQuery;
+import pathfinder.SearchStrategy;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.search.CancellationToken;
+import pathfinder.search.SearchLimitExceededException;
+import pathfinder.search.SearchLimits;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ModelConnectorTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(30); // 30 seconds max per method tested
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ModelConnector model;
+    private static List<String> buildings;
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @BeforeClass
+    public static void loadModel(){
+        model = new ModelConnector(new ModelConnector.Options().withLandmarks(4).withContractionHierarchy());
+        buildings = new ArrayList<>(model.buildingNames().keySet());
+    }
+
+    @Test
+    public void testEveryStrategyFindsTheSamePath(){
+        for(String start : buildings){
+            for(String end : buildings){
+                Path<Point> expected = model.findShortestPath(start, end);
+                for(SearchStrategy strategy : SearchStrategy.values()){
+                    assertEquals(expected, model.findShortestPath(start, end, strategy));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrecomputedRoutesMatchSearch(){
+        ModelConnector precomputed = new ModelConnector(new ModelConnector.Options().withPrecomputedRoutes());
+        for(String start : buildings){
+            for(String end : buildings){
+                Path<Point> expected = model.findShortestPath(start, end);
+                assertEquals(expected, precomputed.findShortestPath(start, end));
+                assertEquals(expected.getCost(), precomputed.shortestDistance(start, end), 1e-9);
+                assertEquals(expected.getCost(), model.shortestDistance(start, end), 1e-9);
+                assertEquals(expected.getCost(), precomputed.distance(start, end), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testOneToManyAndDistanceTable(){
+        ModelConnector precomputed = new ModelConnector(new ModelConnector.Options().withPrecomputedRoutes());
+        List<String> ends = buildings.subList(0, 10);
+        double[][] table = model.distanceTable(buildings, ends);
+        assertEquals(buildings.size(), table.length);
+        for(int i = 0; i < buildings.size(); i++){
+            String start = buildings.get(i);
+            List<Path<Point>> paths = model.findShortestPaths(start, ends);
+            assertEquals(paths, precomputed.findShortestPaths(start, ends));
+            assertTrue(Arrays.equals(model.shortestDistances(start, ends), table[i]));
+            assertTrue(Arrays.equals(precomputed.shortestDistances(start, ends), table[i]));
+            for(int j = 0; j < ends.size(); j++){
+                assertEquals(model.findShortestPath(start, ends.get(j)), paths.get(j));
+                assertEquals(paths.get(j).getCost(), table[i][j], 1e-9);
+            }
+        }
+        assertTrue(Arrays.deepEquals(table, precomputed.distanceTable(buildings, ends)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDistanceTableWithNullBuilding(){
+        model.distanceTable(buildings, Arrays.asList("BAG", null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDistanceToUnknownBuilding(){
+        model.shortestDistance("NOT A BUILDING", "BAG");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownBuilding(){
+        model.findShortestPath("BAG", "NOT A BUILDING");
+    }
+
+    @Test
+    public void testLandmarkFileIsSavedAndReused() throws Exception {
+        java.nio.file.Path file = folder.getRoot().toPath().resolve("landmarks.bin");
+        ModelConnector.Options options = new ModelConnector.Options().withLandmarks(2).withLandmarkFile(file);
+        ModelConnector first = new ModelConnector(options);
+        assertTrue(Files.exists(file));
+        long saved = Files.getLastModifiedTime(file).toMillis();
+        ModelConnector second = new ModelConnector(options);
+        assertEquals(saved, Files.getLastModifiedTime(file).toMillis());
+        assertEquals(first.findShortestPath("BAG", "MGH", SearchStrategy.ALT),
+                second.findShortestPath("BAG", "MGH", SearchStrategy.ALT));
+    }
+
+    @Test
+    public void testUnreachableBuildingsAreRejected(){
+        //A and B are joined both ways, B leads one way to C, and D and E are on their own island
+        List<CampusBuilding> map = Arrays.asList(new CampusBuilding("A", "A", 0, 0),
+                new CampusBuilding("B", "B", 1, 0), new CampusBuilding("C", "C", 2, 0),
+                new CampusBuilding("D", "D", 5, 5), new CampusBuilding("E", "E", 6, 5));
+        List<CampusPath> paths = Arrays.asList(new CampusPath(0, 0, 1, 0, 1), new CampusPath(1, 0, 0, 0, 1),
+                new CampusPath(1, 0, 2, 0, 1), new CampusPath(5, 5, 6, 5, 1), new CampusPath(6, 5, 5, 5, 1));
+        ModelConnector island = new ModelConnector(map, paths, new ModelConnector.Options().withLandmarks(2));
+        assertTrue(island.routeExists("A", "C"));
+        assertFalse(island.routeExists("C", "A"));
+        assertFalse(island.routeExists("A", "D"));
+        assertTrue(island.routeExists("E", "D"));
+        for(SearchStrategy strategy : SearchStrategy.values()){
+            assertEquals(2.0, island.findShortestPath("A", "C", strategy).getCost(), 1e-9);
+            assertNull(island.findShortestPath("C", "B", strategy));
+            assertNull(island.findShortestPath("A", "E", strategy));
+        }
+        assertNull(island.findShortestPath("D", "C"));
+        assertEquals(Double.POSITIVE_INFINITY, island.shortestDistance("B", "D"), 0);
+        List<String> ends = Arrays.asList("C", "D", "B", "A");
+        assertArrayEquals(new double[]{2, Double.POSITIVE_INFINITY, 1, 0}, island.shortestDistances("A", ends), 1e-9);
+        List<Path<Point>> found = island.findShortestPaths("A", ends);
+        assertEquals(2.0, found.get(0).getCost(), 1e-9);
+        assertNull(found.get(1));
+        assertEquals(1.0, found.get(2).getCost(), 1e-9);
+        assertEquals(0.0, found.get(3).getCost(), 1e-9);
+        assertTrue(island.findAlternativeRoutes("C", "A", 3).isEmpty());
+        assertEquals(1, island.findAlternativeRoutes("A", "C", 3).size());
+    }
+
+    @Test
+    public void testAlternativeRoutes(){
+        List<Path<Point>> found = model.findAlternativeRoutes("BAG", "MGH", 3);
+        assertEquals(3, found.size());
+        assertEquals(model.findShortestPath("BAG", "MGH"), found.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoAlternativeRoutes(){
+        model.findAlternativeRoutes("BAG", "MGH", 0);
+    }
+
+    @Test
+    public void testIsochroneMatchesDistances(){
+        double budget = 1500;
+        Isochrone isochrone = model.isochrone("BAG", budget);
+        for(String building : buildings){
+            double distance = model.shortestDistance("BAG", building);
+            Map<String, Double> reached = isochrone.getBuildings();
+            assertEquals(distance <= budget, reached.containsKey(building));
+            if(reached.containsKey(building)){
+                assertEquals(distance, reached.get(building), 1e-9);
+            }
+        }
+        assertFalse(isochrone.getBoundary().isEmpty());
+        for(Isochrone.BoundaryEdge edge : isochrone.getBoundary()){
+            assertTrue(isochrone.getPoints().contains(edge.getStart()));
+            assertFalse(isochrone.getPoints().contains(edge.getEnd()));
+            assertTrue(edge.getReached() >= 0 && edge.getReached() < edge.getLength());
+        }
+    }
+
+    @Test
+    public void testEmptyIsochrone(){
+        Isochrone isochrone = model.isochrone("BAG", 0);
+        assertEquals(1, isochrone.getPoints().size());
+        assertEquals(0.0, isochrone.getBuildings().get("BAG"), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeIsochrone(){
+        model.isochrone("BAG", -1);
+    }
+
+    @Test
+    public void testBatchMatchesSerialInOrder(){
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            ModelConnector batched = new ModelConnector(new ModelConnector.Options().withBatchExecutor(executor));
+            List<RouteQuery> queries = new ArrayList<>();
+            for(String start : buildings){
+                for(String end : buildings.subList(0, 10)){
+                    queries.add(new RouteQuery(start, end));
+                }
+            }
+            RouteBatch batch = batched.findShortestPaths(queries);
+            assertEquals(queries.size(), batch.getPaths().size());
+            for(int i = 0; i < queries.size(); i++){
+                RouteQuery query = queries.get(i);
+                assertEquals(model.findShortestPath(query.getStart(), query.getEnd()), batch.getPaths().get(i));
+            }
+            assertTrue(batch.getRoutesPerSecond() > 0);
+            //by default, tasks run on the common pool in workspaces of their own
+            assertEquals(batch.getPaths(), model.findShortestPaths(queries).getPaths());
+            assertTrue(batched.findShortestPaths(new ArrayList<>()).getPaths().isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchWithUnknownBuilding(){
+        model.findShortestPaths(Arrays.asList(new RouteQuery("BAG", "MGH"), new RouteQuery("BAG", "NOT A BUILDING")));
+    }
+
+    @Test
+    public void testSearchLimits(){
+        Path<Point> expected = model.findShortestPath("BAG", "MGH");
+        SearchLimits generous = SearchLimits.NONE.withMaxSettled(Integer.MAX_VALUE).withTimeout(Duration.ofMinutes(1));
+        assertEquals(expected, model.findShortestPath("BAG", "MGH", generous));
+        try {
+            model.findShortestPath("BAG", "MGH", SearchLimits.NONE.withMaxSettled(1));
+            fail("search was not stopped");
+        } catch(SearchLimitExceededException e) {
+            assertEquals(SearchLimitExceededException.Reason.SETTLED, e.getReason());
+        }
+        //precomputed routes need no search, but still honour cancellation
+        ModelConnector precomputed = new ModelConnector(new ModelConnector.Options().withPrecomputedRoutes());
+        assertEquals(expected, precomputed.findShortestPath("BAG", "MGH", SearchLimits.NONE.withMaxSettled(1)));
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        try {
+            precomputed.findShortestPath("BAG", "MGH", SearchLimits.NONE.withCancellation(token));
+            fail("query was not cancelled");
+        } catch(SearchLimitExceededException e) {
+            assertEquals(SearchLimitExceededException.Reason.CANCELLED, e.getReason());
+        }
+    }
+
+    @Test
+    public void testBuildingGroups(){
+        Map<String, List<String>> groups = model.buildingGroups();
+        assertEquals(Arrays.asList("BAG", "BAG (NE)"), groups.get("BAG"));
+        assertEquals(5, groups.get("KNE").size());
+        assertEquals(Arrays.asList("CSE"), groups.get("CSE"));
+        int entrances = 0;
+        for(List<String> group : groups.values()){
+            entrances += group.size();
+        }
+        assertEquals(buildings.size(), entrances);
+    }
+
+    @Test
+    public void testGroupPathMatchesEveryEntrancePair(){
+        ModelConnector precomputed = new ModelConnector(new ModelConnector.Options().withPrecomputedRoutes());
+        Map<String, List<String>> groups = model.buildingGroups();
+        for(String start : Arrays.asList("BAG", "KNE", "MGH", "CSE")){
+            for(String end : Arrays.asList("EEB", "MUS", "MCC", "UBS", "KNE")){
+                double best = Double.POSITIVE_INFINITY;
+                for(String from : groups.get(start)){
+                    for(String to : groups.get(end)){
+                        best = Math.min(best, model.shortestDistance(from, to));
+                    }
+                }
+                Path<Point> path = model.findShortestPathBetweenGroups(start, end);
+                assertEquals(best, path.getCost(), 1e-9);
+                assertEquals(best, precomputed.findShortestPathBetweenGroups(start, end).getCost(), 1e-9);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownBuildingGroup(){
+        model.findShortestPathBetweenGroups("BAG", "BAG (NE)");
+    }
+
+    @Test
+    public void testRouteCache(){
+        RouteCache cache = new RouteCache(8);
+        ModelConnector cached = new ModelConnector(new ModelConnector.Options().withRouteCache(cache));
+        Path<Point> expected = model.findShortestPath("BAG", "MGH");
+        assertEquals(expected, cached.findShortestPath("BAG", "MGH"));
+        assertEquals(expected, cached.findShortestPath("BAG", "MGH"));
+        assertEquals(expected, cached.findShortestPath("BAG", "MGH", SearchLimits.NONE.withMaxSettled(1)));
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+        try {
+            cached.findShortestPath("BAG", "NOT A BUILDING");
+            fail("unknown building was accepted");
+        } catch(IllegalArgumentException e) {
+            assertEquals(1, cache.size());
+        }
+        //a model of a reloaded dataset starts with the cache empty
+        new ModelConnector(new ModelConnector.Options().withRouteCache(cache));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLimitedAndUnlimitedQueriesRace() throws Exception {
+        Path<Point> expected = model.findShortestPath("BAG", "MGH");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for(int round = 0; round < 20; round++){
+                ModelConnector cached = new ModelConnector(new ModelConnector.Options()
+                        .withRouteCache(new RouteCache(8)));
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<Path<Point>> limited = executor.submit(() -> {
+                    start.await();
+                    return cached.findShortestPath("BAG", "MGH", SearchLimits.NONE.withMaxSettled(1));
+                });
+                Future<Path<Point>> unlimited = executor.submit(() -> {
+                    start.await();
+                    return cached.findShortestPath("BAG", "MGH");
+                });
+                //whichever query computes the route, the unlimited one is never stopped by the other's limits
+                assertEquals(expected, unlimited.get());
+                try {
+                    assertEquals(expected, limited.get());
+                } catch(ExecutionException e) {
+                    assertTrue(e.getCause() instanceof SearchLimitExceededException);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testReverseRouteIsReused(){
+        assertEquals(1.0, model.symmetricPathFraction(), 0);
+        RouteCache cache = new RouteCache(8);
+        ModelConnector cached = new ModelConnector(new ModelConnector.Options().withRouteCache(cache));
+        Path<Point> there = cached.findShortestPath("BAG", "MGH");
+        //a search could not finish within one settled point, so the route back must be the route there reversed
+        Path<Point> back = cached.findShortestPath("MGH", "BAG", SearchLimits.NONE.withMaxSettled(1));
+        assertEquals(2, cache.misses());
+        assertEquals(there.getEnd(), back.getStart());
+        assertEquals(there.getStart(), back.getEnd());
+        assertEquals(model.findShortestPath("MGH", "BAG").getCost(), back.getCost(), 1e-9);
+    }
+}
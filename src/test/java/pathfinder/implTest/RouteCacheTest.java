@@ -0,0 +1,292 @@
+package pathfinder.implTest;
+
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.RouteCache;
+import pathfinder.RoutePopularity;
+import pathfinder.RouteQuery;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.CancellationToken;
+import pathfinder.search.SearchLimitExceededException;
+import pathfinder.search.SearchLimits;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RouteCacheTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    private static final RouteQuery AB = new RouteQuery("A", "B");
+    private static final RouteQuery AC = new RouteQuery("A", "C");
+    private static final RouteQuery AD = new RouteQuery("A", "D");
+
+    //a distinct path for each call, so the test can tell which call a cached path came from
+    private static Path<Point> path(double x){
+        return new Path<>(new Point(x, 0));
+    }
+
+    @Test
+    public void testHitsAndMisses(){
+        RouteCache cache = new RouteCache(4);
+        AtomicInteger loads = new AtomicInteger();
+        Path<Point> first = cache.get(AB, query -> path(loads.incrementAndGet()));
+        assertSame(first, cache.get(AB, query -> path(loads.incrementAndGet())));
+        assertNull(cache.get(AC, query -> null));
+        assertNull(cache.get(AC, query -> path(loads.incrementAndGet())));
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(0.5, cache.hitRate(), 0);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted(){
+        RouteCache cache = new RouteCache(2);
+        Path<Point> ab = cache.get(AB, query -> path(1));
+        cache.get(AC, query -> path(2));
+        cache.get(AB, query -> path(3));
+        cache.get(AD, query -> path(4));
+        assertEquals(1, cache.evictions());
+        assertEquals(2, cache.size());
+        assertSame(ab, cache.get(AB, query -> path(5)));
+        assertEquals(4, cache.get(AC, query -> path(4)).getStart().getX(), 0);
+    }
+
+    @Test
+    public void testPeekIsNotAUse(){
+        RouteCache cache = new RouteCache(2);
+        Path<Point> ab = cache.get(AB, query -> path(1));
+        cache.get(AC, query -> path(2));
+        assertSame(ab, cache.peek(AB));
+        assertNull(cache.peek(AD));
+        cache.get(AD, query -> path(3));
+        //peeking neither counts as a hit nor saves the route from eviction
+        assertEquals(0, cache.hits());
+        assertEquals(1, cache.evictions());
+        assertNull(cache.peek(AB));
+        assertEquals(2, cache.peek(AC).getStart().getX(), 0);
+    }
+
+    @Test
+    public void testFirstInIsEvicted(){
+        RouteCache cache = new RouteCache(2, RouteCache.Eviction.FIRST_IN_FIRST_OUT);
+        cache.get(AB, query -> path(1));
+        cache.get(AC, query -> path(2));
+        cache.get(AB, query -> path(3));
+        cache.get(AD, query -> path(4));
+        assertEquals(5, cache.get(AB, query -> path(5)).getStart().getX(), 0);
+    }
+
+    @Test
+    public void testConcurrentMissesComputeOnce() throws Exception {
+        RouteCache cache = new RouteCache(4);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Path<Point>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(AB, query -> {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch(InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return path(loads.incrementAndGet());
+            })));
+            loading.await();
+            for(int i = 0; i < 3; i++){
+                results.add(executor.submit(() -> cache.get(AB, query -> path(loads.incrementAndGet()))));
+            }
+            //the waiters are counted as hits once they find the computation
+            while(cache.hits() < 3){
+                Thread.yield();
+            }
+            release.countDown();
+            for(Future<Path<Point>> result : results){
+                assertSame(results.get(0).get(), result.get());
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, cache.misses());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testWaiterRetriesAfterFailure() throws Exception {
+        RouteCache cache = new RouteCache(4);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Path<Point>> failing = executor.submit(() -> cache.get(AB, query -> {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch(InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                throw new IllegalStateException("gave up");
+            }));
+            loading.await();
+            Future<Path<Point>> waiting = executor.submit(() -> cache.get(AB, query -> path(2)));
+            while(cache.hits() < 1){
+                Thread.yield();
+            }
+            release.countDown();
+            try {
+                failing.get();
+                fail("failure was not thrown");
+            } catch(ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+            //the waiter is not handed the failure, but computes the route with its own loader
+            assertEquals(2, waiting.get().getStart().getX(), 0);
+            assertEquals(2, cache.misses());
+            assertEquals(1, cache.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testWaiterStopsAtItsLimits() throws Exception {
+        RouteCache cache = new RouteCache(4);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Path<Point>> slow = executor.submit(() -> cache.get(AB, query -> {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch(InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return path(1);
+            }));
+            loading.await();
+            try {
+                cache.get(AB, query -> path(2), SearchLimits.NONE.withTimeout(Duration.ofMillis(50)));
+                fail("waiter passed its deadline");
+            } catch(SearchLimitExceededException e) {
+                assertEquals(SearchLimitExceededException.Reason.DEADLINE, e.getReason());
+            }
+            CancellationToken token = new CancellationToken();
+            token.cancel();
+            try {
+                cache.get(AB, query -> path(3), SearchLimits.NONE.withCancellation(token));
+                fail("waiter was not cancelled");
+            } catch(SearchLimitExceededException e) {
+                assertEquals(SearchLimitExceededException.Reason.CANCELLED, e.getReason());
+            }
+            //giving up does not disturb the computation being waited for
+            release.countDown();
+            assertEquals(1, slow.get().getStart().getX(), 0);
+            assertEquals(1, cache.get(AB, query -> path(4), SearchLimits.NONE.withMaxSettled(1)).getStart().getX(), 0);
+            assertEquals(1, cache.misses());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailureIsNotCached(){
+        RouteCache cache = new RouteCache(4);
+        try {
+            cache.get(AB, query -> {
+                throw new IllegalStateException();
+            });
+            fail("failure was not thrown");
+        } catch(IllegalStateException e) {
+            // expected
+        }
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.get(AB, query -> path(2)).getStart().getX(), 0);
+    }
+
+    @Test
+    public void testInvalidateAll(){
+        RouteCache cache = new RouteCache(4);
+        cache.get(AB, query -> path(1));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.get(AB, query -> path(2)).getStart().getX(), 0);
+        assertEquals(2, cache.misses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityMustBePositive(){
+        new RouteCache(0);
+    }
+
+    @Test
+    public void testAdmissionKeepsPopularRoutes(){
+        RoutePopularity popularity = new RoutePopularity(64, 8);
+        RouteCache cache = new RouteCache(2, RouteCache.Eviction.LEAST_RECENTLY_USED, popularity);
+        for(int i = 0; i < 5; i++){
+            popularity.record(AB);
+            popularity.record(AC);
+        }
+        cache.get(AB, query -> path(1));
+        cache.get(AC, query -> path(2));
+        //a route asked for once does not push out the routes asked for often
+        popularity.record(AD);
+        cache.get(AD, query -> path(3));
+        assertEquals(1, cache.rejections());
+        assertEquals(0, cache.evictions());
+        assertEquals(1, cache.get(AB, query -> path(4)).getStart().getX(), 0);
+        assertEquals(2, cache.get(AC, query -> path(5)).getStart().getX(), 0);
+        //once it is asked for more often than the least recently used route, it replaces it
+        for(int i = 0; i < 10; i++){
+            popularity.record(AD);
+        }
+        cache.get(AD, query -> path(6));
+        assertEquals(1, cache.evictions());
+        assertEquals(6, cache.get(AD, query -> path(7)).getStart().getX(), 0);
+        assertEquals(8, cache.get(AB, query -> path(8)).getStart().getX(), 0);
+    }
+
+    @Test
+    public void testHotRoutes(){
+        RoutePopularity popularity = new RoutePopularity(64, 2);
+        for(int i = 0; i < 3; i++){
+            popularity.record(AB);
+        }
+        popularity.record(AC);
+        for(int i = 0; i < 2; i++){
+            popularity.record(AD);
+        }
+        assertEquals(Arrays.asList(AB, AD), popularity.hotRoutes(5));
+        assertEquals(Arrays.asList(AB), popularity.hotRoutes(1));
+        assertEquals(3, popularity.frequency(AB));
+    }
+}
@@ -1,5 +1,6 @@
 package pathfinder.implTest;
 
+import graph.CompactGraph;
 import graph.DataEdge;
 import graph.DirectedGraph;
 import graph.implTest.CheckAsserts;
@@ -59,5 +60,16 @@ public class WeightedPathfinderTest {
                         .extend("D",10.0)));
     }
 
+    @Test
+    public void testCompactDijkstraMatchesDirectedGraph(){
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        for(String start : graph.getNodes()){
+            for(String dest : graph.getNodes()){
+                Path<String> expected = WeightedPathfinder.dijkstra(graph,start,dest);
+                Path<String> actual = WeightedPathfinder.dijkstra(compact,start,dest);
+                assertTrue(expected == null ? actual == null : expected.equals(actual));
+            }
+        }
+    }
 
 }
@@ -0,0 +1,63 @@
+package pathfinder.implTest.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.FrequencySketch;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestFrequencySketch {
+
+    @Test
+    public void testNeverUnderestimates() {
+        FrequencySketch<Integer> sketch = new FrequencySketch<>(1024);
+        int[] counts = new int[512];
+        Random random = new Random(23);
+        //fewer additions than the sample size, so nothing is halved
+        for(int i = 0; i < 5000; i++) {
+            int item = random.nextInt(counts.length);
+            counts[item]++;
+            sketch.increment(item);
+        }
+        int exact = 0;
+        for(int item = 0; item < counts.length; item++) {
+            assertTrue(sketch.frequency(item) >= counts[item]);
+            if(sketch.frequency(item) == counts[item]) {
+                exact++;
+            }
+        }
+        assertTrue(exact > counts.length * 3 / 4);
+    }
+
+    @Test
+    public void testHeavyHittersStandOut() {
+        FrequencySketch<String> sketch = new FrequencySketch<>(256);
+        for(int i = 0; i < 2000; i++) {
+            sketch.increment("hot" + (i % 4));
+            sketch.increment("cold" + i);
+        }
+        for(int i = 0; i < 4; i++) {
+            assertTrue(sketch.frequency("hot" + i) > 10 * sketch.frequency("cold" + i));
+        }
+    }
+
+    @Test
+    public void testOldCountsDecay() {
+        FrequencySketch<String> sketch = new FrequencySketch<>(16);
+        for(int i = 0; i < 100; i++) {
+            sketch.increment("old");
+        }
+        int before = sketch.frequency("old");
+        for(int i = 0; i < 10 * sketch.width(); i++) {
+            sketch.increment("new" + (i % 8));
+        }
+        assertTrue(sketch.frequency("old") < before);
+    }
+
+    @Test
+    public void testUnseenItemIsZero() {
+        assertEquals(0, new FrequencySketch<String>(64).frequency("anything"));
+    }
+}
@@ -0,0 +1,105 @@
+package pathfinder.implTest.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.IndexedHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestIndexedHeap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testRemovesInKeyOrder() {
+        IndexedHeap heap = new IndexedHeap(5);
+        heap.insertOrDecrease(3, 3.0);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(4, 1.0);
+        assertEquals(3, heap.size());
+        assertEquals(1.0, heap.peekKey(), EPSILON);
+        assertEquals(4, heap.removeMin());
+        assertEquals(3, heap.removeMin());
+        assertEquals(0, heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKeyKeepsOneEntry() {
+        IndexedHeap heap = new IndexedHeap(3);
+        heap.insertOrDecrease(1, 10.0);
+        heap.insertOrDecrease(2, 5.0);
+        assertTrue(heap.insertOrDecrease(1, 2.0));
+        assertFalse(heap.insertOrDecrease(1, 7.0));
+        assertEquals(2, heap.size());
+        assertEquals(1, heap.removeMin());
+        assertFalse(heap.contains(1));
+        assertEquals(2, heap.removeMin());
+    }
+
+    @Test
+    public void testClear() {
+        IndexedHeap heap = new IndexedHeap(3);
+        heap.insertOrDecrease(1, 1.0);
+        heap.insertOrDecrease(2, 2.0);
+        heap.clear();
+        assertTrue(heap.isEmpty() && !heap.contains(1) && !heap.contains(2));
+    }
+
+    @Test
+    public void testMatchesSortedOrderUnderRandomDecreases() {
+        Random random = new Random(42);
+        int capacity = 200;
+        IndexedHeap heap = new IndexedHeap(capacity);
+        double[] expected = new double[capacity];
+        Arrays.fill(expected, Double.POSITIVE_INFINITY);
+        for(int i = 0; i < 1000; i++) {
+            int id = random.nextInt(capacity);
+            double key = random.nextDouble() * 100;
+            heap.insertOrDecrease(id, key);
+            expected[id] = Math.min(expected[id], key);
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        while(!heap.isEmpty()) {
+            double key = heap.peekKey();
+            int id = heap.removeMin();
+            assertEquals(expected[id], key, 0.0);
+            assertTrue(key >= last);
+            last = key;
+        }
+    }
+
+    @Test
+    public void testHigherArityMatchesSortedOrder() {
+        for(int arity : new int[]{3, 4, 8}) {
+            Random random = new Random(arity);
+            int capacity = 200;
+            IndexedHeap heap = new IndexedHeap(capacity, arity);
+            double[] expected = new double[capacity];
+            Arrays.fill(expected, Double.POSITIVE_INFINITY);
+            for(int i = 0; i < 1000; i++) {
+                int id = random.nextInt(capacity);
+                double key = random.nextDouble() * 100;
+                heap.insertOrDecrease(id, key);
+                expected[id] = Math.min(expected[id], key);
+            }
+            double last = Double.NEGATIVE_INFINITY;
+            while(!heap.isEmpty()) {
+                double key = heap.peekKey();
+                int id = heap.removeMin();
+                assertEquals(expected[id], key, 0.0);
+                assertTrue(key >= last);
+                last = key;
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArityBelowTwo() {
+        new IndexedHeap(5, 1);
+    }
+}
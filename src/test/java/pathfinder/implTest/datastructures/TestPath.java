@@ -5,6 +5,8 @@ import org.junit.Test;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 
 import static org.junit.Assert.assertEquals;
@@ -106,4 +108,22 @@ public class TestPath {
         assertEquals(path2.hashCode(), path2.hashCode());
         assertEquals(path3.hashCode(), path3.hashCode());
     }
+
+    @Test
+    public void testOfMatchesRepeatedExtend() {
+        Point start = new Point(1.0, 2.0);
+        Path<Point> extended = new Path<>(start).extend(new Point(3.0, 2.0), 2.0D)
+                .extend(new Point(3.0, 5.0), 3.1D).extend(new Point(0.0, 5.0), 0.7D);
+        Path<Point> built = Path.of(start,
+                Arrays.asList(new Point(3.0, 2.0), new Point(3.0, 5.0), new Point(0.0, 5.0)),
+                new double[]{2.0D, 3.1D, 0.7D});
+        assertEquals(extended, built);
+        assertEquals(Double.compare(extended.getCost(), built.getCost()), 0);
+    }
+
+    @Test
+    public void testOfWithNoSegments() {
+        Path<Point> built = Path.of(new Point(1.0, 2.0), Collections.emptyList(), new double[0]);
+        assertEquals(new Path<>(new Point(1.0, 2.0)), built);
+    }
 }
@@ -0,0 +1,88 @@
+package pathfinder.implTest.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.RadixHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestRadixHeap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testRemovesInKeyOrder() {
+        RadixHeap heap = new RadixHeap(5);
+        heap.insertOrDecrease(3, 3.0);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(4, 1.0);
+        heap.insertOrDecrease(1, 0.0);
+        assertEquals(4, heap.size());
+        assertEquals(0.0, heap.peekKey(), EPSILON);
+        assertEquals(1, heap.removeMin());
+        assertEquals(4, heap.removeMin());
+        assertEquals(3, heap.removeMin());
+        assertEquals(0, heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKeyKeepsOneEntry() {
+        RadixHeap heap = new RadixHeap(3);
+        heap.insertOrDecrease(1, 10.0);
+        heap.insertOrDecrease(2, 5.0);
+        assertTrue(heap.insertOrDecrease(1, 2.0));
+        assertFalse(heap.insertOrDecrease(1, 7.0));
+        assertEquals(2, heap.size());
+        assertEquals(2.0, heap.keyOf(1), 0.0);
+        assertEquals(1, heap.removeMin());
+        assertFalse(heap.contains(1));
+        assertEquals(2, heap.removeMin());
+    }
+
+    @Test
+    public void testClearAllowsSmallerKeys() {
+        RadixHeap heap = new RadixHeap(3);
+        heap.insertOrDecrease(1, 8.0);
+        heap.insertOrDecrease(2, 9.0);
+        assertEquals(1, heap.removeMin());
+        heap.clear();
+        assertTrue(heap.isEmpty() && !heap.contains(1) && !heap.contains(2));
+        heap.insertOrDecrease(0, 1.0);
+        assertEquals(0, heap.removeMin());
+    }
+
+    @Test
+    public void testMatchesSortedOrderUnderMonotoneUse() {
+        //simulates a Dijkstra frontier: new keys are the last key removed plus a non-negative step
+        Random random = new Random(42);
+        int capacity = 200;
+        RadixHeap heap = new RadixHeap(capacity);
+        double[] expected = new double[capacity];
+        Arrays.fill(expected, Double.POSITIVE_INFINITY);
+        boolean[] removed = new boolean[capacity];
+        double last = 0;
+        heap.insertOrDecrease(0, 0.0);
+        expected[0] = 0;
+        while(!heap.isEmpty()) {
+            double key = heap.peekKey();
+            int id = heap.removeMin();
+            assertEquals(expected[id], key, 0.0);
+            assertTrue(key >= last);
+            last = key;
+            removed[id] = true;
+            for(int i = 0; i < 4; i++) {
+                int next = random.nextInt(capacity);
+                double nextKey = key + (random.nextInt(10) == 0 ? 0 : random.nextDouble() * 10);
+                if(!removed[next]) {
+                    heap.insertOrDecrease(next, nextKey);
+                    expected[next] = Math.min(expected[next], nextKey);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.EuclideanHeuristic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AStarSearchTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testHeuristicIsConsistentOnCampus(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        EuclideanHeuristic heuristic = EuclideanHeuristic.forGraph(compact);
+        assertTrue(heuristic.getScale() > 0);
+        int target = compact.indexOf(CampusFixture.buildings().get(0));
+        for(int v = 0; v < compact.nodeCount(); v++){
+            for(int e = compact.edgeStart(v); e < compact.edgeEnd(v); e++){
+                assertTrue(heuristic.estimate(v, target)
+                        <= compact.weight(e) + heuristic.estimate(compact.target(e), target));
+            }
+        }
+    }
+
+    @Test
+    public void testCampusRoutesMatchDijkstra(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        EuclideanHeuristic heuristic = EuclideanHeuristic.forGraph(compact);
+        for(Point start : CampusFixture.buildings()){
+            for(Point end : CampusFixture.buildings()){
+                Path<Point> expected = WeightedPathfinder.dijkstra(compact, start, end);
+                Path<Point> actual = WeightedPathfinder.aStar(compact, start, end, heuristic);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testSettlesFewerNodesThanDijkstra(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        EuclideanHeuristic heuristic = EuclideanHeuristic.forGraph(compact);
+        long dijkstraSettled = 0;
+        long aStarSettled = 0;
+        for(Point start : CampusFixture.buildings()){
+            for(Point end : CampusFixture.buildings()){
+                DijkstraSearch<Point> dijkstra = new DijkstraSearch<>(compact);
+                dijkstra.run(compact.indexOf(start), compact.indexOf(end));
+                DijkstraSearch<Point> aStar = new DijkstraSearch<>(compact, heuristic);
+                aStar.run(compact.indexOf(start), compact.indexOf(end));
+                assertTrue(aStar.settledCount() <= dijkstra.settledCount());
+                dijkstraSettled += dijkstra.settledCount();
+                aStarSettled += aStar.settledCount();
+            }
+        }
+        assertTrue(aStarSettled < dijkstraSettled);
+    }
+}
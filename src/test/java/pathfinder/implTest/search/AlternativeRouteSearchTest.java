@@ -0,0 +1,165 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.AlternativeRouteSearch;
+import pathfinder.search.SearchWorkspace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AlternativeRouteSearchTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    private static List<Path<String>> routes(CompactGraph<String> graph, String start, String dest, int k){
+        return WeightedPathfinder.alternativeRoutes(graph, start, dest, k, Integer.MAX_VALUE);
+    }
+
+    //the costs of every loopless path from node to dest in graph, given the cost so far and the nodes visited
+    private static void allCosts(CompactGraph<String> graph, int node, int dest, double cost, boolean[] visited,
+                                 List<Double> costs){
+        if(node == dest){
+            costs.add(cost);
+            return;
+        }
+        visited[node] = true;
+        for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){
+            if(!visited[graph.target(e)]){
+                allCosts(graph, graph.target(e), dest, cost + graph.weight(e), visited, costs);
+            }
+        }
+        visited[node] = false;
+    }
+
+    private static <T> void assertLoopless(Path<T> path){
+        Set<T> visited = new HashSet<>();
+        visited.add(path.getStart());
+        for(Path<T>.Segment segment : path){
+            assertTrue(visited.add(segment.getEnd()));
+        }
+    }
+
+    @Test
+    public void testSmallExample(){
+        CompactGraph.Builder<String> builder = new CompactGraph.Builder<>();
+        for(String node : new String[]{"C", "D", "E", "F", "G", "H"}){
+            builder.addNode(node);
+        }
+        builder.addEdge("C", "D", 3);
+        builder.addEdge("C", "E", 2);
+        builder.addEdge("D", "F", 4);
+        builder.addEdge("E", "D", 1);
+        builder.addEdge("E", "F", 2);
+        builder.addEdge("E", "G", 3);
+        builder.addEdge("F", "G", 2);
+        builder.addEdge("F", "H", 1);
+        builder.addEdge("G", "H", 2);
+        List<Path<String>> found = routes(builder.build(), "C", "H", 3);
+        assertEquals(3, found.size());
+        assertEquals(5.0, found.get(0).getCost(), 1e-9);
+        assertEquals(7.0, found.get(1).getCost(), 1e-9);
+        assertEquals(8.0, found.get(2).getCost(), 1e-9);
+    }
+
+    @Test
+    public void testMatchesEveryLooplessPath(){
+        Random random = new Random(16);
+        for(int trial = 0; trial < 20; trial++){
+            int nodes = 9;
+            CompactGraph.Builder<String> builder = new CompactGraph.Builder<>();
+            for(int i = 0; i < nodes; i++){
+                builder.addNode("n" + i);
+            }
+            //no parallel edges, since routes that only differ by them are the same route
+            Set<Integer> pairs = new HashSet<>();
+            for(int i = 0; i < 24; i++){
+                int from = random.nextInt(nodes);
+                int to = random.nextInt(nodes);
+                if(pairs.add(from * nodes + to)){
+                    builder.addEdge(from, to, 1 + random.nextInt(5));
+                }
+            }
+            CompactGraph<String> graph = builder.build();
+            List<Double> costs = new ArrayList<>();
+            allCosts(graph, 0, nodes - 1, 0, new boolean[nodes], costs);
+            Collections.sort(costs);
+            List<Path<String>> found = routes(graph, "n0", "n" + (nodes - 1), 6);
+            assertEquals(Math.min(6, costs.size()), found.size());
+            for(int i = 0; i < found.size(); i++){
+                assertEquals(costs.get(i), found.get(i).getCost(), 1e-9);
+                assertLoopless(found.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCampusRoutes(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        List<Point> buildings = CampusFixture.buildings();
+        for(int i = 0; i + 1 < buildings.size(); i += 5){
+            Point start = buildings.get(i);
+            Point end = buildings.get(i + 1);
+            List<Path<Point>> found = WeightedPathfinder.alternativeRoutes(compact, start, end, 4, 100_000);
+            //some buildings hang off the same dead end, so have fewer loopless routes between them
+            assertTrue(found.size() >= 1 && found.size() <= 4);
+            assertEquals(WeightedPathfinder.dijkstra(compact, start, end), found.get(0));
+            assertEquals(found.size(), new HashSet<>(found).size());
+            for(int j = 0; j < found.size(); j++){
+                assertLoopless(found.get(j));
+                assertEquals(start, found.get(j).getStart());
+                assertEquals(end, found.get(j).getEnd());
+                assertTrue(j == 0 || found.get(j - 1).getCost() <= found.get(j).getCost());
+            }
+        }
+    }
+
+    @Test
+    public void testSettleLimitKeepsShortestRoutes(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        Point start = CampusFixture.buildings().get(0);
+        Point end = CampusFixture.buildings().get(1);
+        AlternativeRouteSearch<Point> full =
+                new AlternativeRouteSearch<>(compact, Integer.MAX_VALUE, new SearchWorkspace(compact.nodeCount()));
+        List<Path<Point>> all = full.run(compact.indexOf(start), compact.indexOf(end), 10);
+        assertFalse(full.isTruncated());
+        int limit = full.settledCount() / 2;
+        AlternativeRouteSearch<Point> limited =
+                new AlternativeRouteSearch<>(compact, limit, new SearchWorkspace(compact.nodeCount()));
+        List<Path<Point>> some = limited.run(compact.indexOf(start), compact.indexOf(end), 10);
+        assertTrue(limited.isTruncated());
+        assertEquals(limit, limited.settledCount());
+        assertTrue(some.size() < all.size());
+        assertEquals(all.subList(0, some.size()), some);
+    }
+
+    @Test
+    public void testNoRoute(){
+        CompactGraph.Builder<String> builder = new CompactGraph.Builder<>();
+        builder.addNode("A");
+        builder.addNode("B");
+        builder.addEdge("B", "A", 1);
+        assertTrue(routes(builder.build(), "A", "B", 3).isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.DataEdge;
+import graph.DirectedGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BidirectionalSearchTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testCampusRoutesMatchDijkstra(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        for(Point start : CampusFixture.buildings()){
+            for(Point end : CampusFixture.buildings()){
+                Path<Point> expected = WeightedPathfinder.dijkstra(compact, start, end);
+                Path<Point> actual = WeightedPathfinder.bidirectionalDijkstra(compact, start, end);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testFollowsEdgeDirections(){
+        DirectedGraph<String, DataEdge<String,Double>> graph = new DirectedGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addNode("D");
+        //the short way from A to D only exists backwards
+        graph.addEdge("D", new DataEdge<>("A",1.0));
+        graph.addEdge("A", new DataEdge<>("B",2.0));
+        graph.addEdge("B", new DataEdge<>("C",2.0));
+        graph.addEdge("C", new DataEdge<>("D",2.0));
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        assertEquals(new Path<>("A").extend("B",2.0).extend("C",2.0).extend("D",2.0),
+                WeightedPathfinder.bidirectionalDijkstra(compact,"A","D"));
+        assertEquals(new Path<>("D").extend("A",1.0), WeightedPathfinder.bidirectionalDijkstra(compact,"D","A"));
+    }
+
+    @Test
+    public void testNoPathAndSamePath(){
+        DirectedGraph<String, DataEdge<String,Double>> graph = new DirectedGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addEdge("B", new DataEdge<>("A",1.0));
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        assertTrue(WeightedPathfinder.bidirectionalDijkstra(compact,"A","B") == null);
+        assertEquals(new Path<>("A"), WeightedPathfinder.bidirectionalDijkstra(compact,"A","A"));
+    }
+}
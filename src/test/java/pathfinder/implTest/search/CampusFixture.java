@@ -0,0 +1,43 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.DataEdge;
+import graph.DirectedGraph;
+import pathfinder.benchmark.CampusData;
+import pathfinder.datastructures.Point;
+
+import java.util.List;
+
+/**
+ * The campus dataset, loaded once with {@link CampusData} and shared by the search engine tests.
+ */
+class CampusFixture {
+
+    private static DirectedGraph<Point, DataEdge<Point, Double>> graph;
+    private static CompactGraph<Point> compact;
+    private static List<Point> buildings;
+
+    /** @return the campus paths as a DirectedGraph */
+    static synchronized DirectedGraph<Point, DataEdge<Point, Double>> graph(){
+        if(graph == null){
+            graph = CampusData.loadGraph();
+        }
+        return graph;
+    }
+
+    /** @return the campus paths as a CompactGraph */
+    static synchronized CompactGraph<Point> compact(){
+        if(compact == null){
+            compact = CompactGraph.copyOf(graph());
+        }
+        return compact;
+    }
+
+    /** @return the location of each campus building */
+    static synchronized List<Point> buildings(){
+        if(buildings == null){
+            buildings = CampusData.loadBuildingPoints();
+        }
+        return buildings;
+    }
+}
@@ -0,0 +1,78 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.DataEdge;
+import graph.DirectedGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.ContractionHierarchy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ContractionHierarchyTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testCampusRoutesMatchDijkstra(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        ContractionHierarchy<Point> hierarchy = ContractionHierarchy.build(compact);
+        assertTrue(hierarchy.getGraph() == compact);
+        for(Point start : CampusFixture.buildings()){
+            for(Point end : CampusFixture.buildings()){
+                Path<Point> expected = WeightedPathfinder.dijkstra(compact, start, end);
+                Path<Point> actual = WeightedPathfinder.contractionHierarchy(hierarchy, start, end);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testShortcutsUnpackToOriginalEdges(){
+        //a chain where contracting the middle nodes needs shortcuts, with a cheaper parallel edge and a self edge
+        DirectedGraph<String, DataEdge<String,Double>> graph = new DirectedGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addNode("D");
+        graph.addEdge("A", new DataEdge<>("B",3.0));
+        graph.addEdge("A", new DataEdge<>("B",1.0));
+        graph.addEdge("B", new DataEdge<>("B",0.5));
+        graph.addEdge("B", new DataEdge<>("C",2.0));
+        graph.addEdge("C", new DataEdge<>("D",4.0));
+        graph.addEdge("D", new DataEdge<>("A",1.0));
+        ContractionHierarchy<String> hierarchy = ContractionHierarchy.build(CompactGraph.copyOf(graph));
+        assertEquals(new Path<>("A").extend("B",1.0).extend("C",2.0).extend("D",4.0),
+                WeightedPathfinder.contractionHierarchy(hierarchy,"A","D"));
+        assertEquals(new Path<>("C").extend("D",4.0).extend("A",1.0).extend("B",1.0),
+                WeightedPathfinder.contractionHierarchy(hierarchy,"C","B"));
+    }
+
+    @Test
+    public void testNoPathAndSamePath(){
+        DirectedGraph<String, DataEdge<String,Double>> graph = new DirectedGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("B", new DataEdge<>("A",1.0));
+        graph.addEdge("C", new DataEdge<>("B",1.0));
+        ContractionHierarchy<String> hierarchy = ContractionHierarchy.build(CompactGraph.copyOf(graph));
+        assertTrue(WeightedPathfinder.contractionHierarchy(hierarchy,"A","C") == null);
+        assertEquals(new Path<>("A"), WeightedPathfinder.contractionHierarchy(hierarchy,"A","A"));
+        assertEquals(new Path<>("C").extend("B",1.0).extend("A",1.0),
+                WeightedPathfinder.contractionHierarchy(hierarchy,"C","A"));
+    }
+}
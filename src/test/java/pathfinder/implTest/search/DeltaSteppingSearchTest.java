@@ -0,0 +1,104 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.DeltaSteppingSearch;
+import pathfinder.search.DijkstraSearch;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class DeltaSteppingSearchTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(20); // 20 seconds max per method tested
+
+    private static ForkJoinPool pool;
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @BeforeClass
+    public static void startPool(){
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void stopPool(){
+        pool.shutdown();
+    }
+
+    //checks that search found the same distances as Dijkstra's from source, and paths of those lengths
+    private static <T> void assertMatchesDijkstra(CompactGraph<T> graph, int source, DeltaSteppingSearch<T> search){
+        DijkstraSearch<T> expected = new DijkstraSearch<>(graph);
+        expected.run(source, -1);
+        for(int v = 0; v < graph.nodeCount(); v++){
+            if(expected.isSettled(v)){
+                assertEquals(expected.distance(v), search.distance(v), 1e-9);
+                assertEquals(expected.distance(v), search.pathTo(v).getCost(), 1e-6);
+            } else {
+                assertFalse(search.isReached(v));
+                assertNull(search.pathTo(v));
+            }
+        }
+    }
+
+    @Test
+    public void testCampusTreesMatchDijkstra(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        for(int i = 0; i < CampusFixture.buildings().size(); i += 10){
+            Point start = CampusFixture.buildings().get(i);
+            DeltaSteppingSearch<Point> search = WeightedPathfinder.shortestPathTree(compact, start, pool);
+            assertMatchesDijkstra(compact, compact.indexOf(start), search);
+            assertEquals(0, search.pathTo(compact.indexOf(start)).getCost(), 0);
+        }
+    }
+
+    @Test
+    public void testLargeRandomGraphWithEveryBucketWidth(){
+        Random random = new Random(18);
+        int nodes = 20_000;
+        CompactGraph.Builder<Integer> builder = new CompactGraph.Builder<>();
+        for(int i = 0; i < nodes; i++){
+            builder.addNode(i);
+        }
+        for(int i = 0; i < nodes * 4; i++){
+            builder.addEdge(random.nextInt(nodes), random.nextInt(nodes), 1 + random.nextInt(100));
+        }
+        CompactGraph<Integer> graph = builder.build();
+        //from every edge heavy to every edge light
+        for(double delta : new double[]{0.5, 10, DeltaSteppingSearch.defaultDelta(graph), 1000}){
+            DeltaSteppingSearch<Integer> search = new DeltaSteppingSearch<>(graph, delta, pool);
+            search.run(0);
+            assertMatchesDijkstra(graph, 0, search);
+        }
+    }
+
+    @Test
+    public void testSingleThread(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            Point start = CampusFixture.buildings().get(0);
+            assertMatchesDijkstra(compact, compact.indexOf(start),
+                    WeightedPathfinder.shortestPathTree(compact, start, single));
+        } finally {
+            single.shutdown();
+        }
+    }
+}
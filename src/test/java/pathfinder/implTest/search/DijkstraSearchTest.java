@@ -0,0 +1,163 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.IndexedHeap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.Heuristic;
+import pathfinder.search.SearchWorkspace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DijkstraSearchTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testCampusRoutesMatchDirectedGraphDijkstra(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        for(Point start : CampusFixture.buildings()){
+            for(Point end : CampusFixture.buildings()){
+                Path<Point> expected = WeightedPathfinder.dijkstra(CampusFixture.graph(), start, end);
+                Path<Point> actual = WeightedPathfinder.dijkstra(compact, start, end);
+                assertEquals(expected, actual);
+                assertEquals(Double.compare(expected.getCost(), actual.getCost()), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testFullTreeDistancesMatchPathCosts(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        int source = compact.indexOf(CampusFixture.buildings().get(0));
+        DijkstraSearch<Point> search = new DijkstraSearch<>(compact);
+        assertTrue(search.run(source, -1));
+        for(Point building : CampusFixture.buildings()){
+            int node = compact.indexOf(building);
+            assertTrue(search.isSettled(node));
+            assertEquals(search.distance(node), search.pathTo(node).getCost(), 0.0);
+        }
+    }
+
+    @Test
+    public void testStopsAtTarget(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        int source = compact.indexOf(CampusFixture.buildings().get(0));
+        DijkstraSearch<Point> search = new DijkstraSearch<>(compact);
+        assertTrue(search.run(source, source));
+        assertEquals(1, search.settledCount());
+        assertEquals(new Path<>(CampusFixture.buildings().get(0)), search.pathTo(source));
+    }
+
+    @Test
+    public void testOneToManyMatchesSeparateSearches(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        List<Point> buildings = CampusFixture.buildings();
+        List<Point> dests = buildings.subList(0, 10);
+        for(Point start : buildings){
+            List<Path<Point>> paths = WeightedPathfinder.dijkstraToAll(compact, start, dests);
+            double[][] table = WeightedPathfinder.distanceTable(compact, Collections.singletonList(start), dests);
+            assertEquals(dests.size(), paths.size());
+            for(int i = 0; i < dests.size(); i++){
+                Path<Point> expected = WeightedPathfinder.dijkstra(compact, start, dests.get(i));
+                assertEquals(expected, paths.get(i));
+                assertEquals(expected.getCost(), table[0][i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testOneToManyStopsOnceAllTargetsSettled(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        int source = compact.indexOf(CampusFixture.buildings().get(0));
+        DijkstraSearch<Point> search = new DijkstraSearch<>(compact);
+        assertTrue(search.runToAll(source, new int[]{source, source}));
+        assertEquals(1, search.settledCount());
+        DijkstraSearch<Point> full = new DijkstraSearch<>(compact);
+        full.run(source, -1);
+        int target = compact.indexOf(CampusFixture.buildings().get(1));
+        search = new DijkstraSearch<>(compact);
+        assertTrue(search.runToAll(source, new int[]{target}));
+        assertTrue(search.settledCount() < full.settledCount());
+        assertEquals(full.distance(target), search.distance(target), 0.0);
+        //the edges of the last target are not relaxed, so a search stopping at its source adds nothing
+        IndexedHeap[] frontier = new IndexedHeap[1];
+        SearchWorkspace workspace = new SearchWorkspace(compact.nodeCount(),
+                capacity -> frontier[0] = new IndexedHeap(capacity));
+        assertTrue(new DijkstraSearch<>(compact, Heuristic.NONE, workspace).runToAll(source, new int[]{source}));
+        assertTrue(frontier[0].isEmpty());
+    }
+
+    @Test
+    public void testRunWithinSettlesExactlyTheNodesInBudget(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        int source = compact.indexOf(CampusFixture.buildings().get(0));
+        DijkstraSearch<Point> full = new DijkstraSearch<>(compact);
+        full.run(source, -1);
+        double budget = 1500;
+        List<Integer> order = new ArrayList<>();
+        DijkstraSearch<Point> within = new DijkstraSearch<>(compact);
+        within.runWithin(source, budget, order::add);
+        int expected = 0;
+        for(int v = 0; v < compact.nodeCount(); v++){
+            if(full.isSettled(v) && full.distance(v) <= budget){
+                expected++;
+                assertTrue(within.isSettled(v));
+                assertEquals(full.distance(v), within.distance(v), 1e-9);
+            }
+        }
+        assertEquals(expected, order.size());
+        assertEquals(expected, within.settledCount());
+        for(int i = 1; i < order.size(); i++){
+            assertTrue(within.distance(order.get(i - 1)) <= within.distance(order.get(i)));
+        }
+    }
+
+    @Test
+    public void testRunToAnyFindsClosestPair(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        List<Point> buildings = CampusFixture.buildings();
+        for(int i = 0; i + 6 <= buildings.size(); i += 6){
+            List<Point> starts = buildings.subList(i, i + 3);
+            List<Point> ends = buildings.subList(i + 3, i + 6);
+            double best = Double.POSITIVE_INFINITY;
+            for(Point start : starts){
+                for(Point end : ends){
+                    best = Math.min(best, WeightedPathfinder.dijkstra(compact, start, end).getCost());
+                }
+            }
+            Path<Point> path = WeightedPathfinder.dijkstraBetweenAny(compact, starts, ends);
+            assertEquals(best, path.getCost(), 1e-9);
+            assertTrue(starts.contains(path.getStart()));
+            assertTrue(ends.contains(path.getEnd()));
+        }
+    }
+
+    @Test
+    public void testRunToAnySharedNodeIsEmptyPath(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        List<Point> buildings = CampusFixture.buildings();
+        Path<Point> path = WeightedPathfinder.dijkstraBetweenAny(compact, buildings.subList(0, 2),
+                buildings.subList(1, 3));
+        assertEquals(0.0, path.getCost(), 0.0);
+        assertEquals(buildings.get(1), path.getStart());
+    }
+}
@@ -0,0 +1,73 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.DataEdge;
+import graph.DirectedGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.DistanceSearch;
+import pathfinder.search.EuclideanHeuristic;
+import pathfinder.search.Heuristic;
+import pathfinder.search.SearchWorkspace;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DistanceSearchTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testCampusDistancesMatchPathCosts(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        List<Point> buildings = CampusFixture.buildings();
+        EuclideanHeuristic heuristic = EuclideanHeuristic.forGraph(compact);
+        for(Point start : buildings){
+            double[] batch = WeightedPathfinder.shortestDistances(compact, start, buildings);
+            for(int i = 0; i < buildings.size(); i++){
+                Path<Point> expected = WeightedPathfinder.dijkstra(compact, start, buildings.get(i));
+                assertEquals(expected.getCost(), batch[i], 1e-9);
+                assertEquals(expected.getCost(),
+                        WeightedPathfinder.shortestDistance(compact, start, buildings.get(i), Heuristic.NONE), 1e-9);
+                assertEquals(expected.getCost(),
+                        WeightedPathfinder.shortestDistance(compact, start, buildings.get(i), heuristic), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testNoPathAndRepeatedTargets(){
+        DirectedGraph<String, DataEdge<String,Double>> graph = new DirectedGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("A", new DataEdge<>("B",1.5));
+        graph.addEdge("C", new DataEdge<>("A",1.0));
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        DistanceSearch search = new DistanceSearch(compact, Heuristic.NONE, new SearchWorkspace(3));
+        int a = compact.indexOf("A");
+        int b = compact.indexOf("B");
+        int c = compact.indexOf("C");
+        assertEquals(Double.POSITIVE_INFINITY, search.distance(a, c), 0.0);
+        assertEquals(0.0, search.distance(a, a), 0.0);
+        double[] distances = new double[4];
+        search.distances(c, new int[]{b, a, b, c}, distances);
+        assertEquals(Arrays.toString(new double[]{2.5, 1.0, 2.5, 0.0}), Arrays.toString(distances));
+        search.distances(b, new int[]{a}, distances);
+        assertEquals(Double.POSITIVE_INFINITY, distances[0], 0.0);
+    }
+}
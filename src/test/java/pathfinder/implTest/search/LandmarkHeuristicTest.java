@@ -0,0 +1,103 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.DataEdge;
+import graph.DirectedGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Point;
+import pathfinder.search.LandmarkHeuristic;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LandmarkHeuristicTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testIsConsistentOnCampus(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        LandmarkHeuristic heuristic = LandmarkHeuristic.farthest(compact, 8);
+        assertEquals(8, heuristic.getLandmarks().length);
+        for(Point building : CampusFixture.buildings()){
+            int target = compact.indexOf(building);
+            assertEquals(0.0, heuristic.estimate(target, target), 0.0);
+            for(int v = 0; v < compact.nodeCount(); v++){
+                for(int e = compact.edgeStart(v); e < compact.edgeEnd(v); e++){
+                    assertTrue(heuristic.estimate(v, target)
+                            <= compact.weight(e) + heuristic.estimate(compact.target(e), target) + 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCampusRoutesMatchDijkstra(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        LandmarkHeuristic heuristic = LandmarkHeuristic.farthest(compact, 8);
+        for(Point start : CampusFixture.buildings()){
+            for(Point end : CampusFixture.buildings()){
+                assertEquals(WeightedPathfinder.dijkstra(compact, start, end),
+                        WeightedPathfinder.aStar(compact, start, end, heuristic));
+            }
+        }
+    }
+
+    @Test
+    public void testFarthestReusesSelectionTrees(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        LandmarkHeuristic chosen = LandmarkHeuristic.farthest(compact, 4);
+        LandmarkHeuristic recomputed = LandmarkHeuristic.forLandmarks(compact, chosen.getLandmarks());
+        for(Point building : CampusFixture.buildings()){
+            int target = compact.indexOf(building);
+            for(int v = 0; v < compact.nodeCount(); v++){
+                assertEquals(recomputed.estimate(v, target), chosen.estimate(v, target), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        CompactGraph<Point> compact = CampusFixture.compact();
+        LandmarkHeuristic heuristic = LandmarkHeuristic.farthest(compact, 4);
+        Path file = folder.newFile("landmarks.bin").toPath();
+        heuristic.save(file);
+        LandmarkHeuristic loaded = LandmarkHeuristic.load(file, compact);
+        assertTrue(Arrays.equals(heuristic.getLandmarks(), loaded.getLandmarks()));
+        int target = compact.indexOf(CampusFixture.buildings().get(0));
+        for(int v = 0; v < compact.nodeCount(); v++){
+            assertEquals(heuristic.estimate(v, target), loaded.estimate(v, target), 0.0);
+        }
+    }
+
+    @Test
+    public void testLoadForOtherGraphReturnsNull() throws IOException {
+        DirectedGraph<String, DataEdge<String,Double>> graph = new DirectedGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addEdge("A", new DataEdge<>("B",1.0));
+        CompactGraph<String> compact = CompactGraph.copyOf(graph);
+        Path file = folder.newFile("landmarks.bin").toPath();
+        LandmarkHeuristic.farthest(compact, 1).save(file);
+        graph.addEdge("B", new DataEdge<>("A",1.0));
+        assertTrue(LandmarkHeuristic.load(file, CompactGraph.copyOf(graph)) == null);
+    }
+}
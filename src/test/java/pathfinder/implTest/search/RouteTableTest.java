@@ -0,0 +1,62 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.DataEdge;
+import graph.DirectedGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.RouteTable;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RouteTableTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testCampusRoutesMatchDijkstra(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        List<Point> buildings = CampusFixture.buildings();
+        RouteTable<Point> routes = RouteTable.compute(compact, buildings);
+        for(Point start : buildings){
+            for(Point end : buildings){
+                Path<Point> expected = WeightedPathfinder.dijkstra(compact, start, end);
+                assertEquals(expected, routes.path(start, end));
+                assertEquals(expected.getCost(), routes.distance(start, end), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testNoPathAndSamePath(){
+        DirectedGraph<String, DataEdge<String,Double>> graph = new DirectedGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("B", new DataEdge<>("C",1.0));
+        graph.addEdge("C", new DataEdge<>("A",2.0));
+        RouteTable<String> routes = RouteTable.compute(CompactGraph.copyOf(graph), Arrays.asList("A", "B", "A"));
+        assertTrue(routes.isEndpoint("A") && routes.isEndpoint("B") && !routes.isEndpoint("C"));
+        assertTrue(routes.path("A", "B") == null);
+        assertEquals(Double.POSITIVE_INFINITY, routes.distance("A", "B"), 0.0);
+        assertEquals(new Path<>("B").extend("C",1.0).extend("A",2.0), routes.path("B", "A"));
+        assertEquals(new Path<>("A"), routes.path("A", "A"));
+        assertEquals(0.0, routes.distance("A", "A"), 0.0);
+    }
+}
@@ -0,0 +1,113 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.datastructures.Point;
+import pathfinder.search.CancellationToken;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.Heuristic;
+import pathfinder.search.SearchLimitExceededException;
+import pathfinder.search.SearchLimits;
+import pathfinder.search.SearchWorkspace;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SearchLimitsTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    private static DijkstraSearch<Point> search(CompactGraph<Point> graph, SearchLimits limits){
+        return new DijkstraSearch<>(graph, Heuristic.NONE, new SearchWorkspace(graph.nodeCount()), limits);
+    }
+
+    //runs a full tree from the first building under limits, and returns the reason it stopped
+    private static SearchLimitExceededException.Reason stopReason(SearchLimits limits){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        try {
+            search(compact, limits).run(compact.indexOf(CampusFixture.buildings().get(0)), -1);
+        } catch(SearchLimitExceededException e) {
+            return e.getReason();
+        }
+        fail("search was not stopped");
+        return null;
+    }
+
+    @Test
+    public void testSettledLimitStopsAtLimit(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        int source = compact.indexOf(CampusFixture.buildings().get(0));
+        DijkstraSearch<Point> limited = search(compact, SearchLimits.NONE.withMaxSettled(100));
+        try {
+            limited.run(source, -1);
+            fail("search was not stopped");
+        } catch(SearchLimitExceededException e) {
+            assertEquals(SearchLimitExceededException.Reason.SETTLED, e.getReason());
+        }
+        assertEquals(100, limited.settledCount());
+    }
+
+    @Test
+    public void testSearchWithinLimitsFinishes(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        int source = compact.indexOf(CampusFixture.buildings().get(0));
+        DijkstraSearch<Point> full = search(compact, SearchLimits.NONE);
+        full.run(source, -1);
+        SearchLimits limits = SearchLimits.NONE.withMaxSettled(full.settledCount())
+                .withTimeout(Duration.ofMinutes(1)).withCancellation(new CancellationToken());
+        DijkstraSearch<Point> limited = search(compact, limits);
+        assertTrue(limited.run(source, -1));
+        assertEquals(full.settledCount(), limited.settledCount());
+    }
+
+    @Test
+    public void testCancelledSearchStops(){
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        assertTrue(token.isCancelled());
+        assertEquals(SearchLimitExceededException.Reason.CANCELLED,
+                stopReason(SearchLimits.NONE.withCancellation(token)));
+    }
+
+    @Test
+    public void testPassedDeadlineStops(){
+        assertEquals(SearchLimitExceededException.Reason.DEADLINE,
+                stopReason(SearchLimits.NONE.withDeadline(System.nanoTime() - 1)));
+    }
+
+    @Test
+    public void testCheckNowWithoutSearch(){
+        SearchLimits.NONE.withTimeout(Duration.ofMinutes(1)).checkNow();
+        try {
+            SearchLimits.NONE.withTimeout(Duration.ZERO.minusNanos(1)).checkNow();
+            fail("deadline was not checked");
+        } catch(SearchLimitExceededException e) {
+            assertEquals(SearchLimitExceededException.Reason.DEADLINE, e.getReason());
+        }
+    }
+
+    @Test
+    public void testNanosToWait(){
+        assertEquals(1000, SearchLimits.NONE.nanosToWait(1000));
+        assertEquals(1000, SearchLimits.NONE.withTimeout(Duration.ofMinutes(1)).nanosToWait(1000));
+        assertEquals(0, SearchLimits.NONE.withDeadline(System.nanoTime() - 1).nanosToWait(1000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSettledLimitMustBePositive(){
+        SearchLimits.NONE.withMaxSettled(0);
+    }
+}
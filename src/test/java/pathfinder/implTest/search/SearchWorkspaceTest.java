@@ -0,0 +1,125 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.IndexedHeap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.datastructures.RadixHeap;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.Heuristic;
+import pathfinder.search.SearchWorkspace;
+import utils.Allocations;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchWorkspaceTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(30); // 30 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testReusedWorkspaceMatchesFreshSearch(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        List<Point> buildings = CampusFixture.buildings();
+        SearchWorkspace workspace = new SearchWorkspace(compact.nodeCount());
+        for(Point start : buildings){
+            for(Point end : buildings){
+                int target = compact.indexOf(end);
+                DijkstraSearch<Point> fresh = new DijkstraSearch<>(compact);
+                fresh.run(compact.indexOf(start), target);
+                DijkstraSearch<Point> reused = new DijkstraSearch<>(compact, Heuristic.NONE, workspace);
+                reused.run(compact.indexOf(start), target);
+                assertEquals(fresh.settledCount(), reused.settledCount());
+                assertEquals(fresh.pathTo(target), reused.pathTo(target));
+            }
+        }
+    }
+
+    @Test
+    public void testRadixHeapFrontierMatchesBinaryHeap(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        SearchWorkspace radix = new SearchWorkspace(compact.nodeCount(), RadixHeap::new);
+        SearchWorkspace dary = new SearchWorkspace(compact.nodeCount(), nodes -> new IndexedHeap(nodes, 4));
+        for(Point start : CampusFixture.buildings()){
+            DijkstraSearch<Point> expected = new DijkstraSearch<>(compact);
+            expected.run(compact.indexOf(start), -1);
+            for(SearchWorkspace workspace : new SearchWorkspace[]{radix, dary}){
+                DijkstraSearch<Point> actual = new DijkstraSearch<>(compact, Heuristic.NONE, workspace);
+                actual.run(compact.indexOf(start), -1);
+                for(int v = 0; v < compact.nodeCount(); v++){
+                    assertEquals(expected.isSettled(v), actual.isSettled(v));
+                    if(expected.isSettled(v)){
+                        assertEquals(expected.distance(v), actual.distance(v), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testThreadWorkspaceGrowsForLargerGraphs(){
+        SearchWorkspace small = SearchWorkspace.forThread(1);
+        CompactGraph<Point> compact = CampusFixture.compact();
+        SearchWorkspace large = SearchWorkspace.forThread(compact.nodeCount());
+        assertTrue(small == large);
+        assertTrue(large == SearchWorkspace.forThread(1));
+        Point start = CampusFixture.buildings().get(0);
+        Point end = CampusFixture.buildings().get(1);
+        assertEquals(WeightedPathfinder.dijkstra(CampusFixture.graph(), start, end),
+                WeightedPathfinder.dijkstra(compact, start, end));
+    }
+
+    @Test
+    public void testSteadyStateQueryAllocatesOnlyItsResult(){
+        Assume.assumeTrue(Allocations.isSupported());
+        CompactGraph<Point> compact = CampusFixture.compact();
+        List<Point> buildings = CampusFixture.buildings();
+        //warms up the thread workspace and the compiled code
+        for(int round = 0; round < 3; round++){
+            queryAll(compact, buildings);
+        }
+        long[] allocations = queryAll(compact, buildings);
+        long queries = (long) buildings.size() * buildings.size();
+        //all that is left besides the paths is the small DijkstraSearch object itself
+        assertTrue("searching allocated " + allocations[0] / queries + " bytes per query",
+                allocations[0] <= 64 * queries);
+        assertTrue(allocations[1] > 0);
+    }
+
+    //runs a search between every pair of buildings on the thread workspace, and returns the bytes allocated by
+    //the searches and by building their paths
+    private static long[] queryAll(CompactGraph<Point> compact, List<Point> buildings){
+        long[] allocations = new long[2];
+        for(Point start : buildings){
+            for(Point end : buildings){
+                int target = compact.indexOf(end);
+                long before = Allocations.allocatedBytes();
+                DijkstraSearch<Point> search = new DijkstraSearch<>(compact, Heuristic.NONE,
+                        SearchWorkspace.forThread(compact.nodeCount()));
+                search.run(compact.indexOf(start), target);
+                long searched = Allocations.allocatedBytes();
+                Path<Point> path = search.pathTo(target);
+                long built = Allocations.allocatedBytes();
+                allocations[0] += searched - before;
+                allocations[1] += built - searched;
+                assertTrue(path != null);
+            }
+        }
+        return allocations;
+    }
+}
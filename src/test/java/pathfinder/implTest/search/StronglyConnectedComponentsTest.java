@@ -0,0 +1,94 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.search.DijkstraSearch;
+import pathfinder.search.StronglyConnectedComponents;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StronglyConnectedComponentsTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    //a graph of nodes 0..nodes-1 with an edge from i to i+1, and from the last node back to 0 if cycle
+    private static CompactGraph<Integer> chain(int nodes, boolean cycle){
+        CompactGraph.Builder<Integer> builder = new CompactGraph.Builder<>(nodes, nodes);
+        for(int i = 0; i < nodes; i++){
+            builder.addNode(i);
+        }
+        for(int i = 0; i + 1 < nodes; i++){
+            builder.addEdge(i, i + 1, 1.0);
+        }
+        if(cycle){
+            builder.addEdge(nodes - 1, 0, 1.0);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testLongCycleIsOneComponent(){
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(chain(500_000, true));
+        assertEquals(1, components.componentCount());
+        assertTrue(components.mayReach(499_999, 0));
+    }
+
+    @Test
+    public void testLongPathOnlyReachesForward(){
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(chain(500_000, false));
+        assertEquals(500_000, components.componentCount());
+        assertFalse(components.isExact());
+        assertTrue(components.mayReach(0, 499_999));
+        assertFalse(components.mayReach(499_999, 0));
+        assertFalse(components.mayReach(2, 1));
+    }
+
+    @Test
+    public void testEmptyGraph(){
+        assertEquals(0, StronglyConnectedComponents.of(new CompactGraph.Builder<Integer>().build()).componentCount());
+    }
+
+    @Test
+    public void testReachabilityMatchesSearch(){
+        Random random = new Random(15);
+        int nodes = 300;
+        CompactGraph.Builder<Integer> builder = new CompactGraph.Builder<>();
+        for(int i = 0; i < nodes; i++){
+            builder.addNode(i);
+        }
+        //sparse enough that many nodes cannot reach each other
+        for(int i = 0; i < 330; i++){
+            builder.addEdge(random.nextInt(nodes), random.nextInt(nodes), 1.0);
+        }
+        CompactGraph<Integer> graph = builder.build();
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
+        assertTrue(components.isExact());
+        assertTrue(components.componentCount() > 1);
+        for(int source = 0; source < nodes; source++){
+            DijkstraSearch<Integer> search = new DijkstraSearch<>(graph);
+            search.run(source, -1);
+            for(int target = 0; target < nodes; target++){
+                boolean reachable = search.isSettled(target);
+                assertEquals(reachable, components.mayReach(source, target));
+                assertEquals(reachable && search.isSettled(source) && components.mayReach(target, source),
+                        components.componentOf(source) == components.componentOf(target));
+                double estimate = components.pruning().estimate(source, target);
+                assertEquals(reachable ? 0 : Double.POSITIVE_INFINITY, estimate, 0);
+            }
+        }
+    }
+}
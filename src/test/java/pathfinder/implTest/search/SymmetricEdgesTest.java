@@ -0,0 +1,81 @@
+package pathfinder.implTest.search;
+
+import graph.CompactGraph;
+import graph.implTest.CheckAsserts;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.WeightedPathfinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.search.SymmetricEdges;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SymmetricEdgesTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /** checks that Java asserts are enabled, and exits if not */
+    @Before
+    public void testAssertsEnabled() {
+        CheckAsserts.checkAssertsEnabled();
+    }
+
+    @Test
+    public void testCampusIsSymmetric(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        SymmetricEdges<Point> symmetry = SymmetricEdges.of(compact);
+        assertTrue(compact.isSymmetric());
+        assertEquals(1.0, symmetry.symmetricFraction(), 0);
+        for(int e = 0; e < compact.edgeCount(); e++){
+            int reverse = symmetry.reverseOf(e);
+            assertEquals(compact.source(e), compact.target(reverse));
+            assertEquals(compact.target(e), compact.source(reverse));
+            assertEquals(compact.weight(e), compact.weight(reverse), 0);
+        }
+    }
+
+    @Test
+    public void testReversedRoutesAreShortest(){
+        CompactGraph<Point> compact = CampusFixture.compact();
+        SymmetricEdges<Point> symmetry = SymmetricEdges.of(compact);
+        List<Point> buildings = CampusFixture.buildings();
+        for(int i = 0; i + 1 < buildings.size(); i += 3){
+            Path<Point> there = WeightedPathfinder.dijkstra(compact, buildings.get(i), buildings.get(i + 1));
+            Path<Point> back = symmetry.reverse(there);
+            assertEquals(buildings.get(i + 1), back.getStart());
+            assertEquals(buildings.get(i), back.getEnd());
+            assertEquals(WeightedPathfinder.dijkstra(compact, buildings.get(i + 1), buildings.get(i)).getCost(),
+                    back.getCost(), 1e-9);
+            assertEquals(there, symmetry.reverse(back));
+        }
+    }
+
+    @Test
+    public void testOneWayEdgesAreNotReversed(){
+        CompactGraph.Builder<String> builder = new CompactGraph.Builder<>();
+        builder.addNode("A");
+        builder.addNode("B");
+        builder.addNode("C");
+        builder.addEdge("A", "B", 1);
+        builder.addEdge("B", "A", 1);
+        builder.addEdge("B", "C", 2);
+        builder.addEdge("C", "B", 3);
+        CompactGraph<String> graph = builder.build();
+        SymmetricEdges<String> symmetry = SymmetricEdges.of(graph);
+        assertFalse(graph.isSymmetric());
+        assertEquals(0.5, symmetry.symmetricFraction(), 0);
+        Path<String> ab = WeightedPathfinder.dijkstra(graph, "A", "B");
+        assertEquals(WeightedPathfinder.dijkstra(graph, "B", "A"), symmetry.reverse(ab));
+        assertNull(symmetry.reverse(WeightedPathfinder.dijkstra(graph, "A", "C")));
+        Path<String> empty = new Path<>("C");
+        assertEquals(empty, symmetry.reverse(empty));
+    }
+}
@@ -0,0 +1,39 @@
+package utils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the bytes allocated by the current thread, using the allocation counter of the HotSpot
+ * {@link com.sun.management.ThreadMXBean}. Used by the benchmarks and allocation tests.
+ */
+public class Allocations {
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  /**
+   * @return true iff the JVM can report allocations per thread
+   */
+  public static boolean isSupported() {
+    return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+  }
+
+  /**
+   * @return total number of bytes allocated by the current thread so far
+   */
+  public static long allocatedBytes() {
+    return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Runs {@code task} and returns the number of bytes the current thread allocated while running it.
+   *
+   * @param task the work to measure
+   * @return bytes allocated by {@code task}
+   */
+  public static long measure(Runnable task) {
+    long before = allocatedBytes();
+    task.run();
+    return allocatedBytes() - before;
+  }
+}